@@ -0,0 +1,104 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the random source of playouts, in rollouts per second:
+ * TicTacToe playouts by several threads at once drawing from one shared Random (whose seed is updated by CAS),
+ * from a Random each, and from a FastRandom each; and ParallelMCTS searches (SEARCH_ITERATIONS iterations each,
+ * so that the score times SEARCH_ITERATIONS is the number of rollouts per second) with the given number of threads.
+ * <p>
+ * Run with "java -jar target/benchmarks.jar RandomBenchmark" (the playouts use four threads: change this with -t).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomBenchmark {
+
+    public static final int SEARCH_ITERATIONS = 10_000;
+
+    @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+    public static class Shared {
+        final Random random = new Random(0L);
+    }
+
+    @org.openjdk.jmh.annotations.State(Scope.Thread)
+    public static class Worker {
+        @Setup(Level.Trial)
+        public void setUp() {
+            state = new TicTacToe(0L).start();
+            rollout = state.rollout();
+        }
+
+        State<TicTacToe> state;
+        Rollout<TicTacToe> rollout;
+        final Random random = new Random();
+        final FastRandom fastRandom = new FastRandom();
+    }
+
+    @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+    public static class Search {
+        @Param({"1", "4"})
+        public int threads;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            mcts = new ParallelMCTS<>(threads, ParallelMCTS.VIRTUAL_LOSS, 0L);
+            state = new TicTacToe(0L).start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            mcts.close();
+        }
+
+        ParallelMCTS<TicTacToe> mcts;
+        State<TicTacToe> state;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int sharedRandom(Shared shared, Worker worker) {
+        return playout(worker, shared.random);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int threadRandom(Worker worker) {
+        return playout(worker, worker.random);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int threadFastRandom(Worker worker) {
+        return playout(worker, worker.fastRandom);
+    }
+
+    @Benchmark
+    public SearchResult<TicTacToe> parallelSearch(Search search) {
+        return search.mcts.search(search.state, SEARCH_ITERATIONS);
+    }
+
+    private static int playout(Worker worker, Random random) {
+        worker.rollout.reset(worker.state);
+        return worker.rollout.playout(random);
+    }
+}
@@ -0,0 +1,110 @@
+package edu.neu.coe.info6205.mcts.nimgame;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.State;
+import edu.neu.coe.info6205.mcts.core.Telemetry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the hot paths of the Nim MCTS: State.moves and State.next (on the start position, piles 3, 6 and 9),
+ * simulate, select and backPropagate (on a tree grown by the given number of iterations) and runMCTS from the start
+ * (without and with Telemetry).
+ * <p>
+ * Run with "java -jar target/benchmarks.jar NimBenchmark -prof gc" to see the allocation rate of each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NimBenchmark {
+
+    @org.openjdk.jmh.annotations.State(Scope.Thread)
+    public static class Position {
+        @Setup(Level.Trial)
+        public void setUp() {
+            state = new NimGame().start();
+            moves = List.copyOf(state.moves(state.player()));
+            node = new NimGameNode(state, null);
+            mcts = new MCTS(node);
+        }
+
+        State<NimGame> state;
+        List<Move<NimGame>> moves;
+        Node<NimGame> node;
+        MCTS mcts;
+        int index;
+    }
+
+    @org.openjdk.jmh.annotations.State(Scope.Thread)
+    public static class Tree {
+        @Param({"100", "1000", "10000"})
+        public int iterations;
+
+        // the tree is grown again for each measurement iteration, since backPropagate keeps adding to its counts
+        @Setup(Level.Iteration)
+        public void setUp() {
+            mcts = new MCTS(new NimGameNode(new NimGame().start(), null));
+            mcts.runMCTS(iterations);
+            leaf = mcts.select(mcts.root());
+        }
+
+        MCTS mcts;
+        Node<NimGame> leaf;
+    }
+
+    @Benchmark
+    public Collection<Move<NimGame>> moves(Position position) {
+        return position.state.moves(position.state.player());
+    }
+
+    @Benchmark
+    public State<NimGame> next(Position position) {
+        return position.state.next(position.moves.get(position.index++ % position.moves.size()));
+    }
+
+    @Benchmark
+    public int simulate(Position position) {
+        return position.mcts.simulate(position.node);
+    }
+
+    @Benchmark
+    public Node<NimGame> select(Tree tree) {
+        return tree.mcts.select(tree.mcts.root());
+    }
+
+    @Benchmark
+    public Node<NimGame> backPropagate(Tree tree) {
+        tree.mcts.backPropagate(tree.leaf, 0);
+        return tree.leaf;
+    }
+
+    @Benchmark
+    public Node<NimGame> runMCTS(Tree tree) {
+        return new MCTS(new NimGameNode(new NimGame().start(), null)).runMCTS(tree.iterations);
+    }
+
+    @Benchmark
+    public Telemetry.Snapshot runMCTSWithTelemetry(Tree tree) {
+        MCTS mcts = new MCTS(new NimGameNode(new NimGame().start(), null));
+        Telemetry telemetry = new Telemetry();
+        mcts.setTelemetry(telemetry);
+        mcts.runMCTS(tree.iterations);
+        return telemetry.last();
+    }
+}
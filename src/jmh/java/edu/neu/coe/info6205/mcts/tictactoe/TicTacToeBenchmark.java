@@ -0,0 +1,111 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.State;
+import edu.neu.coe.info6205.mcts.core.Telemetry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the hot paths of the tic-tac-toe MCTS: State.moves and State.next (on a position after two moves),
+ * simulate, select and backPropagate (on a tree grown by the given number of iterations) and runMCTS from the start
+ * (without and with Telemetry).
+ * The searches are run without the solver, so that every search runs all of its iterations.
+ * <p>
+ * Run with "java -jar target/benchmarks.jar TicTacToeBenchmark -prof gc" to see the allocation rate of each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicTacToeBenchmark {
+
+    @org.openjdk.jmh.annotations.State(Scope.Thread)
+    public static class Position {
+        @Setup(Level.Trial)
+        public void setUp() {
+            State<TicTacToe> start = new TicTacToe(0L).start();
+            State<TicTacToe> next = start.next(List.copyOf(start.moves(start.player())).get(4));
+            state = next.next(List.copyOf(next.moves(next.player())).get(0));
+            moves = List.copyOf(state.moves(state.player()));
+            mcts = new MCTS(new TicTacToeNode(state, null), false, null, false);
+        }
+
+        State<TicTacToe> state;
+        List<Move<TicTacToe>> moves;
+        MCTS mcts;
+        int index;
+    }
+
+    @org.openjdk.jmh.annotations.State(Scope.Thread)
+    public static class Tree {
+        @Param({"100", "1000", "10000"})
+        public int iterations;
+
+        // the tree is grown again for each measurement iteration, since backPropagate keeps adding to its counts
+        @Setup(Level.Iteration)
+        public void setUp() {
+            mcts = new MCTS(new TicTacToeNode(new TicTacToe(0L).start(), null), false, null, false);
+            mcts.runMCTS(iterations);
+            leaf = mcts.select(mcts.root());
+        }
+
+        MCTS mcts;
+        Node<TicTacToe> leaf;
+    }
+
+    @Benchmark
+    public Collection<Move<TicTacToe>> moves(Position position) {
+        return position.state.moves(position.state.player());
+    }
+
+    @Benchmark
+    public State<TicTacToe> next(Position position) {
+        return position.state.next(position.moves.get(position.index++ % position.moves.size()));
+    }
+
+    @Benchmark
+    public int simulate(Position position) {
+        return position.mcts.simulate(position.state);
+    }
+
+    @Benchmark
+    public Node<TicTacToe> select(Tree tree) {
+        return tree.mcts.select(tree.mcts.root());
+    }
+
+    @Benchmark
+    public Node<TicTacToe> backPropagate(Tree tree) {
+        tree.mcts.backPropagate(tree.leaf, 1);
+        return tree.leaf;
+    }
+
+    @Benchmark
+    public Node<TicTacToe> runMCTS(Tree tree) {
+        return new MCTS(new TicTacToeNode(new TicTacToe(0L).start(), null), false, null, false).runMCTS(tree.iterations);
+    }
+
+    @Benchmark
+    public Telemetry.Snapshot runMCTSWithTelemetry(Tree tree) {
+        MCTS mcts = new MCTS(new TicTacToeNode(new TicTacToe(0L).start(), null), false, null, false);
+        Telemetry telemetry = new Telemetry();
+        mcts.setTelemetry(telemetry);
+        mcts.runMCTS(tree.iterations);
+        return telemetry.last();
+    }
+}
@@ -0,0 +1,50 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Random;
+
+/**
+ * This interface defines the behavior of an Agent, i.e. a player of a game (G), for example in a Tournament.
+ * <p>
+ * An Agent may be asked to play in several games at once (from different threads), so it should keep no state from
+ * one call to the next, other than its (immutable) configuration; all randomness comes from the given Random.
+ * The agent to be used can be chosen at runtime by specification (see valueOf).
+ *
+ * @param <G> the type of the Game.
+ */
+public interface Agent<G extends Game> {
+
+    /**
+     * @return the name of this Agent (as reported in the results of a Tournament).
+     */
+    String name();
+
+    /**
+     * Method to choose a move.
+     *
+     * @param state  a non-terminal State, in which this Agent is to move.
+     * @param random the random source for this decision (it is not shared with another thread).
+     * @return the State which follows the chosen move.
+     */
+    State<G> play(State<G> state, Random random);
+
+    /**
+     * Method to yield an Agent by specification.
+     *
+     * @param spec "random" for a RandomAgent, or "policy:iterations" for a SearchAgent, where policy is a name
+     *             accepted by SelectionPolicy.valueOf (e.g. "ucb1:1000").
+     * @param <G>  the type of the Game.
+     * @return a new Agent, whose name is spec.
+     */
+    static <G extends Game> Agent<G> valueOf(String spec) {
+        if (spec.equalsIgnoreCase("random")) return new RandomAgent<>();
+        int colon = spec.indexOf(':');
+        if (colon < 0) throw new IllegalArgumentException("agent must be \"random\" or \"policy:iterations\": " + spec);
+        int iterations;
+        try {
+            iterations = Integer.parseInt(spec.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad number of iterations: " + spec, e);
+        }
+        return new SearchAgent<>(spec, SelectionPolicy.valueOf(spec.substring(0, colon)), iterations);
+    }
+}
@@ -0,0 +1,35 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Utilities to measure the memory allocated by the current thread, from which the garbage generated per playout
+ * (and hence the allocation rate which the garbage collector must sustain) can be reported.
+ * This relies on the HotSpot extension of ThreadMXBean; where that is not available, nothing is measured.
+ */
+public class AllocationMeter {
+
+    /**
+     * @return true if the JVM reports the memory allocated by each thread.
+     */
+    public static boolean isSupported() {
+        return bean != null && bean.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * @return the number of bytes allocated so far by the current thread, or 0 if not supported.
+     */
+    public static long allocatedBytes() {
+        return isSupported() ? bean.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean result = ManagementFactory.getThreadMXBean();
+        return result instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) result : null;
+    }
+
+    private static final com.sun.management.ThreadMXBean bean = threadBean();
+
+    private AllocationMeter() {
+    }
+}
@@ -0,0 +1,538 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Arrays;
+
+/**
+ * A search tree whose nodes are kept in primitive arrays (a "struct of arrays") and referred to by int index,
+ * as an alternative to a tree of Node objects.
+ * <p>
+ * For each node, the tree holds its wins, playouts, parent, first child, number of children and the time at which it
+ * was last updated: 24 bytes in all.
+ * There is no State and no Move in a node: since all the children of a node are added at once, in the order of
+ * State.moves, they occupy consecutive indices, and the move which leads to a child is its index minus the index of
+ * the first child. States are therefore re-created (typically on a Rollout) by following moves down from the root.
+ * <p>
+ * The root is always node 0. An ArrayTree is not thread-safe.
+ * <p>
+ * A tree may be bounded by a maximum number of nodes, in which case it never grows beyond that number: when there is no
+ * room to expand a node (see hasRoom), the search should call prune, which collapses (i.e. makes unexpanded again)
+ * those nodes whose subtrees are the least visited or the least recently updated, until the tree is no more than half
+ * full, and then compacts the remaining nodes into the same arrays.
+ * A collapsed node keeps its own statistics; only its descendants are discarded.
+ * <p>
+ * A tree may also hold a prior for each node (see setPrior), in which case it uses 4 more bytes per node,
+ * and the key of the move which leads to each node with its All-Moves-As-First statistics (see setMoveKey and
+ * updateAmaf), in which case it uses 12 more bytes per node.
+ */
+public class ArrayTree {
+
+    /**
+     * The value of firstChild for a node which has not yet been expanded.
+     */
+    public static final int UNEXPANDED = -1;
+
+    /**
+     * The number of bytes which the tree uses for each node.
+     */
+    public static final int BYTES_PER_NODE = 6 * Integer.BYTES;
+
+    /**
+     * The nodes which prune collapses first.
+     */
+    public enum Pruning {
+        /**
+         * Collapse the nodes with the fewest playouts.
+         */
+        LEAST_VISITED,
+        /**
+         * Collapse the nodes which have gone longest without being updated (see tick).
+         */
+        LEAST_RECENT
+    }
+
+    /**
+     * Primary constructor.
+     *
+     * @param capacity the initial capacity (the arrays grow as needed, up to maxNodes).
+     * @param maxNodes the maximum number of nodes.
+     * @param pruning  the nodes to be collapsed first when the tree is pruned.
+     */
+    public ArrayTree(int capacity, int maxNodes, Pruning pruning) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        if (maxNodes < 2) throw new IllegalArgumentException("maxNodes must be at least 2: " + maxNodes);
+        capacity = Math.min(capacity, maxNodes);
+        wins = new int[capacity];
+        playouts = new int[capacity];
+        parent = new int[capacity];
+        firstChild = new int[capacity];
+        children = new int[capacity];
+        touched = new int[capacity];
+        this.maxNodes = maxNodes;
+        this.pruning = pruning;
+        clear();
+    }
+
+    /**
+     * Constructor for an unbounded tree.
+     *
+     * @param capacity the initial capacity (the arrays grow as needed).
+     */
+    public ArrayTree(int capacity) {
+        this(capacity, Integer.MAX_VALUE - 8, Pruning.LEAST_VISITED);
+    }
+
+    /**
+     * Constructor with a default initial capacity.
+     */
+    public ArrayTree() {
+        this(1024);
+    }
+
+    /**
+     * Remove all nodes except a new (unexpanded) root.
+     */
+    public void clear() {
+        size = 0;
+        clock = 0;
+        priors = null;
+        moveKeys = null;
+        amafWins = null;
+        amafPlayouts = null;
+        pruned = 0;
+        prunings = 0;
+        allocate(1, -1);
+    }
+
+    /**
+     * @param count a number of children.
+     * @return true if count nodes can be added without exceeding the maximum number of nodes.
+     */
+    public boolean hasRoom(int count) {
+        return size + count <= maxNodes;
+    }
+
+    /**
+     * Add the children of a node.
+     *
+     * @param node  an unexpanded node.
+     * @param count the number of children (zero if node is terminal).
+     * @return the index of the first child.
+     */
+    public int expand(int node, int count) {
+        if (firstChild[node] != UNEXPANDED) throw new IllegalStateException("node already expanded: " + node);
+        if (!hasRoom(count)) throw new IllegalStateException("no room for " + count + " more nodes: " + this);
+        int first = allocate(count, node);
+        firstChild[node] = first;
+        children[node] = count;
+        return first;
+    }
+
+    /**
+     * Record the result of a playout in a node.
+     *
+     * @param node  the node.
+     * @param score the score (2 for a win, 1 for a draw, 0 for a loss).
+     */
+    public void update(int node, int score) {
+        playouts[node]++;
+        wins[node] += score;
+        touched[node] = clock;
+    }
+
+    /**
+     * Advance the clock by which the least recently updated nodes are identified (typically, once per iteration).
+     */
+    public void tick() {
+        clock++;
+    }
+
+    /**
+     * Set the prior probability of the move which leads to node (see SelectionPolicy.Children.prior).
+     *
+     * @param node  a node other than the root.
+     * @param prior the prior.
+     */
+    public void setPrior(int node, double prior) {
+        if (priors == null) priors = new float[capacity()];
+        priors[node] = (float) prior;
+    }
+
+    /**
+     * @return true if priors have been set on this tree.
+     */
+    public boolean hasPriors() {
+        return priors != null;
+    }
+
+    /**
+     * @param node a node other than the root.
+     * @return the prior of node (zero if none has been set).
+     */
+    public double prior(int node) {
+        return priors == null ? 0 : priors[node];
+    }
+
+    /**
+     * Set the key of the move which leads to node (see Rollout.key), so that the node can have AMAF statistics.
+     *
+     * @param node a node other than the root.
+     * @param key  the key of the move.
+     */
+    public void setMoveKey(int node, int key) {
+        if (moveKeys == null) {
+            moveKeys = new int[capacity()];
+            amafWins = new int[capacity()];
+            amafPlayouts = new int[capacity()];
+        }
+        moveKeys[node] = key;
+    }
+
+    /**
+     * @return true if move keys (and so AMAF statistics) have been set on this tree.
+     */
+    public boolean hasAmaf() {
+        return moveKeys != null;
+    }
+
+    /**
+     * @param node a node other than the root, whose move key has been set.
+     * @return the key of the move which leads to node.
+     */
+    public int moveKey(int node) {
+        return moveKeys[node];
+    }
+
+    /**
+     * Record the result of a playout in the All-Moves-As-First statistics of a node, i.e. of a playout from the parent
+     * of node in which the move which leads to node was made (at any time) by the player to move at the parent.
+     *
+     * @param node  a node whose move key has been set.
+     * @param score the score (2 for a win, 1 for a draw, 0 for a loss).
+     */
+    public void updateAmaf(int node, int score) {
+        amafPlayouts[node]++;
+        amafWins[node] += score;
+    }
+
+    /**
+     * @param node a node.
+     * @return the AMAF wins of node (zero if there are no AMAF statistics).
+     */
+    public int amafWins(int node) {
+        return amafWins == null ? 0 : amafWins[node];
+    }
+
+    /**
+     * @param node a node.
+     * @return the AMAF playouts of node (zero if there are no AMAF statistics).
+     */
+    public int amafPlayouts(int node) {
+        return amafPlayouts == null ? 0 : amafPlayouts[node];
+    }
+
+    /**
+     * @param node a node.
+     * @return true if node has been expanded (it may then have no children, if it is terminal).
+     */
+    public boolean isExpanded(int node) {
+        return firstChild[node] != UNEXPANDED;
+    }
+
+    /**
+     * @param node a node.
+     * @return the index of the first child of node, or UNEXPANDED.
+     */
+    public int firstChild(int node) {
+        return firstChild[node];
+    }
+
+    /**
+     * @param node a node.
+     * @return the number of children of node.
+     */
+    public int children(int node) {
+        return children[node];
+    }
+
+    /**
+     * @param node a node.
+     * @param i    the index of a move from node.
+     * @return the child of node which follows the i-th move.
+     */
+    public int child(int node, int i) {
+        if (i < 0 || i >= children[node]) throw new IndexOutOfBoundsException("no child " + i + " of node " + node);
+        return firstChild[node] + i;
+    }
+
+    /**
+     * @param node a node other than the root.
+     * @return the index of the move which leads from the parent of node to node.
+     */
+    public int move(int node) {
+        return node - firstChild[parent[node]];
+    }
+
+    /**
+     * @param node a node.
+     * @return the parent of node, or -1 for the root.
+     */
+    public int parent(int node) {
+        return parent[node];
+    }
+
+    /**
+     * @param node a node.
+     * @return the wins of node (a win is worth 2, a draw 1).
+     */
+    public int wins(int node) {
+        return wins[node];
+    }
+
+    /**
+     * @param node a node.
+     * @return the playouts of node.
+     */
+    public int playouts(int node) {
+        return playouts[node];
+    }
+
+    /**
+     * @return the number of nodes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the maximum number of nodes.
+     */
+    public int maxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * @return the number of nodes discarded by prune since the tree was cleared.
+     */
+    public long pruned() {
+        return pruned;
+    }
+
+    /**
+     * @return the number of times that the tree has been pruned since it was cleared.
+     */
+    public int prunings() {
+        return prunings;
+    }
+
+    /**
+     * @return the number of nodes for which there is currently room.
+     */
+    public int capacity() {
+        return wins.length;
+    }
+
+    /**
+     * @return the number of bytes used by the arrays of this tree (whether or not in use).
+     */
+    public long bytes() {
+        return (long) capacity() * (BYTES_PER_NODE + (priors == null ? 0 : Float.BYTES) + (moveKeys == null ? 0 : 3 * Integer.BYTES));
+    }
+
+    /**
+     * Make node the root of the tree, keeping its subtree (and its statistics) and discarding all other nodes.
+     * The subtree is copied breadth-first into new arrays, so that the children of each node remain consecutive.
+     *
+     * @param node a node.
+     */
+    public void reroot(int node) {
+        if (node == 0) return;
+        ArrayTree result = new ArrayTree(Math.max(16, capacity()), maxNodes, pruning);
+        if (priors != null) result.priors = new float[result.capacity()];
+        if (moveKeys != null) result.setMoveKey(0, 0);
+        result.copy(0, this, node);
+        int[] queue = new int[size];
+        int head = 0, tail = 0;
+        queue[tail++] = node;
+        int next = 1;
+        // the i-th node taken from the queue is node i of the result (since nodes are numbered in breadth-first order)
+        while (head < tail) {
+            int from = queue[head];
+            int to = head++;
+            int first = firstChild[from];
+            if (first == UNEXPANDED) continue;
+            result.firstChild[to] = next;
+            for (int i = 0; i < children[from]; i++) {
+                result.allocate(1, to);
+                result.copy(next++, this, first + i);
+                queue[tail++] = first + i;
+            }
+        }
+        wins = result.wins;
+        playouts = result.playouts;
+        parent = result.parent;
+        firstChild = result.firstChild;
+        children = result.children;
+        touched = result.touched;
+        priors = result.priors;
+        moveKeys = result.moveKeys;
+        amafWins = result.amafWins;
+        amafPlayouts = result.amafPlayouts;
+        size = result.size;
+    }
+
+    /**
+     * Reduce the tree to no more than half of its maximum number of nodes (if possible) by collapsing the nodes which
+     * come first according to the Pruning of this tree. The root and its children are never discarded.
+     * The remaining nodes are compacted (keeping their order), so the index of a node may change.
+     *
+     * @return the number of nodes discarded.
+     */
+    public int prune() {
+        int target = maxNodes / 2;
+        if (size <= target) return 0;
+        if (remap == null || remap.length < capacity()) remap = new int[capacity()];
+        // a node is collapsed if its key is less than threshold; find the least threshold which meets the target
+        int low = 0, high = 0;
+        for (int i = 0; i < size; i++) high = Math.max(high, key(i));
+        high++;
+        while (low < high) {
+            int middle = low + (high - low) / 2;
+            if (retain(middle) <= target) high = middle;
+            else low = middle + 1;
+        }
+        int threshold = low;
+        retain(threshold);
+        int before = size;
+        size = 0;
+        for (int i = 0; i < before; i++) {
+            int j = remap[i];
+            if (j < 0) continue;
+            // j <= i, and every slot written so far is less than j, so slot i still holds node i
+            wins[j] = wins[i];
+            playouts[j] = playouts[i];
+            touched[j] = touched[i];
+            if (priors != null) priors[j] = priors[i];
+            if (moveKeys != null) {
+                moveKeys[j] = moveKeys[i];
+                amafWins[j] = amafWins[i];
+                amafPlayouts[j] = amafPlayouts[i];
+            }
+            parent[j] = i == 0 ? -1 : remap[parent[i]];
+            if (collapsed(i, threshold)) {
+                firstChild[j] = UNEXPANDED;
+                children[j] = 0;
+            } else {
+                firstChild[j] = firstChild[i] == UNEXPANDED || children[i] == 0 ? firstChild[i] : remap[firstChild[i]];
+                children[j] = children[i];
+            }
+            size++;
+        }
+        pruned += before - size;
+        prunings++;
+        return before - size;
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayTree{size=" + size + ", capacity=" + capacity() + ", maxNodes=" + maxNodes + ", pruned=" + pruned + ", bytes=" + bytes() + '}';
+    }
+
+    /**
+     * Set remap[i] to the index which node i would have after collapsing the nodes whose keys are less than threshold
+     * (or to -1 if node i would be discarded).
+     * Since the children of a node always follow it, remap can be computed in one pass in order of index.
+     *
+     * @return the number of nodes which would remain.
+     */
+    private int retain(int threshold) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int p = parent[i];
+            remap[i] = i > 0 && (remap[p] < 0 || collapsed(p, threshold)) ? -1 : count++;
+        }
+        return count;
+    }
+
+    private boolean collapsed(int node, int threshold) {
+        return node != 0 && firstChild[node] != UNEXPANDED && children[node] > 0 && key(node) < threshold;
+    }
+
+    private int key(int node) {
+        return pruning == Pruning.LEAST_VISITED ? playouts[node] : touched[node];
+    }
+
+    private void copy(int to, ArrayTree from, int node) {
+        wins[to] = from.wins[node];
+        playouts[to] = from.playouts[node];
+        touched[to] = from.touched[node];
+        if (priors != null) priors[to] = from.priors[node];
+        if (moveKeys != null) {
+            moveKeys[to] = from.moveKeys[node];
+            amafWins[to] = from.amafWins[node];
+            amafPlayouts[to] = from.amafPlayouts[node];
+        }
+        children[to] = from.children[node];
+        firstChild[to] = from.firstChild[node] == UNEXPANDED ? UNEXPANDED : 0;
+    }
+
+    /**
+     * Allocate count consecutive (unexpanded) nodes with the given parent.
+     *
+     * @return the index of the first new node.
+     */
+    private int allocate(int count, int parentNode) {
+        int first = size;
+        if (size + count > wins.length) grow(size + count);
+        for (int i = first; i < first + count; i++) {
+            wins[i] = 0;
+            playouts[i] = 0;
+            parent[i] = parentNode;
+            firstChild[i] = UNEXPANDED;
+            children[i] = 0;
+            touched[i] = clock;
+            if (priors != null) priors[i] = 0;
+            if (moveKeys != null) {
+                moveKeys[i] = 0;
+                amafWins[i] = 0;
+                amafPlayouts[i] = 0;
+            }
+        }
+        size += count;
+        return first;
+    }
+
+    private void grow(int required) {
+        int capacity = (int) Math.min(maxNodes, Math.max(required, wins.length * 2L));
+        if (capacity < required) throw new IllegalStateException("tree is full: " + size + " nodes");
+        wins = Arrays.copyOf(wins, capacity);
+        playouts = Arrays.copyOf(playouts, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        children = Arrays.copyOf(children, capacity);
+        touched = Arrays.copyOf(touched, capacity);
+        if (priors != null) priors = Arrays.copyOf(priors, capacity);
+        if (moveKeys != null) {
+            moveKeys = Arrays.copyOf(moveKeys, capacity);
+            amafWins = Arrays.copyOf(amafWins, capacity);
+            amafPlayouts = Arrays.copyOf(amafPlayouts, capacity);
+        }
+    }
+
+    private int[] wins;
+    private int[] playouts;
+    private int[] parent;
+    private int[] firstChild;
+    private int[] children;
+    private int[] touched;
+    private float[] priors;
+    private int[] moveKeys;
+    private int[] amafWins;
+    private int[] amafPlayouts;
+    private final int maxNodes;
+    private final Pruning pruning;
+    private int[] remap;
+    private int size;
+    private int clock;
+    private long pruned;
+    private int prunings;
+}
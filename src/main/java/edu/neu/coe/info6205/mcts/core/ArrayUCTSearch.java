@@ -0,0 +1,327 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Game-independent, single-threaded Monte Carlo Tree Search over an ArrayTree.
+ * <p>
+ * The search is the same as UCTSearch (expansion of all the children at once, selection by a SelectionPolicy, uniformly
+ * random playouts and the same scoring), but no Node or State is created during an iteration:
+ * the state of the selected node is reached by making the moves of the path on a Rollout, starting from the root
+ * state, and the playout then continues on the same Rollout.
+ * <p>
+ * If the ArrayTree is bounded, the search runs in constant memory: when a node cannot be expanded for lack of room,
+ * the playout is made from that node without expanding it, and the tree is then pruned (see ArrayTree.prune).
+ * <p>
+ * If the search has Priors, the prior of each new node is computed when its parent is expanded and kept in the tree.
+ * <p>
+ * If the SelectionPolicy uses All-Moves-As-First statistics (e.g. RAVE) and the moves of the Rollout have keys
+ * (see Rollout.key), the key of each new node is kept in the tree and, after each playout, every child of a node on
+ * the path whose move was later made (in the tree or in the playout) by the player to move at that node is credited
+ * with the result. Players are assumed to alternate.
+ *
+ * @param <G> the type of the Game.
+ */
+public class ArrayUCTSearch<G extends Game> {
+
+    /**
+     * Primary constructor.
+     *
+     * @param state  the root State.
+     * @param tree   the ArrayTree (which is cleared).
+     * @param random the random source for this search (it must not be shared with another thread).
+     * @param policy the SelectionPolicy.
+     * @param priors the Priors of the moves (or null if all moves are equally likely).
+     */
+    public ArrayUCTSearch(State<G> state, ArrayTree tree, Random random, SelectionPolicy policy, Priors<G> priors) {
+        this.state = state;
+        this.tree = tree;
+        this.random = random;
+        this.policy = policy;
+        this.priors = priors;
+        this.rollout = state.rollout();
+        this.amaf = policy.usesAmaf() && rollout.keys() > 0;
+        tree.clear();
+    }
+
+    /**
+     * Constructor without priors.
+     *
+     * @param state  the root State.
+     * @param tree   the ArrayTree (which is cleared).
+     * @param random the random source for this search (it must not be shared with another thread).
+     * @param policy the SelectionPolicy.
+     */
+    public ArrayUCTSearch(State<G> state, ArrayTree tree, Random random, SelectionPolicy policy) {
+        this(state, tree, random, policy, null);
+    }
+
+    /**
+     * Constructor for a search which selects by UCB1 (i.e. UCT).
+     *
+     * @param state  the root State.
+     * @param tree   the ArrayTree (which is cleared).
+     * @param random the random source for this search (it must not be shared with another thread).
+     */
+    public ArrayUCTSearch(State<G> state, ArrayTree tree, Random random) {
+        this(state, tree, random, new UCB1());
+    }
+
+    /**
+     * Constructor with a new ArrayTree.
+     *
+     * @param state  the root State.
+     * @param random the random source for this search (it must not be shared with another thread).
+     */
+    public ArrayUCTSearch(State<G> state, Random random) {
+        this(state, new ArrayTree(), random);
+    }
+
+    /**
+     * Search until the budget is exhausted or until stop is called, whichever comes first.
+     *
+     * @param budget the SearchBudget (iterations, nodes and/or time).
+     * @return the SearchResult for the root.
+     */
+    public SearchResult<G> search(SearchBudget budget) {
+        SearchBudget.Tracker current = budget.start();
+        tracker = current;
+        try {
+            while (current.proceed()) iterate();
+        } finally {
+            tracker = null;
+        }
+        return result(current.iterations(), current.elapsed());
+    }
+
+    /**
+     * Ask a running search to stop after its current iteration and return its result.
+     * This method may be called from any thread; it has no effect if no search is running.
+     */
+    public void stop() {
+        SearchBudget.Tracker current = tracker;
+        if (current != null) current.stop();
+    }
+
+    /**
+     * Run a single iteration: select, expand, simulate and back-propagate.
+     */
+    public void iterate() {
+        rollout.reset(state);
+        tree.tick();
+        size = 0;
+        int node = 0;
+        int first = rollout.player();
+        push(node, 1 - first);
+        while (tree.isExpanded(node) && tree.children(node) > 0) {
+            int i = bestUCT(node);
+            push(node = tree.firstChild(node) + i, rollout.player());
+            rollout.apply(i);
+        }
+        boolean full = false;
+        if (!tree.isExpanded(node)) {
+            int count = rollout.isTerminal() ? 0 : rollout.moves();
+            full = !tree.hasRoom(count);
+            if (!full) expand(node, count);
+        }
+        int winner = rollout.playout(random);
+        for (int k = 0; k < size; k++) tree.update(path[k], winner < 0 ? 1 : winner == movers[k] ? 2 : 0);
+        if (amaf) updateAmaf(first, winner);
+        if (full) tree.prune();
+        iterations++;
+    }
+
+    /**
+     * Advance the root of this search to the child whose state is the given state (see UCTSearch.advance).
+     * The subtree of the new root is retained.
+     *
+     * @param next the State which follows the root's state.
+     */
+    public void advance(State<G> next) {
+        List<Move<G>> moves = List.copyOf(state.moves(state.player()));
+        for (int i = 0; i < moves.size(); i++) {
+            State<G> candidate = state.next(moves.get(i));
+            if (candidate.equals(next)) {
+                if (tree.isExpanded(0)) tree.reroot(tree.child(0, i));
+                else tree.clear();
+                state = candidate;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("state does not follow the root in one move: " + next);
+    }
+
+    /**
+     * Method to yield the statistics of the children of the root.
+     *
+     * @param iterations the number of iterations to report.
+     * @param nanos      the elapsed time to report.
+     * @return a SearchResult.
+     */
+    public SearchResult<G> result(long iterations, long nanos) {
+        List<Move<G>> moves = List.copyOf(state.moves(state.player()));
+        int[] wins = new int[moves.size()];
+        int[] playouts = new int[moves.size()];
+        if (tree.isExpanded(0))
+            for (int i = 0; i < tree.children(0); i++) {
+                wins[i] = tree.wins(tree.child(0, i));
+                playouts[i] = tree.playouts(tree.child(0, i));
+            }
+        return new SearchResult<>(state, moves, wins, playouts, iterations, nanos);
+    }
+
+    /**
+     * @return the State at the root of this search.
+     */
+    public State<G> state() {
+        return state;
+    }
+
+    /**
+     * @return the ArrayTree of this search.
+     */
+    public ArrayTree tree() {
+        return tree;
+    }
+
+    /**
+     * @return the number of iterations run so far by this search.
+     */
+    public long iterations() {
+        return iterations;
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayUCTSearch{iterations=" + iterations + ", nodes=" + tree.size() + ", pruned=" + tree.pruned() + ", bytes=" + tree.bytes() + '}';
+    }
+
+    /**
+     * Choose a child of node according to the SelectionPolicy of this search.
+     *
+     * @param node an expanded node with at least one child.
+     * @return the index of the chosen child among the children of node.
+     */
+    int bestUCT(int node) {
+        children.node = node;
+        return policy.select(children, random);
+    }
+
+    /**
+     * Add the children of node and make a random move to one of them (which is added to the path).
+     *
+     * @param node  the unexpanded node at the end of the path.
+     * @param count the number of moves from node.
+     */
+    private void expand(int node, int count) {
+        int first = tree.expand(node, count);
+        if (priors != null && count > 0) {
+            if (scratch.length < count) scratch = new double[Math.max(count, 2 * scratch.length)];
+            priors.priors(rollout, scratch);
+            double sum = 0;
+            for (int i = 0; i < count; i++) sum += scratch[i];
+            for (int i = 0; i < count; i++) tree.setPrior(first + i, sum > 0 ? scratch[i] / sum : 1.0 / count);
+        }
+        if (amaf) for (int i = 0; i < count; i++) tree.setMoveKey(first + i, rollout.key(i));
+        SearchBudget.Tracker current = tracker;
+        if (current != null) current.addNodes(count);
+        if (count > 0) {
+            int i = random.nextInt(count);
+            push(tree.firstChild(node) + i, rollout.player());
+            rollout.apply(i);
+        }
+    }
+
+    /**
+     * Update the AMAF statistics of the children of the nodes on the path, after a playout.
+     * The moves of the iteration are visited from the last to the first, marking each (player, key) as played, so that
+     * when the move made from the node at ply p is reached, the marks are exactly those of the moves made from ply p on.
+     *
+     * @param first  the player to move at the root.
+     * @param winner the winner of the playout (or -1 for a draw).
+     */
+    private void updateAmaf(int first, int winner) {
+        int keys = rollout.keys();
+        if (played.length < 2 * keys) played = new int[2 * keys];
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(played, 0);
+            stamp = 1;
+        }
+        for (int ply = rollout.depth() - 1; ply >= 0; ply--) {
+            int player = ply % 2 == 0 ? first : 1 - first;
+            played[player * keys + rollout.playedKey(ply)] = stamp;
+            if (ply >= size) continue;
+            int node = path[ply];
+            if (!tree.isExpanded(node)) continue;
+            int score = winner < 0 ? 1 : winner == player ? 2 : 0;
+            int firstChild = tree.firstChild(node);
+            for (int i = 0; i < tree.children(node); i++)
+                if (played[player * keys + tree.moveKey(firstChild + i)] == stamp) tree.updateAmaf(firstChild + i, score);
+        }
+    }
+
+    private void push(int node, int mover) {
+        if (size == path.length) {
+            path = Arrays.copyOf(path, size * 2);
+            movers = Arrays.copyOf(movers, size * 2);
+        }
+        path[size] = node;
+        movers[size++] = mover;
+    }
+
+    /**
+     * The children of a node of the tree, as seen by the SelectionPolicy.
+     */
+    private class TreeChildren implements SelectionPolicy.Children {
+        public int size() {
+            return tree.children(node);
+        }
+
+        public int parentPlayouts() {
+            return tree.playouts(node);
+        }
+
+        public int wins(int i) {
+            return tree.wins(tree.firstChild(node) + i);
+        }
+
+        public int playouts(int i) {
+            return tree.playouts(tree.firstChild(node) + i);
+        }
+
+        public double prior(int i) {
+            return tree.hasPriors() ? tree.prior(tree.firstChild(node) + i) : 1.0 / size();
+        }
+
+        public int amafWins(int i) {
+            return tree.amafWins(tree.firstChild(node) + i);
+        }
+
+        public int amafPlayouts(int i) {
+            return tree.amafPlayouts(tree.firstChild(node) + i);
+        }
+
+        int node;
+    }
+
+    private State<G> state;
+    private final ArrayTree tree;
+    private final Random random;
+    private final SelectionPolicy policy;
+    private final Priors<G> priors;
+    private final boolean amaf;
+    private final TreeChildren children = new TreeChildren();
+    private double[] scratch = new double[16];
+    private final Rollout<G> rollout;
+    // the nodes of the current iteration and the players who moved into them (reused from one iteration to the next)
+    private int[] path = new int[16];
+    private int[] movers = new int[16];
+    private int size;
+    // played[player * keys + key] == stamp if that player made the move with that key later in the current iteration
+    private int[] played = new int[0];
+    private int stamp;
+    private long iterations = 0;
+    private volatile SearchBudget.Tracker tracker;
+}
@@ -0,0 +1,188 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A Node which may be shared by many threads searching the same tree.
+ * <p>
+ * The statistics (wins, playouts and virtual loss) are updated without locking.
+ * The children are published all at once, as an unmodifiable list assigned to a volatile field,
+ * so that a thread which sees a child also sees its state and parent.
+ * Only one thread can expand a node (see expand).
+ *
+ * @param <G> the type of the Game.
+ */
+public class ConcurrentNode<G extends Game> implements Node<G> {
+
+    /**
+     * @return true if this node is a leaf node (in which case no further exploration is possible).
+     */
+    public boolean isLeaf() {
+        return leaf;
+    }
+
+    /**
+     * @return the State of the Game G that this Node represents.
+     */
+    public State<G> state() {
+        return state;
+    }
+
+    /**
+     * @return true if this node represents a "white" move; false for "black."
+     */
+    public boolean white() {
+        return state.player() == state.game().opener();
+    }
+
+    /**
+     * @return an unmodifiable snapshot of the children of this Node.
+     */
+    public Collection<Node<G>> children() {
+        return children;
+    }
+
+    /**
+     * Method to add all the children of this Node, in the order of State.moves.
+     * If several threads call this method concurrently, exactly one of them does the work.
+     * If the children cannot be built (State.moves or State.next throws), the node is left unexpanded, so that a later
+     * call tries again (and meets the same failure) rather than waiting for children which will never be published.
+     *
+     * @return true if this call expanded the node; false if it was (or is being) expanded by another call.
+     */
+    public boolean expand() {
+        if (leaf || !EXPANDED.compareAndSet(this, 0, 1)) return false;
+        try {
+            List<Node<G>> result = new ArrayList<>();
+            for (Move<G> move : state.moves(state.player())) result.add(new ConcurrentNode<>(state.next(move), this));
+            children = Collections.unmodifiableList(result);
+            return true;
+        } catch (RuntimeException | Error e) {
+            expanded = 0;
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if the children of this node have been published.
+     */
+    public boolean isExpanded() {
+        return !children.isEmpty();
+    }
+
+    /**
+     * Method to add a child to this Node.
+     *
+     * @param state the State for the new child.
+     */
+    public synchronized void addChild(State<G> state) {
+        List<Node<G>> result = new ArrayList<>(children);
+        result.add(new ConcurrentNode<>(state, this));
+        children = Collections.unmodifiableList(result);
+        expanded = 1;
+    }
+
+    /**
+     * Method to add several children to this Node, which are published all at once.
+     *
+     * @param states the States for the new children.
+     */
+    public synchronized void addChildren(Collection<State<G>> states) {
+        List<Node<G>> result = new ArrayList<>(children.size() + states.size());
+        result.addAll(children);
+        for (State<G> state : states) result.add(new ConcurrentNode<>(state, this));
+        children = Collections.unmodifiableList(result);
+        expanded = 1;
+    }
+
+    /**
+     * This method sets the number of wins and playouts according to the children states.
+     */
+    public void backPropagate() {
+        int w = 0, p = 0;
+        for (Node<G> child : children) {
+            w += child.wins();
+            p += child.playouts();
+        }
+        wins = w;
+        playouts = p;
+    }
+
+    /**
+     * @return the score for this Node and its descendents: a win is worth 2 points, a draw is worth 1 point.
+     */
+    public int wins() {
+        return wins;
+    }
+
+    /**
+     * @return the number of playouts evaluated.
+     */
+    public int playouts() {
+        return playouts;
+    }
+
+    public void incrementPlayouts() {
+        PLAYOUTS.incrementAndGet(this);
+    }
+
+    public void addPlayouts(int playouts) {
+        PLAYOUTS.addAndGet(this, playouts);
+    }
+
+    public void addWins(int wins) {
+        WINS.addAndGet(this, wins);
+    }
+
+    /**
+     * @return the number of playouts currently in progress through this node, each of which is provisionally a loss.
+     */
+    public int virtualLoss() {
+        return virtualLoss;
+    }
+
+    /**
+     * Add (or, if negative, remove) virtual loss.
+     *
+     * @param delta the change in virtual loss.
+     */
+    public void addVirtualLoss(int delta) {
+        VIRTUAL_LOSS.addAndGet(this, delta);
+    }
+
+    public Node<G> getParent() {
+        return parent;
+    }
+
+    public void detach() {
+        parent = null;
+    }
+
+    public ConcurrentNode(State<G> state, Node<G> parent) {
+        this.state = state;
+        this.parent = parent;
+        this.leaf = state.isTerminal();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ConcurrentNode> WINS = AtomicIntegerFieldUpdater.newUpdater(ConcurrentNode.class, "wins");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ConcurrentNode> PLAYOUTS = AtomicIntegerFieldUpdater.newUpdater(ConcurrentNode.class, "playouts");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ConcurrentNode> VIRTUAL_LOSS = AtomicIntegerFieldUpdater.newUpdater(ConcurrentNode.class, "virtualLoss");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ConcurrentNode> EXPANDED = AtomicIntegerFieldUpdater.newUpdater(ConcurrentNode.class, "expanded");
+
+    private final State<G> state;
+    private volatile Node<G> parent;
+    private final boolean leaf;
+    private volatile List<Node<G>> children = Collections.emptyList();
+    private volatile int wins;
+    private volatile int playouts;
+    private volatile int virtualLoss;
+    private volatile int expanded;
+}
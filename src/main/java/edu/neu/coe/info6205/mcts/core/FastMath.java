@@ -0,0 +1,53 @@
+package edu.neu.coe.info6205.mcts.core;
+
+/**
+ * Lookup tables for the functions of visit counts which are evaluated during selection:
+ * log(n), 1/sqrt(n) and sqrt(n). For n less than TABLE_SIZE, the value is read from a table (computed once, with
+ * Math.log and Math.sqrt, so it is exactly what those methods would return); otherwise it is computed.
+ */
+public final class FastMath {
+
+    /**
+     * The number of entries in each table.
+     */
+    public static final int TABLE_SIZE = 1 << 14;
+
+    /**
+     * @param n a non-negative integer.
+     * @return the natural log of n (negative infinity for zero).
+     */
+    public static double log(int n) {
+        return n < TABLE_SIZE ? LOG[n] : Math.log(n);
+    }
+
+    /**
+     * @param n a non-negative integer.
+     * @return 1 / sqrt(n) (positive infinity for zero).
+     */
+    public static double invSqrt(int n) {
+        return n < TABLE_SIZE ? INV_SQRT[n] : 1 / Math.sqrt(n);
+    }
+
+    /**
+     * @param n a non-negative integer.
+     * @return the square root of n.
+     */
+    public static double sqrt(int n) {
+        return n < TABLE_SIZE ? SQRT[n] : Math.sqrt(n);
+    }
+
+    private FastMath() {
+    }
+
+    private static final double[] LOG = new double[TABLE_SIZE];
+    private static final double[] INV_SQRT = new double[TABLE_SIZE];
+    private static final double[] SQRT = new double[TABLE_SIZE];
+
+    static {
+        for (int n = 0; n < TABLE_SIZE; n++) {
+            LOG[n] = Math.log(n);
+            SQRT[n] = Math.sqrt(n);
+            INV_SQRT[n] = 1 / SQRT[n];
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Random;
+
+/**
+ * A fast, splittable random source for playouts: the xoshiro256** generator of Blackman and Vigna, whose 256 bits of
+ * state are seeded from a single long by SplitMix64.
+ * <p>
+ * A FastRandom is a Random, so it can be used wherever a Random is expected (in particular by Rollout.playout and
+ * SelectionPolicy.select), but unlike Random it does not update its state atomically: it must be used by only one
+ * thread at a time. A parallel search therefore gives each of its workers its own generator, either by split (which
+ * yields a generator whose sequence does not overlap that of its parent) or by current (the generator of the calling
+ * thread). A FastRandom constructed with a given seed always yields the same sequence.
+ * <p>
+ * Like Random, a FastRandom is Serializable: its serial form includes the four words of its xoshiro256** state
+ * (s0 to s3), so a deserialized generator continues the sequence exactly where the serialized one left off.
+ */
+public class FastRandom extends Random {
+
+    /**
+     * Constructor with a seed.
+     *
+     * @param seed the seed.
+     */
+    public FastRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Constructor with a seed which is (very likely) different from that of any other FastRandom.
+     */
+    public FastRandom() {
+        super();
+    }
+
+    /**
+     * Method to yield the FastRandom of the calling thread, which is created (with an arbitrary seed) when first needed.
+     * This is the random source for code which has none of its own (for example State.random) and may be called
+     * from the workers of a parallel search.
+     *
+     * @return the FastRandom of the calling thread.
+     */
+    public static FastRandom current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Method to yield a new generator for another thread (or another worker): its sequence is that which this
+     * generator would have yielded next, and this generator jumps 2^128 values ahead, so the two sequences cannot
+     * overlap. Splitting a generator with a given seed the same number of times always yields the same generators.
+     *
+     * @return a new FastRandom.
+     */
+    public FastRandom split() {
+        FastRandom result = new FastRandom(0L);
+        result.s0 = s0;
+        result.s1 = s1;
+        result.s2 = s2;
+        result.s3 = s3;
+        jump();
+        return result;
+    }
+
+    /**
+     * Reset the state of this generator from seed (by SplitMix64, so that no seed, not even zero, yields a poor state).
+     * NOTE this is called by the constructor of Random, i.e. before the fields of this class are initialized.
+     *
+     * @param seed the seed.
+     */
+    @Override
+    public void setSeed(long seed) {
+        s0 = splitMix(seed += GOLDEN_GAMMA);
+        s1 = splitMix(seed += GOLDEN_GAMMA);
+        s2 = splitMix(seed += GOLDEN_GAMMA);
+        s3 = splitMix(seed + GOLDEN_GAMMA);
+    }
+
+    @Override
+    public long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Method to yield a uniformly distributed int in [0, bound), by Lemire's multiply-and-shift
+     * (which needs no division except, rarely, to reject a biased value).
+     *
+     * @param bound the (positive) bound.
+     * @return a random int between 0 (inclusive) and bound (exclusive).
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("bound must be positive: " + bound);
+        long product = (nextLong() >>> 32) * bound;
+        if ((product & 0xFFFFFFFFL) < bound) {
+            long threshold = (1L << 32) % bound;
+            while ((product & 0xFFFFFFFFL) < threshold) product = (nextLong() >>> 32) * bound;
+        }
+        return (int) (product >>> 32);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public float nextFloat() {
+        return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /**
+     * The primitive of Random, on which its other methods (e.g. nextBytes and nextGaussian) are built.
+     */
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    /**
+     * Advance this generator by 2^128 values.
+     */
+    private void jump() {
+        long t0 = 0, t1 = 0, t2 = 0, t3 = 0;
+        for (long word : JUMP)
+            for (int b = 0; b < 64; b++) {
+                if ((word & 1L << b) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                    t2 ^= s2;
+                    t3 ^= s3;
+                }
+                nextLong();
+            }
+        s0 = t0;
+        s1 = t1;
+        s2 = t2;
+        s3 = t3;
+    }
+
+    private static long splitMix(long z) {
+        z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long[] JUMP = {0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL};
+    private static final ThreadLocal<FastRandom> CURRENT = ThreadLocal.withInitial(FastRandom::new);
+
+    // these are deliberately not initialized here, since they are first set (by setSeed) during Random's constructor;
+    // they are not transient, since they are the serial form of the generator
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+}
@@ -0,0 +1,97 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Leaf-parallel Monte Carlo Tree Search.
+ * <p>
+ * The tree is grown by a single thread exactly as in UCTSearch, but each iteration plays a batch of rollouts from the
+ * selected node instead of just one. The rollouts are dispatched to an ExecutorService (which may, for example, be a
+ * fixed thread pool or a virtual-thread-per-task executor) and their aggregated Outcomes are back-propagated once.
+ * This pays off for games whose playouts dominate the cost of an iteration.
+ *
+ * @param <G> the type of the Game.
+ */
+public class LeafParallelMCTS<G extends Game> extends UCTSearch<G> {
+
+    /**
+     * Constructor.
+     *
+     * @param root            the root of the tree to be searched.
+     * @param random          the random source from which the seed of each rollout is drawn.
+     * @param executor        the executor on which the rollouts are run (it is not shut down by this class).
+     * @param rolloutsPerLeaf the number of rollouts played from each selected node (K).
+     */
+    public LeafParallelMCTS(Node<G> root, Random random, ExecutorService executor, int rolloutsPerLeaf) {
+        super(root, random);
+        if (rolloutsPerLeaf < 1) throw new IllegalArgumentException("rolloutsPerLeaf must be positive: " + rolloutsPerLeaf);
+        this.executor = executor;
+        this.rolloutsPerLeaf = rolloutsPerLeaf;
+    }
+
+    /**
+     * Play rolloutsPerLeaf rollouts from node in parallel and back-propagate their aggregated result.
+     *
+     * @param node the selected (and expanded) node.
+     */
+    @Override
+    void playout(Node<G> node) {
+        backPropagate(node, rollouts(node.state()));
+        rollouts += rolloutsPerLeaf;
+    }
+
+    /**
+     * @return the number of rollouts played so far.
+     */
+    public long rollouts() {
+        return rollouts;
+    }
+
+    /**
+     * @return the number of rollouts played from each selected node.
+     */
+    public int rolloutsPerLeaf() {
+        return rolloutsPerLeaf;
+    }
+
+    /**
+     * Play rolloutsPerLeaf games from state, in parallel, by the PlayoutPolicy of this search (each on its own Rollout).
+     * A terminal state is not played out: its result is simply counted rolloutsPerLeaf times.
+     *
+     * @param state the starting state.
+     * @return the aggregated Outcomes.
+     */
+    Outcomes rollouts(State<G> state) {
+        Outcomes outcomes = new Outcomes();
+        if (state.isTerminal()) {
+            int winner = state.winner().orElse(-1);
+            for (int i = 0; i < rolloutsPerLeaf; i++) outcomes.add(winner);
+            return outcomes;
+        }
+        PlayoutPolicy<G> policy = playoutPolicy();
+        List<Callable<Integer>> tasks = new ArrayList<>(rolloutsPerLeaf);
+        for (int i = 0; i < rolloutsPerLeaf; i++) {
+            Random rolloutRandom = new FastRandom(random().nextLong());
+            tasks.add(() -> simulate(state, policy, rolloutRandom));
+        }
+        try {
+            for (Future<Integer> future : executor.invokeAll(tasks)) outcomes.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted while waiting for rollouts", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("rollout failed", e.getCause());
+        }
+        return outcomes;
+    }
+
+    private final ExecutorService executor;
+    private final int rolloutsPerLeaf;
+    private long rollouts = 0;
+}
@@ -59,6 +59,15 @@ public interface Node<G extends Game> {
      */
     void addChild(State<G> state);
 
+    /**
+     * Method to add several children to this Node at once (for example, when a tree is read back), in order.
+     *
+     * @param states the States for the new children.
+     */
+    default void addChildren(Collection<State<G>> states) {
+        for (State<G> state : states) addChild(state);
+    }
+
     /**
      * @return the score for this Node and its descendents a win is worth 2 points, a draw is worth 1 point.
      */
@@ -71,9 +80,26 @@ public interface Node<G extends Game> {
 
 
     void incrementPlayouts();
+
+    /**
+     * Method to add several playouts at once (for example, from a batch of rollouts).
+     *
+     * @param playouts the number of playouts to add.
+     */
+    default void addPlayouts(int playouts) {
+        for (int i = 0; i < playouts; i++) incrementPlayouts();
+    }
+
     void addWins(int wins);
     Node<G> getParent();// add 3 more method
 
+    /**
+     * Method to make this Node the root of its own tree (for example, when a search advances to the move actually
+     * played), so that its former parent and siblings can be garbage-collected.
+     * NOTE this is a mutating method.
+     */
+    void detach();
+
     private void addChildren(final State<G> state) {
         for (Iterator<Move<G>> it = state.moveIterator(state.player()); it.hasNext(); )
             addChild(state.next(it.next()));
@@ -0,0 +1,72 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The children of a Node, as seen by a SelectionPolicy.
+ * A NodeChildren is reused: it is pointed at the node whose children are to be chosen from by calling of.
+ *
+ * @param <G> the type of the Game.
+ */
+public class NodeChildren<G extends Game> implements SelectionPolicy.Children {
+
+    /**
+     * Constructor.
+     *
+     * @param scale the number by which the wins of a node are to be multiplied so that a win is worth 2
+     *              (i.e. 2 for a tree in which a win is counted as 1).
+     */
+    public NodeChildren(int scale) {
+        this.scale = scale;
+    }
+
+    /**
+     * Constructor for a tree in which a win is worth 2 (see Node.wins).
+     */
+    public NodeChildren() {
+        this(1);
+    }
+
+    /**
+     * Method to point this NodeChildren at the children of parent.
+     *
+     * @param parent a node with at least one child.
+     * @return this NodeChildren.
+     */
+    public NodeChildren<G> of(Node<G> parent) {
+        Collection<Node<G>> collection = parent.children();
+        children = collection instanceof List ? (List<Node<G>>) collection : new ArrayList<>(collection);
+        parentPlayouts = parent.playouts();
+        return this;
+    }
+
+    /**
+     * @param i the index of a child.
+     * @return the i-th child.
+     */
+    public Node<G> get(int i) {
+        return children.get(i);
+    }
+
+    public int size() {
+        return children.size();
+    }
+
+    public int parentPlayouts() {
+        return parentPlayouts;
+    }
+
+    public int wins(int i) {
+        return children.get(i).wins() * scale;
+    }
+
+    public int playouts(int i) {
+        return children.get(i).playouts();
+    }
+
+    private final int scale;
+    private List<Node<G>> children;
+    private int parentPlayouts;
+}
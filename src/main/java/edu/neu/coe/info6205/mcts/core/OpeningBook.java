@@ -0,0 +1,265 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable table of search statistics (wins and playouts) for the well-searched positions near the start of a
+ * game, keyed on State.canonicalHash, which can be saved to a file and memory-mapped again.
+ * <p>
+ * The file is a header (MAGIC, VERSION and the number of entries, as ints, and an unused int) followed by one
+ * entry of ENTRY_BYTES per position (its key as a long, then its wins and its playouts as ints), in increasing order
+ * of key, so that a position is found by binary search directly in the mapped file: opening a book costs the same
+ * whatever its size, and no memory is used for it but the pages actually read.
+ * <p>
+ * The statistics are those of a TranspositionTable: the wins of a position are credited to the player who moved to
+ * it, a win counting 2 and a draw 1. A book may be used to skip the search for a position which it covers (see move
+ * and oracle), or to seed the table of a (symmetric) TranspositionMCTS (see seed).
+ * <p>
+ * An OpeningBook may be shared by any number of threads.
+ */
+public class OpeningBook {
+
+    /**
+     * The first int of a book file ("MCTB").
+     */
+    public static final int MAGIC = 0x4D435442;
+
+    /**
+     * The version of the format of a book file.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The number of bytes of the header.
+     */
+    public static final int HEADER_BYTES = 16;
+
+    /**
+     * The number of bytes of each entry.
+     */
+    public static final int ENTRY_BYTES = 16;
+
+    /**
+     * Method to map a book file into memory.
+     *
+     * @param path the Path of a book file (see write).
+     * @return the OpeningBook.
+     * @throws IOException if the file cannot be read or is not a book.
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping remains valid after the channel is closed
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), path.toString());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method to build a book from the statistics in a TranspositionTable (for example, after self-play).
+     * The positions up to the given depth from start are visited (each equivalence class once), and a position is
+     * entered if it has at least minPlayouts; the successors of a position which is not entered are not visited.
+     *
+     * @param start       the starting State.
+     * @param depth       the greatest number of moves from start to a position in the book.
+     * @param minPlayouts the least number of playouts of a position in the book.
+     * @param table       a TranspositionTable keyed on State.canonicalHash (i.e. that of a symmetric search).
+     * @param <G>         the type of the Game.
+     * @return a new OpeningBook (in memory).
+     */
+    public static <G extends Game> OpeningBook build(State<G> start, int depth, int minPlayouts, TranspositionTable table) {
+        List<long[]> entries = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        List<State<G>> level = List.of(start);
+        seen.add(start.canonicalHash());
+        for (int ply = 0; ply <= depth && !level.isEmpty(); ply++) {
+            List<State<G>> next = new ArrayList<>();
+            for (State<G> state : level) {
+                int slot = table.find(state.canonicalHash());
+                if (slot < 0 || table.playouts(slot) < minPlayouts) continue;
+                entries.add(new long[]{state.canonicalHash(), table.wins(slot), table.playouts(slot)});
+                if (ply == depth || state.isTerminal()) continue;
+                for (Move<G> move : state.moves(state.player()))
+                    if (seen.add(state.nextCanonicalHash(move))) next.add(state.next(move));
+            }
+            level = next;
+        }
+        entries.sort((a, b) -> Long.compare(a[0], b[0]));
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + entries.size() * ENTRY_BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(entries.size()).putInt(0);
+        for (long[] entry : entries) buffer.putLong(entry[0]).putInt((int) entry[1]).putInt((int) entry[2]);
+        buffer.flip();
+        return new OpeningBook(buffer, "built");
+    }
+
+    /**
+     * Write this book to a file (which is replaced).
+     *
+     * @param path the Path of the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer source = buffer.duplicate();
+            source.clear();
+            while (source.hasRemaining()) channel.write(source);
+        }
+    }
+
+    /**
+     * Method to find the entry for a (canonical) hash.
+     *
+     * @param hash the canonical hash of a State.
+     * @return the index of the entry, or -1 if there is no such entry.
+     */
+    public int find(long hash) {
+        int low = 0, high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long key = key(middle);
+            if (key < hash) low = middle + 1;
+            else if (key > hash) high = middle - 1;
+            else return middle;
+        }
+        return -1;
+    }
+
+    /**
+     * @param index the index of an entry.
+     * @return the canonical hash of the entry.
+     */
+    public long key(int index) {
+        return buffer.getLong(HEADER_BYTES + index * ENTRY_BYTES);
+    }
+
+    /**
+     * @param index the index of an entry.
+     * @return the wins of the entry (a win is worth 2, a draw 1).
+     */
+    public int wins(int index) {
+        return buffer.getInt(HEADER_BYTES + index * ENTRY_BYTES + 8);
+    }
+
+    /**
+     * @param index the index of an entry.
+     * @return the playouts of the entry.
+     */
+    public int playouts(int index) {
+        return buffer.getInt(HEADER_BYTES + index * ENTRY_BYTES + 12);
+    }
+
+    /**
+     * @return the number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to yield the statistics which this book holds for the moves available from state
+     * (a move whose successor is not in the book has none).
+     *
+     * @param state a non-terminal State.
+     * @param <G>   the type of the Game.
+     * @return a SearchResult (with no iterations and no time).
+     */
+    public <G extends Game> SearchResult<G> result(State<G> state) {
+        List<Move<G>> moves = List.copyOf(state.moves(state.player()));
+        int[] wins = new int[moves.size()];
+        int[] playouts = new int[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            int index = find(state.nextCanonicalHash(moves.get(i)));
+            if (index >= 0) {
+                wins[i] = wins(index);
+                playouts[i] = playouts(index);
+            }
+        }
+        return new SearchResult<>(state, moves, wins, playouts, 0, 0);
+    }
+
+    /**
+     * Method to yield the book move from a state: the move with the most playouts (as for a search), provided that the
+     * moves from state have at least minPlayouts between them.
+     *
+     * @param state       a non-terminal State.
+     * @param minPlayouts the least number of playouts for the book to be followed.
+     * @param <G>         the type of the Game.
+     * @return the book move, or empty if the book does not cover state.
+     */
+    public <G extends Game> Optional<Move<G>> move(State<G> state, int minPlayouts) {
+        SearchResult<G> result = result(state);
+        long total = 0;
+        for (int i = 0; i < result.moves().size(); i++) total += result.playouts(i);
+        return total > 0 && total >= minPlayouts ? Optional.of(result.bestMove()) : Optional.empty();
+    }
+
+    /**
+     * @param minPlayouts the least number of playouts for the book to be followed (see move).
+     * @param <G>         the type of the Game.
+     * @return an Oracle which plays the book moves of this book.
+     */
+    public <G extends Game> Oracle<G> oracle(int minPlayouts) {
+        return state -> move(state, minPlayouts);
+    }
+
+    /**
+     * Add the statistics of every entry, multiplied by weight, to a TranspositionTable
+     * (a weight below 1 lets the search revise the book more quickly).
+     *
+     * @param table  a TranspositionTable keyed on State.canonicalHash (i.e. that of a symmetric search).
+     * @param weight the factor (between 0 and 1) by which the statistics are multiplied.
+     * @return the number of entries added.
+     */
+    public int seed(TranspositionTable table, double weight) {
+        if (weight < 0 || weight > 1) throw new IllegalArgumentException("weight must be between 0 and 1: " + weight);
+        int added = 0;
+        for (int i = 0; i < size; i++) {
+            int playouts = (int) Math.round(playouts(i) * weight);
+            if (playouts == 0) continue;
+            int wins = (int) Math.round(wins(i) * weight);
+            table.add(table.findOrCreate(key(i)), Math.min(wins, 2 * playouts), playouts);
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * Add the statistics of every entry to a TranspositionTable.
+     *
+     * @param table a TranspositionTable keyed on State.canonicalHash (i.e. that of a symmetric search).
+     * @return the number of entries added.
+     */
+    public int seed(TranspositionTable table) {
+        return seed(table, 1);
+    }
+
+    @Override
+    public String toString() {
+        return "OpeningBook{source=" + source + ", size=" + size + ", bytes=" + buffer.capacity() + '}';
+    }
+
+    private OpeningBook(ByteBuffer buffer, String source) {
+        this.buffer = buffer;
+        this.source = source;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+            throw new IllegalArgumentException("not an opening book: " + source);
+        if (buffer.getInt(4) != VERSION)
+            throw new IllegalArgumentException("unsupported version " + buffer.getInt(4) + " of opening book: " + source);
+        this.size = buffer.getInt(8);
+        if (size < 0 || (long) HEADER_BYTES + (long) size * ENTRY_BYTES != buffer.capacity())
+            throw new IllegalArgumentException("opening book has the wrong length: " + source);
+    }
+
+    private final ByteBuffer buffer;
+    private final String source;
+    private final int size;
+}
@@ -0,0 +1,22 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Optional;
+
+/**
+ * This interface defines the behavior of an Oracle for a game (G): a source of perfect play for those positions which
+ * are covered by a theory of the game (for example, the nim-sum in Nim), so that a search need not be run for them.
+ *
+ * @param <G> the type of the Game.
+ */
+public interface Oracle<G extends Game> {
+
+    /**
+     * Method to yield a perfect move from a state, if the theory of this Oracle applies to it.
+     * If the player to move cannot win, any move is perfect (but an Oracle should choose one which leaves the opponent
+     * the most opportunity to go wrong).
+     *
+     * @param state a non-terminal State.
+     * @return a perfect move, or empty if this Oracle does not cover state.
+     */
+    Optional<Move<G>> move(State<G> state);
+}
@@ -0,0 +1,58 @@
+package edu.neu.coe.info6205.mcts.core;
+
+/**
+ * This class aggregates the results of a batch of playouts of a two-player game
+ * so that they can be back-propagated in one pass.
+ */
+public class Outcomes {
+
+    /**
+     * Record the result of one playout.
+     *
+     * @param winner the winner (0 or 1), or -1 for a draw.
+     */
+    public void add(int winner) {
+        if (winner < 0) draws++;
+        else wins[winner]++;
+    }
+
+    /**
+     * @return the number of playouts recorded.
+     */
+    public int playouts() {
+        return wins[0] + wins[1] + draws;
+    }
+
+    /**
+     * @param player a player (0 or 1).
+     * @return the number of playouts won by player.
+     */
+    public int wins(int player) {
+        return wins[player];
+    }
+
+    /**
+     * @return the number of drawn playouts.
+     */
+    public int draws() {
+        return draws;
+    }
+
+    /**
+     * Method to determine the score earned by player over all the playouts recorded.
+     *
+     * @param player a player (0 or 1).
+     * @return two points for each win plus one point for each draw.
+     */
+    public int score(int player) {
+        return 2 * wins[player] + draws;
+    }
+
+    @Override
+    public String toString() {
+        return "Outcomes{0: " + wins[0] + ", 1: " + wins[1] + ", draws: " + draws + '}';
+    }
+
+    private final int[] wins = new int[2];
+    private int draws;
+}
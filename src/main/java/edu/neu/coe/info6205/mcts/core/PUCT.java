@@ -0,0 +1,55 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Random;
+
+/**
+ * The PUCT selection policy (as used by AlphaZero), in which exploration is guided by the prior of each move:
+ * mean + c * prior * sqrt(N) / (1 + n).
+ * The mean of an unvisited child is taken to be firstPlayUrgency.
+ * Without priors (see Children.prior), every move has the same prior.
+ */
+public class PUCT implements SelectionPolicy {
+
+    /**
+     * Constructor.
+     *
+     * @param c                the exploration constant.
+     * @param firstPlayUrgency the value assumed for the mean reward of an unvisited child.
+     */
+    public PUCT(double c, double firstPlayUrgency) {
+        this.c = c;
+        this.firstPlayUrgency = firstPlayUrgency;
+    }
+
+    /**
+     * Constructor with default parameters (c = 1.5 and a first-play urgency of 1, so that every child is visited
+     * before any is revisited unless the priors are very uneven).
+     */
+    public PUCT() {
+        this(1.5, 1.0);
+    }
+
+    public int select(Children children, Random random) {
+        double sqrtParent = FastMath.sqrt(children.parentPlayouts());
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < children.size(); i++) {
+            int playouts = children.playouts(i);
+            double mean = playouts == 0 ? firstPlayUrgency : children.wins(i) / (2.0 * playouts);
+            double value = mean + c * children.prior(i) * sqrtParent / (1 + playouts);
+            if (value > bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String toString() {
+        return "PUCT{c=" + c + ", firstPlayUrgency=" + firstPlayUrgency + '}';
+    }
+
+    private final double c;
+    private final double firstPlayUrgency;
+}
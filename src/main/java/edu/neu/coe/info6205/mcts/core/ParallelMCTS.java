@@ -0,0 +1,193 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tree-parallel Monte Carlo Tree Search: many threads share one tree of ConcurrentNode.
+ * <p>
+ * While a thread descends through a node, it adds virtual loss to that node, i.e. the node temporarily looks as if
+ * it had some extra lost playouts. This makes other threads prefer different paths, so that they diverge instead of
+ * all piling into the same subtree. The virtual loss is removed again when the result is back-propagated.
+ *
+ * @param <G> the type of the Game.
+ */
+public class ParallelMCTS<G extends Game> implements AutoCloseable {
+
+    /**
+     * The default number of provisional losses added to a node per thread descending through it.
+     */
+    public static final int VIRTUAL_LOSS = 1;
+
+    /**
+     * Primary constructor.
+     *
+     * @param threads     the number of threads sharing the tree.
+     * @param virtualLoss the number of provisional losses per thread descending through a node (zero disables it).
+     * @param seed        the seed from which the FastRandom of each thread is split.
+     */
+    public ParallelMCTS(int threads, int virtualLoss, long seed) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive: " + threads);
+        if (virtualLoss < 0) throw new IllegalArgumentException("virtualLoss must not be negative: " + virtualLoss);
+        this.threads = threads;
+        this.virtualLoss = virtualLoss;
+        this.seeds = new FastRandom(seed);
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "mcts-tree-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Secondary constructor which uses the default virtual loss and the current time as seed.
+     *
+     * @param threads the number of threads sharing the tree.
+     */
+    public ParallelMCTS(int threads) {
+        this(threads, VIRTUAL_LOSS, System.currentTimeMillis());
+    }
+
+    /**
+     * Search from the given state, using a new tree.
+     *
+     * @param state      a non-terminal State.
+     * @param iterations the total number of iterations (over all threads).
+     * @return the SearchResult.
+     */
+    public SearchResult<G> search(State<G> state, int iterations) {
+        return search(new ConcurrentNode<>(state, null), iterations);
+    }
+
+    /**
+     * Search the tree under root.
+     *
+     * @param root       the root of the (possibly already searched) tree.
+     * @param iterations the total number of iterations (over all threads).
+     * @return the SearchResult.
+     */
+    public SearchResult<G> search(ConcurrentNode<G> root, int iterations) {
+        if (root.isLeaf()) throw new IllegalArgumentException("cannot search from a terminal state");
+        long start = System.nanoTime();
+        AtomicInteger remaining = new AtomicInteger(iterations);
+        List<Future<?>> futures = new ArrayList<>(threads);
+        for (int w = 0; w < threads; w++) {
+            Random random = seeds.split();
+            futures.add(executor.submit(() -> {
+                while (remaining.getAndDecrement() > 0) iterate(root, random);
+            }));
+        }
+        for (Future<?> future : futures) await(future);
+        return SearchResult.fromRoot(root, iterations, System.nanoTime() - start);
+    }
+
+    /**
+     * @return the number of threads.
+     */
+    public int threads() {
+        return threads;
+    }
+
+    /**
+     * Shut down the worker threads.
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run a single iteration on the shared tree.
+     *
+     * @param root   the root of the tree.
+     * @param random the Random belonging to the calling thread.
+     */
+    void iterate(ConcurrentNode<G> root, Random random) {
+        ConcurrentNode<G> node = select(root);
+        if (!node.isLeaf()) {
+            // if another thread is expanding node, wait for its children rather than play out from node again;
+            // if that expansion fails, expand node here (and so fail in the same way) rather than wait forever
+            while (!node.expand() && !node.isExpanded()) Thread.onSpinWait();
+            node = (ConcurrentNode<G>) UCTSearch.randomElement(node.children(), random);
+            node.addVirtualLoss(virtualLoss);
+        }
+        backPropagate(root, node, UCTSearch.simulate(node.state(), random));
+    }
+
+    /**
+     * Descend from root by UCT (allowing for virtual loss), adding virtual loss to each node on the way.
+     * The descent stops at a leaf or at a node whose children have not yet been published.
+     *
+     * @param root the root of the tree.
+     * @return the selected node.
+     */
+    ConcurrentNode<G> select(ConcurrentNode<G> root) {
+        ConcurrentNode<G> node = root;
+        node.addVirtualLoss(virtualLoss);
+        while (!node.isLeaf() && node.isExpanded()) {
+            node = bestUCT(node);
+            node.addVirtualLoss(virtualLoss);
+        }
+        return node;
+    }
+
+    /**
+     * Choose the child of node with the greatest UCT value, counting each virtual loss as a lost playout.
+     *
+     * @param node an expanded node.
+     * @return the chosen child.
+     */
+    ConcurrentNode<G> bestUCT(ConcurrentNode<G> node) {
+        double exploration = UCTSearch.EXPLORATION_CONSTANT * Math.sqrt(FastMath.log(Math.max(1, node.playouts() + node.virtualLoss())));
+        Node<G> best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Node<G> child : node.children()) {
+            double value = UCTSearch.ucb(child.wins(), child.playouts() + ((ConcurrentNode<G>) child).virtualLoss(), exploration);
+            if (value > bestValue) {
+                best = child;
+                bestValue = value;
+            }
+        }
+        return (ConcurrentNode<G>) best;
+    }
+
+    /**
+     * Update the statistics of node and its ancestors up to (and including) root, and remove the virtual loss added
+     * by select. The ancestors of root (if it is a subtree which has not been detached) are outside the search and
+     * are left alone.
+     *
+     * @param root   the root of the search.
+     * @param node   the node from which the playout started.
+     * @param winner the winner of the playout (-1 for a draw).
+     */
+    void backPropagate(ConcurrentNode<G> root, ConcurrentNode<G> node, int winner) {
+        for (Node<G> current = node; current != null; current = current.getParent()) {
+            ConcurrentNode<G> concurrent = (ConcurrentNode<G>) current;
+            concurrent.addWins(UCTSearch.score(concurrent, winner));
+            concurrent.incrementPlayouts();
+            concurrent.addVirtualLoss(-virtualLoss);
+            if (current == root) break;
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted while waiting for a search thread", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("search thread failed", e.getCause());
+        }
+    }
+
+    private final int threads;
+    private final int virtualLoss;
+    private final FastRandom seeds;
+    private final ExecutorService executor;
+}
@@ -0,0 +1,85 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Random;
+
+/**
+ * This interface defines the behavior of a playout policy: the choice of each move of a playout, made on a Rollout.
+ * <p>
+ * The default policy (uniform) plays uniformly random moves, as Rollout.playout does. A "heavy" policy instead uses
+ * some cheap knowledge of the game (e.g. to make a winning move, or to block one, whenever there is such a move), so
+ * that playouts are more like real games and a search needs fewer of them; such knowledge must cost little, since it
+ * is consulted at every move of every playout. A heavy policy is usually mixed with uniform moves (see epsilonGreedy),
+ * so that playouts remain diverse.
+ * <p>
+ * A PlayoutPolicy holds no state of its own, so it may be shared by any number of searches and threads
+ * (each with its own Rollout and random source).
+ *
+ * @param <G> the type of game.
+ */
+@FunctionalInterface
+public interface PlayoutPolicy<G extends Game> {
+
+    /**
+     * Method to choose the next move of a playout.
+     *
+     * @param rollout a Rollout which is not terminal.
+     * @param random  the random source.
+     * @return the index of the chosen move (a number less than rollout.moves()).
+     */
+    int choose(Rollout<G> rollout, Random random);
+
+    /**
+     * Play moves chosen by this policy until the game is over.
+     *
+     * @param rollout the Rollout (which has been reset to the State from which to play).
+     * @param random  the random source.
+     * @return the winner, or -1 in the case of a draw.
+     */
+    default int playout(Rollout<G> rollout, Random random) {
+        while (!rollout.isTerminal()) rollout.apply(choose(rollout, random));
+        return rollout.winner();
+    }
+
+    /**
+     * @param <G> the type of game.
+     * @return a policy which chooses moves uniformly at random (and plays out by Rollout.playout).
+     */
+    static <G extends Game> PlayoutPolicy<G> uniform() {
+        return new PlayoutPolicy<>() {
+            public int choose(Rollout<G> rollout, Random random) {
+                return random.nextInt(rollout.moves());
+            }
+
+            public int playout(Rollout<G> rollout, Random random) {
+                return rollout.playout(random);
+            }
+
+            @Override
+            public String toString() {
+                return "uniform";
+            }
+        };
+    }
+
+    /**
+     * Method to mix a (greedy) policy with uniformly random moves.
+     *
+     * @param greedy  the policy which chooses most moves.
+     * @param epsilon the probability (between 0 and 1) that a move is chosen uniformly at random instead.
+     * @param <G>     the type of game.
+     * @return an epsilon-greedy PlayoutPolicy.
+     */
+    static <G extends Game> PlayoutPolicy<G> epsilonGreedy(PlayoutPolicy<G> greedy, double epsilon) {
+        if (!(epsilon >= 0 && epsilon <= 1)) throw new IllegalArgumentException("epsilon must be between 0 and 1: " + epsilon);
+        return new PlayoutPolicy<>() {
+            public int choose(Rollout<G> rollout, Random random) {
+                return random.nextDouble() < epsilon ? random.nextInt(rollout.moves()) : greedy.choose(rollout, random);
+            }
+
+            @Override
+            public String toString() {
+                return greedy + " (epsilon " + epsilon + ")";
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package edu.neu.coe.info6205.mcts.core;
+
+/**
+ * This interface defines the behavior of a source of prior probabilities for the moves of a game (G),
+ * for use by a SelectionPolicy such as PUCT.
+ * Priors are computed once, when a node is expanded, from the Rollout which is then at the state of that node.
+ *
+ * @param <G> the type of the Game.
+ */
+public interface Priors<G extends Game> {
+
+    /**
+     * Method to assign a prior to each of the moves available on rollout.
+     * The priors need not be normalized (they are divided by their sum).
+     *
+     * @param rollout a Rollout at a non-terminal state (which must not be changed).
+     * @param priors  an array, of at least rollout.moves() elements, in which the i-th element is set to the prior of
+     *                the i-th move.
+     */
+    void priors(Rollout<G> rollout, double[] priors);
+}
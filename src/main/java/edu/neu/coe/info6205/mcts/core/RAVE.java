@@ -0,0 +1,71 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Random;
+
+/**
+ * The RAVE (Rapid Action Value Estimation) selection policy of Gelly and Silver, which blends the mean reward q of a
+ * child with its All-Moves-As-First mean a (see Children.amafWins): (1 - beta) * q + beta * a, plus the exploration
+ * term of UCB1, c * sqrt(ln(N) / n).
+ * <p>
+ * The weight of the AMAF mean decays as the child is visited: beta = sqrt(k / (3n + k)), where k (the equivalence
+ * parameter) is the number of playouts at which the two means are weighted equally.
+ * A child with AMAF statistics but no playouts is valued by its AMAF mean alone (with the exploration of a child with
+ * one playout), so that moves which have done well elsewhere in the playouts are tried first.
+ * Without AMAF statistics, this policy is UCB1.
+ */
+public class RAVE implements SelectionPolicy {
+
+    /**
+     * Constructor.
+     *
+     * @param k the equivalence parameter.
+     * @param c the exploration constant.
+     */
+    public RAVE(double k, double c) {
+        this.k = k;
+        this.c = c;
+    }
+
+    /**
+     * Constructor with default parameters: k = 1000 and a tenth of the exploration constant of UCTSearch
+     * (since the AMAF statistics already spread the playouts among the moves).
+     */
+    public RAVE() {
+        this(1000, UCTSearch.EXPLORATION_CONSTANT / 10);
+    }
+
+    public int select(Children children, Random random) {
+        double exploration = c * Math.sqrt(FastMath.log(children.parentPlayouts()));
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < children.size(); i++) {
+            int playouts = children.playouts(i);
+            int amafPlayouts = children.amafPlayouts(i);
+            if (playouts == 0 && amafPlayouts == 0) return i;
+            double value = exploration * FastMath.invSqrt(Math.max(playouts, 1));
+            if (amafPlayouts == 0) value += children.wins(i) / (2.0 * playouts);
+            else {
+                double amaf = children.amafWins(i) / (2.0 * amafPlayouts);
+                double beta = playouts == 0 ? 1 : Math.sqrt(k / (3 * playouts + k));
+                value += beta * amaf + (playouts == 0 ? 0 : (1 - beta) * children.wins(i) / (2.0 * playouts));
+            }
+            if (value > bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    public boolean usesAmaf() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "RAVE{k=" + k + ", c=" + c + '}';
+    }
+
+    private final double k;
+    private final double c;
+}
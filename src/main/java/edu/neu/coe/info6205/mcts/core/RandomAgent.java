@@ -0,0 +1,26 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An Agent which plays uniformly random moves.
+ *
+ * @param <G> the type of the Game.
+ */
+public class RandomAgent<G extends Game> implements Agent<G> {
+
+    public String name() {
+        return "random";
+    }
+
+    public State<G> play(State<G> state, Random random) {
+        List<Move<G>> moves = List.copyOf(state.moves(state.player()));
+        return state.next(moves.get(random.nextInt(moves.size())));
+    }
+
+    @Override
+    public String toString() {
+        return name();
+    }
+}
@@ -0,0 +1,105 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Random;
+
+/**
+ * This interface defines the behavior of a Rollout: a mutable scratch copy of a State of a game (G),
+ * on which moves can be made (and unmade) in place, so that a random playout need not create a State for every move.
+ * <p>
+ * A Rollout is obtained from State.rollout and is then reset to the State from which each playout should start;
+ * it can be reused for any number of playouts, so that (for games which implement it) playouts create no garbage.
+ * A Rollout is not thread-safe: each thread should have its own.
+ *
+ * @param <G> the type of game.
+ */
+public interface Rollout<G extends Game> {
+    /**
+     * Method to set this Rollout to (a copy of) state, forgetting all moves made since the previous reset.
+     *
+     * @param state the State from which the next playout starts.
+     */
+    void reset(State<G> state);
+
+    /**
+     * @return true if no further move can be made.
+     */
+    boolean isTerminal();
+
+    /**
+     * @return the player who plays next.
+     */
+    int player();
+
+    /**
+     * @return the number of moves available to the player (in the order of State.moves).
+     */
+    int moves();
+
+    /**
+     * Make the index-th of the available moves.
+     *
+     * @param index a number less than moves().
+     */
+    void apply(int index);
+
+    /**
+     * Unmake the last move made (and not yet unmade) since reset.
+     */
+    void undo();
+
+    /**
+     * @return the number of moves made (and not unmade) since reset.
+     */
+    int depth();
+
+    /**
+     * @return the winner, or -1 if the game is drawn (or not over).
+     */
+    int winner();
+
+    /**
+     * @return the number of distinct move keys (see key), or 0 if this Rollout does not identify its moves by key.
+     */
+    default int keys() {
+        return 0;
+    }
+
+    /**
+     * The key of a move identifies it independently of the position in which it is made (e.g. the cell on which a
+     * piece is placed), so that statistics can be shared between the same move made in different positions (see RAVE).
+     *
+     * @param index a number less than moves().
+     * @return the key of the index-th available move (a number less than keys()).
+     */
+    default int key(int index) {
+        throw new UnsupportedOperationException("moves of this Rollout have no keys");
+    }
+
+    /**
+     * @param ply a number less than depth().
+     * @return the key of the ply-th move made since reset.
+     */
+    default int playedKey(int ply) {
+        throw new UnsupportedOperationException("moves of this Rollout have no keys");
+    }
+
+    /**
+     * Make one of the available moves, chosen uniformly at random.
+     *
+     * @param random the random source.
+     */
+    default void applyRandomMove(Random random) {
+        apply(random.nextInt(moves()));
+    }
+
+    /**
+     * Play uniformly random moves until the game is over.
+     *
+     * @param random the random source.
+     * @return the winner, or -1 in the case of a draw.
+     */
+    default int playout(Random random) {
+        while (!isTerminal()) applyRandomMove(random);
+        return winner();
+    }
+}
@@ -0,0 +1,149 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Root-parallel Monte Carlo Tree Search.
+ * <p>
+ * Each decision runs one independent UCTSearch per worker, every worker with its own tree and its own FastRandom,
+ * all starting from the same State. When the workers are done, the statistics of the root's children are summed
+ * (move by move) and the most visited move is chosen.
+ * Since the workers share nothing, iterations per second scale with the number of cores.
+ * <p>
+ * With a fixed seed, the result of each decision is deterministic, regardless of thread scheduling.
+ *
+ * @param <G> the type of the Game.
+ */
+public class RootParallelMCTS<G extends Game> implements AutoCloseable {
+
+    /**
+     * Primary constructor.
+     *
+     * @param nodeFactory a function which creates a root Node for a State (e.g. s -> new TicTacToeNode(s, null)).
+     * @param threads     the number of workers (and threads).
+     * @param seed        the seed of the FastRandom from which that of each worker (for each decision) is split.
+     */
+    public RootParallelMCTS(Function<State<G>, Node<G>> nodeFactory, int threads, long seed) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive: " + threads);
+        this.nodeFactory = nodeFactory;
+        this.threads = threads;
+        this.seeds = new FastRandom(seed);
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "mcts-root-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Secondary constructor which uses the current time as seed.
+     *
+     * @param nodeFactory a function which creates a root Node for a State.
+     * @param threads     the number of workers (and threads).
+     */
+    public RootParallelMCTS(Function<State<G>, Node<G>> nodeFactory, int threads) {
+        this(nodeFactory, threads, System.currentTimeMillis());
+    }
+
+    /**
+     * Secondary constructor which uses one worker per available processor.
+     *
+     * @param nodeFactory a function which creates a root Node for a State.
+     */
+    public RootParallelMCTS(Function<State<G>, Node<G>> nodeFactory) {
+        this(nodeFactory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Search from the given state.
+     * The iterations are shared out as evenly as possible between the workers.
+     *
+     * @param state      a non-terminal State.
+     * @param iterations the total number of iterations (over all workers).
+     * @return the merged SearchResult.
+     */
+    public SearchResult<G> search(State<G> state, int iterations) {
+        return search(state, SearchBudget.iterations(iterations));
+    }
+
+    /**
+     * Search from the given state until the budget is exhausted or stop is called.
+     * The iterations and nodes of the budget are shared out between the workers; a time limit applies to each of them.
+     *
+     * @param state  a non-terminal State.
+     * @param budget the SearchBudget for the whole search.
+     * @return the merged SearchResult.
+     */
+    public SearchResult<G> search(State<G> state, SearchBudget budget) {
+        if (state.isTerminal()) throw new IllegalArgumentException("cannot search from a terminal state");
+        long start = System.nanoTime();
+        List<UCTSearch<G>> searches = new ArrayList<>(threads);
+        for (int w = 0; w < threads; w++)
+            searches.add(new UCTSearch<>(nodeFactory.apply(state), seeds.split()));
+        running = searches;
+        List<Future<SearchResult<G>>> futures = new ArrayList<>(threads);
+        for (int w = 0; w < threads; w++) {
+            UCTSearch<G> search = searches.get(w);
+            SearchBudget share = budget.share(w, threads);
+            futures.add(executor.submit(() -> search.search(share)));
+        }
+        List<Move<G>> moves = List.copyOf(state.moves(state.player()));
+        int[] wins = new int[moves.size()];
+        int[] playouts = new int[moves.size()];
+        long iterations = 0;
+        try {
+            for (int w = 0; w < threads; w++) {
+                iterations += await(futures.get(w)).iterations();
+                SearchResult.accumulate(searches.get(w).root(), wins, playouts);
+            }
+        } finally {
+            running = List.of();
+        }
+        return new SearchResult<>(state, moves, wins, playouts, iterations, System.nanoTime() - start);
+    }
+
+    /**
+     * Ask a running search to stop: every worker finishes its current iteration and the merged result is returned.
+     * This method may be called from any thread.
+     */
+    public void stop() {
+        for (UCTSearch<G> search : running) search.stop();
+    }
+
+    /**
+     * @return the number of workers.
+     */
+    public int threads() {
+        return threads;
+    }
+
+    /**
+     * Shut down the worker threads.
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted while waiting for a search worker", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("search worker failed", e.getCause());
+        }
+    }
+
+    private final Function<State<G>, Node<G>> nodeFactory;
+    private final int threads;
+    private final FastRandom seeds;
+    private final ExecutorService executor;
+    private volatile List<UCTSearch<G>> running = List.of();
+}
@@ -0,0 +1,45 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Random;
+
+/**
+ * An Agent which chooses each move by a new ArrayUCTSearch with a given SelectionPolicy and number of iterations.
+ * The SelectionPolicy is shared by the searches of all the games in which the agent plays (the policies of this
+ * package keep no state).
+ *
+ * @param <G> the type of the Game.
+ */
+public class SearchAgent<G extends Game> implements Agent<G> {
+
+    /**
+     * Constructor.
+     *
+     * @param name       the name of this Agent.
+     * @param policy     the SelectionPolicy of its searches.
+     * @param iterations the number of iterations of each search.
+     */
+    public SearchAgent(String name, SelectionPolicy policy, int iterations) {
+        if (iterations < 1) throw new IllegalArgumentException("iterations must be positive: " + iterations);
+        this.name = name;
+        this.policy = policy;
+        this.iterations = iterations;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public State<G> play(State<G> state, Random random) {
+        ArrayUCTSearch<G> search = new ArrayUCTSearch<>(state, new ArrayTree(), random, policy);
+        return search.search(SearchBudget.iterations(iterations)).bestState();
+    }
+
+    @Override
+    public String toString() {
+        return "SearchAgent{name=" + name + ", policy=" + policy + ", iterations=" + iterations + '}';
+    }
+
+    private final String name;
+    private final SelectionPolicy policy;
+    private final int iterations;
+}
@@ -0,0 +1,194 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class defines how much effort a search may spend on one decision: a number of iterations, a number of nodes
+ * and/or an amount of wall-clock time. The search stops as soon as any one of these limits is reached.
+ * <p>
+ * A SearchBudget is immutable; the progress of an actual search against it is kept by a Tracker (see start).
+ */
+public class SearchBudget {
+
+    /**
+     * The clock is only read once every CLOCK_INTERVAL iterations (a power of two).
+     */
+    public static final int CLOCK_INTERVAL = 8;
+
+    /**
+     * @param iterations the maximum number of iterations.
+     * @return a SearchBudget limited only by iterations.
+     */
+    public static SearchBudget iterations(long iterations) {
+        return new SearchBudget(iterations, UNLIMITED, UNLIMITED);
+    }
+
+    /**
+     * @param nodes the maximum number of nodes to be added to the tree.
+     * @return a SearchBudget limited only by nodes.
+     */
+    public static SearchBudget nodes(long nodes) {
+        return new SearchBudget(UNLIMITED, nodes, UNLIMITED);
+    }
+
+    /**
+     * @param millis the maximum wall-clock time in milliseconds.
+     * @return a SearchBudget limited only by time.
+     */
+    public static SearchBudget millis(long millis) {
+        return new SearchBudget(UNLIMITED, UNLIMITED, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Primary constructor. Use UNLIMITED for any limit which does not apply.
+     *
+     * @param iterations the maximum number of iterations.
+     * @param nodes      the maximum number of nodes to be added to the tree.
+     * @param nanos      the maximum wall-clock time in nanoseconds.
+     */
+    public SearchBudget(long iterations, long nodes, long nanos) {
+        if (iterations < 0 || nodes < 0 || nanos < 0) throw new IllegalArgumentException("negative budget");
+        if (iterations == UNLIMITED && nodes == UNLIMITED && nanos == UNLIMITED)
+            throw new IllegalArgumentException("a SearchBudget must have at least one limit");
+        this.iterations = iterations;
+        this.nodes = nodes;
+        this.nanos = nanos;
+    }
+
+    /**
+     * @param millis the maximum wall-clock time in milliseconds.
+     * @return a copy of this SearchBudget which is also limited by time.
+     */
+    public SearchBudget withMillis(long millis) {
+        return new SearchBudget(iterations, nodes, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Method to yield the share of this budget for one of several workers which search in parallel.
+     * The iterations and nodes are divided as evenly as possible; the time limit applies to every worker.
+     *
+     * @param worker  the index of the worker.
+     * @param workers the number of workers.
+     * @return the share of this budget for worker.
+     */
+    public SearchBudget share(int worker, int workers) {
+        return new SearchBudget(divide(iterations, worker, workers), divide(nodes, worker, workers), nanos);
+    }
+
+    /**
+     * Start the clock on this budget.
+     *
+     * @return a new Tracker.
+     */
+    public Tracker start() {
+        return new Tracker();
+    }
+
+    public long iterations() {
+        return iterations;
+    }
+
+    public long nodes() {
+        return nodes;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchBudget{iterations=" + show(iterations) + ", nodes=" + show(nodes) + ", nanos=" + show(nanos) + '}';
+    }
+
+    /**
+     * The progress of one search against its budget.
+     * A Tracker is used by the searching thread, except for stop, which may be called from any thread.
+     */
+    public class Tracker {
+
+        /**
+         * Method to determine whether another iteration may be run, which (if so) is counted.
+         * The clock is only consulted every CLOCK_INTERVAL iterations; the interrupt status of the current thread
+         * is checked at the same time.
+         *
+         * @return true if the search should run another iteration.
+         */
+        public boolean proceed() {
+            if (stopped || count >= iterations || added >= nodes) return false;
+            if ((count & (CLOCK_INTERVAL - 1)) == 0 && (System.nanoTime() >= deadline || Thread.currentThread().isInterrupted())) {
+                stopped = true;
+                return false;
+            }
+            count++;
+            return true;
+        }
+
+        /**
+         * Record that nodes have been added to the tree.
+         *
+         * @param n the number of nodes added.
+         */
+        public void addNodes(int n) {
+            added += n;
+        }
+
+        /**
+         * Ask the search to stop at its next check; it will then return the best move found so far.
+         * This method may be called from any thread.
+         */
+        public void stop() {
+            stopped = true;
+        }
+
+        /**
+         * @return the number of iterations counted so far.
+         */
+        public long iterations() {
+            return count;
+        }
+
+        /**
+         * @return the number of nodes added so far.
+         */
+        public long nodes() {
+            return added;
+        }
+
+        /**
+         * @return the number of nanoseconds since this Tracker was started.
+         */
+        public long elapsed() {
+            return System.nanoTime() - begin;
+        }
+
+        private Tracker() {
+            begin = System.nanoTime();
+            deadline = nanos == UNLIMITED ? Long.MAX_VALUE : begin + nanos;
+        }
+
+        private final long begin;
+        private final long deadline;
+        private long count = 0;
+        private long added = 0;
+        private volatile boolean stopped = false;
+    }
+
+    /**
+     * The value of a limit which does not apply.
+     */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private static long divide(long x, int worker, int workers) {
+        if (x == UNLIMITED) return UNLIMITED;
+        return x / workers + (worker < x % workers ? 1 : 0);
+    }
+
+    private static String show(long x) {
+        return x == UNLIMITED ? "unlimited" : Long.toString(x);
+    }
+
+    private final long iterations;
+    private final long nodes;
+    private final long nanos;
+}
@@ -0,0 +1,162 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.List;
+
+/**
+ * This class represents the outcome of a search from a given State: the statistics of each of the moves available at
+ * the root, together with the effort that was spent to obtain them.
+ * <p>
+ * The i-th element of wins and playouts corresponds to the i-th element of moves.
+ *
+ * @param <G> the type of the Game.
+ */
+public class SearchResult<G extends Game> {
+
+    /**
+     * @return the State which was searched.
+     */
+    public State<G> state() {
+        return state;
+    }
+
+    /**
+     * @return the moves available at the root, in the order given by State.moves.
+     */
+    public List<Move<G>> moves() {
+        return moves;
+    }
+
+    /**
+     * @param i the index of a move.
+     * @return the wins (a win is worth 2, a draw 1) credited to the i-th move.
+     */
+    public int wins(int i) {
+        return wins[i];
+    }
+
+    /**
+     * @param i the index of a move.
+     * @return the playouts credited to the i-th move.
+     */
+    public int playouts(int i) {
+        return playouts[i];
+    }
+
+    /**
+     * Method to yield the index of the most visited move (ties are broken by wins, then by the lower index).
+     *
+     * @return the index of the best move.
+     */
+    public int bestIndex() {
+        if (moves.isEmpty()) throw new IllegalStateException("no moves available from " + state);
+        int best = 0;
+        for (int i = 1; i < moves.size(); i++)
+            if (playouts[i] > playouts[best] || playouts[i] == playouts[best] && wins[i] > wins[best]) best = i;
+        return best;
+    }
+
+    /**
+     * @return the most visited move.
+     */
+    public Move<G> bestMove() {
+        return moves.get(bestIndex());
+    }
+
+    /**
+     * @return the State which follows the best move.
+     */
+    public State<G> bestState() {
+        return state.next(bestMove());
+    }
+
+    /**
+     * @return the total number of iterations which contributed to this result.
+     */
+    public long iterations() {
+        return iterations;
+    }
+
+    /**
+     * @return the elapsed (wall-clock) time of the search in nanoseconds.
+     */
+    public long nanos() {
+        return nanos;
+    }
+
+    /**
+     * @return the number of iterations per second of wall-clock time.
+     */
+    public double iterationsPerSecond() {
+        return nanos == 0 ? 0 : iterations * 1E9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SearchResult{");
+        for (int i = 0; i < moves.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(i).append(": ").append(wins[i]).append('/').append(playouts[i]);
+        }
+        return sb.append("; iterations=").append(iterations).append(", nanos=").append(nanos).append('}').toString();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param state      the State which was searched.
+     * @param moves      the moves available from state.
+     * @param wins       the wins credited to each move.
+     * @param playouts   the playouts credited to each move.
+     * @param iterations the total number of iterations.
+     * @param nanos      the elapsed time in nanoseconds.
+     */
+    public SearchResult(State<G> state, List<Move<G>> moves, int[] wins, int[] playouts, long iterations, long nanos) {
+        this.state = state;
+        this.moves = moves;
+        this.wins = wins;
+        this.playouts = playouts;
+        this.iterations = iterations;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Method to create a SearchResult from the children of a searched root.
+     * The children of root are expected to be in the order of State.moves (as arranged by UCTSearch).
+     *
+     * @param root       the root node.
+     * @param iterations the number of iterations.
+     * @param nanos      the elapsed time in nanoseconds.
+     * @return a new SearchResult.
+     */
+    public static <G extends Game> SearchResult<G> fromRoot(Node<G> root, long iterations, long nanos) {
+        State<G> state = root.state();
+        List<Move<G>> moves = List.copyOf(state.moves(state.player()));
+        int[] wins = new int[moves.size()];
+        int[] playouts = new int[moves.size()];
+        accumulate(root, wins, playouts);
+        return new SearchResult<>(state, moves, wins, playouts, iterations, nanos);
+    }
+
+    /**
+     * Add the statistics of the children of root to wins and playouts.
+     *
+     * @param root     a root node whose children are in the order of State.moves.
+     * @param wins     the array of wins to be updated.
+     * @param playouts the array of playouts to be updated.
+     */
+    static <G extends Game> void accumulate(Node<G> root, int[] wins, int[] playouts) {
+        int i = 0;
+        for (Node<G> child : root.children()) {
+            wins[i] += child.wins();
+            playouts[i] += child.playouts();
+            i++;
+        }
+    }
+
+    private final State<G> state;
+    private final List<Move<G>> moves;
+    private final int[] wins;
+    private final int[] playouts;
+    private final long iterations;
+    private final long nanos;
+}
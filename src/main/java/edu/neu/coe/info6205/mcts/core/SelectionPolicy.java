@@ -0,0 +1,113 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Random;
+
+/**
+ * This interface defines the behavior of a SelectionPolicy, i.e. the rule by which a search chooses which child of a
+ * node to descend into (the "tree policy").
+ * <p>
+ * A policy sees the children of a node only through their statistics (see Children), so the same policy can be used
+ * with a tree of Node objects or with an ArrayTree.
+ * The policy to be used can be chosen at runtime by name (see valueOf).
+ */
+public interface SelectionPolicy {
+
+    /**
+     * Method to choose one of the children of a node.
+     *
+     * @param children the statistics of the children (there is at least one).
+     * @param random   a random source (for policies which are not deterministic).
+     * @return the index of the chosen child.
+     */
+    int select(Children children, Random random);
+
+    /**
+     * @return true if this policy uses the All-Moves-As-First statistics of the children (see Children.amafWins),
+     * so that a search should keep them (if it can).
+     */
+    default boolean usesAmaf() {
+        return false;
+    }
+
+    /**
+     * The statistics of the children of a node, as seen by a SelectionPolicy.
+     * Wins are from the point of view of the player who moved into each child, a win being worth 2 and a draw 1.
+     */
+    interface Children {
+        /**
+         * @return the number of children.
+         */
+        int size();
+
+        /**
+         * @return the playouts of the parent.
+         */
+        int parentPlayouts();
+
+        /**
+         * @param i the index of a child.
+         * @return the wins of the i-th child.
+         */
+        int wins(int i);
+
+        /**
+         * @param i the index of a child.
+         * @return the playouts of the i-th child.
+         */
+        int playouts(int i);
+
+        /**
+         * The prior probability that the i-th move is the best, for policies which use priors (e.g. PUCT).
+         * By default, all moves are equally likely.
+         *
+         * @param i the index of a child.
+         * @return the prior of the i-th child.
+         */
+        default double prior(int i) {
+            return 1.0 / size();
+        }
+
+        /**
+         * The All-Moves-As-First wins of the i-th child: the wins of the playouts through the parent in which the
+         * move to the i-th child was made at any time by the player to move at the parent (for policies such as RAVE).
+         * By default, there are no AMAF statistics.
+         *
+         * @param i the index of a child.
+         * @return the AMAF wins of the i-th child.
+         */
+        default int amafWins(int i) {
+            return 0;
+        }
+
+        /**
+         * @param i the index of a child.
+         * @return the AMAF playouts of the i-th child (see amafWins).
+         */
+        default int amafPlayouts(int i) {
+            return 0;
+        }
+    }
+
+    /**
+     * Method to yield a SelectionPolicy (with its default parameters) by name.
+     *
+     * @param name one of "ucb1", "ucb1-tuned", "puct", "thompson" or "rave" (case is ignored).
+     * @return a new SelectionPolicy.
+     */
+    static SelectionPolicy valueOf(String name) {
+        switch (name.toLowerCase()) {
+            case "ucb1":
+                return new UCB1();
+            case "ucb1-tuned":
+                return new UCB1Tuned();
+            case "puct":
+                return new PUCT();
+            case "thompson":
+                return new ThompsonSampling();
+            case "rave":
+                return new RAVE();
+            default:
+                throw new IllegalArgumentException("unknown selection policy: " + name);
+        }
+    }
+}
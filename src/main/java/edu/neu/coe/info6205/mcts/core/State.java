@@ -67,6 +67,63 @@ public interface State<G extends Game> {
      */
     State<G> next(Move<G> move);
 
+    /**
+     * Method to yield a 64-bit hash of this State, for use as a key in a transposition table.
+     * Equal states must have equal hashes.
+     * NOTE: the default is derived from hashCode; implementations should override it with an incremental
+     * (Zobrist) hash which is maintained by next.
+     *
+     * @return the hash of this State.
+     */
+    default long hash() {
+        return Zobrist.key(hashCode());
+    }
+
+    /**
+     * Method to yield the hash of the State which would follow the given move, i.e. next(move).hash().
+     * Implementations with an incremental hash should override this so that no State is created.
+     *
+     * @param move the move.
+     * @return the hash of the next State.
+     */
+    default long nextHash(Move<G> move) {
+        return next(move).hash();
+    }
+
+    /**
+     * Method to yield a 64-bit hash which is the same for this State and for every State equivalent to it under the
+     * symmetries of the game (e.g. the rotations and reflections of a board).
+     * Equivalent states have the same value, so a search may use this hash to share statistics between them.
+     * NOTE: the default assumes that the game has no symmetries.
+     *
+     * @return the canonical hash of this State.
+     */
+    default long canonicalHash() {
+        return hash();
+    }
+
+    /**
+     * Method to yield the canonical hash of the State which would follow the given move, i.e. next(move).canonicalHash().
+     *
+     * @param move the move.
+     * @return the canonical hash of the next State.
+     */
+    default long nextCanonicalHash(Move<G> move) {
+        return next(move).canonicalHash();
+    }
+
+    /**
+     * Method to yield a new Rollout, i.e. a mutable scratch copy of a State on which playouts can be run in place.
+     * The Rollout must be reset (to this or any other State of the game) before it is used.
+     * NOTE: the default is implemented with next, so it creates a State for every move;
+     * games should override it with a Rollout which creates no garbage.
+     *
+     * @return a new Rollout for this game.
+     */
+    default Rollout<G> rollout() {
+        return new StateRollout<>();
+    }
+
     /**
      * Method to yield a (random) iterator of moves for the given player.
      *
@@ -0,0 +1,66 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The default Rollout (see State.rollout), for games which do not provide their own:
+ * it simply keeps the stack of States created by State.next, so (unlike a game-specific Rollout) it does allocate.
+ *
+ * @param <G> the type of game.
+ */
+class StateRollout<G extends Game> implements Rollout<G> {
+
+    public void reset(State<G> state) {
+        states.clear();
+        states.add(state);
+        moves = null;
+    }
+
+    public boolean isTerminal() {
+        return current().isTerminal();
+    }
+
+    public int player() {
+        return current().player();
+    }
+
+    public int moves() {
+        return moveList().size();
+    }
+
+    public void apply(int index) {
+        State<G> state = current();
+        states.add(state.next(moveList().get(index)));
+        moves = null;
+    }
+
+    public void undo() {
+        if (states.size() < 2) throw new IllegalStateException("no move to undo");
+        states.remove(states.size() - 1);
+        moves = null;
+    }
+
+    public int depth() {
+        return states.size() - 1;
+    }
+
+    public int winner() {
+        return current().winner().orElse(-1);
+    }
+
+    private State<G> current() {
+        return states.get(states.size() - 1);
+    }
+
+    private List<Move<G>> moveList() {
+        if (moves == null) {
+            State<G> state = current();
+            moves = new ArrayList<>(state.moves(state.player()));
+        }
+        return moves;
+    }
+
+    private final List<State<G>> states = new ArrayList<>();
+    private List<Move<G>> moves;
+}
@@ -0,0 +1,332 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * This class records what a search did for one decision: its iterations and rollouts (and their rates), the depth of
+ * the nodes reached, the nodes added, the time spent in each phase of an iteration, the shape of the tree and the
+ * distribution of visits among the children of the root.
+ * <p>
+ * A search which supports telemetry keeps a (possibly null) Telemetry and, only if it is not null, calls start
+ * before its first iteration, enter at the start of each phase, iteration at the end of each iteration and finish
+ * after its last iteration. A search without telemetry therefore pays only for a few null checks per iteration.
+ * <p>
+ * A Telemetry is used by one searching thread at a time; the Snapshot of each decision is immutable and is handed to
+ * the sink (if any) by finish.
+ */
+public class Telemetry {
+
+    /**
+     * The phases of an iteration.
+     */
+    public enum Phase {SELECT, EXPAND, SIMULATE, BACKPROPAGATE}
+
+    /**
+     * Primary constructor.
+     *
+     * @param sink the consumer of the Snapshot of each decision (or null if only the last Snapshot is wanted).
+     */
+    public Telemetry(Consumer<Snapshot> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Constructor for a Telemetry which only keeps the last Snapshot.
+     */
+    public Telemetry() {
+        this(null);
+    }
+
+    /**
+     * Begin the record of a decision (discarding any record in progress).
+     */
+    public void start() {
+        begin = mark = System.nanoTime();
+        phase = null;
+        iterations = rollouts = nodes = depths = 0;
+        maxDepth = 0;
+        Arrays.fill(histogram, 0);
+        Arrays.fill(phaseNanos, 0);
+    }
+
+    /**
+     * Enter a phase of the current iteration: the time since the previous phase was entered is charged to it.
+     *
+     * @param next the Phase which begins.
+     */
+    public void enter(Phase next) {
+        long now = System.nanoTime();
+        if (phase != null) phaseNanos[phase.ordinal()] += now - mark;
+        mark = now;
+        phase = next;
+    }
+
+    /**
+     * End the current iteration (and its current phase).
+     *
+     * @param node    the node from which the playout of the iteration was made.
+     * @param rollout true if a playout was actually made (i.e. the state of node was not terminal).
+     */
+    public void iteration(Node<?> node, boolean rollout) {
+        enter(null);
+        int depth = 0;
+        for (Node<?> current = node.getParent(); current != null; current = current.getParent()) depth++;
+        if (depth >= histogram.length) histogram = Arrays.copyOf(histogram, Math.max(depth + 1, 2 * histogram.length));
+        histogram[depth]++;
+        depths += depth;
+        maxDepth = Math.max(maxDepth, depth);
+        iterations++;
+        if (rollout) rollouts++;
+    }
+
+    /**
+     * Record that nodes have been added to the tree.
+     *
+     * @param n the number of nodes added.
+     */
+    public void addNodes(int n) {
+        nodes += n;
+    }
+
+    /**
+     * End the record of a decision: the tree under root is measured, and the Snapshot is kept (see last) and handed
+     * to the sink.
+     *
+     * @param root the root of the tree which was searched.
+     * @return the Snapshot.
+     */
+    public Snapshot finish(Node<?> root) {
+        long nanos = System.nanoTime() - begin;
+        int[] visits = new int[root.children().size()];
+        int i = 0;
+        for (Node<?> child : root.children()) visits[i++] = child.playouts();
+        // the tree is walked without recursion, since it may be deep
+        long treeNodes = 0, internal = 0, branches = 0;
+        int maxBranching = 0;
+        Deque<Node<?>> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node<?> node = stack.pop();
+            treeNodes++;
+            int children = node.children().size();
+            if (children > 0) {
+                internal++;
+                branches += children;
+                maxBranching = Math.max(maxBranching, children);
+                for (Node<?> child : node.children()) stack.push(child);
+            }
+        }
+        Snapshot snapshot = new Snapshot(iterations, rollouts, nanos, nodes, iterations == 0 ? 0 : (double) depths / iterations,
+                maxDepth, Arrays.copyOf(histogram, iterations == 0 ? 0 : maxDepth + 1), phaseNanos.clone(), visits,
+                treeNodes, internal == 0 ? 0 : (double) branches / internal, maxBranching);
+        last = snapshot;
+        if (sink != null) sink.accept(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * @return the Snapshot of the last decision to be finished (or null if there is none).
+     */
+    public Snapshot last() {
+        return last;
+    }
+
+    /**
+     * The record of one decision.
+     */
+    public static class Snapshot {
+
+        /**
+         * @return the number of iterations.
+         */
+        public long iterations() {
+            return iterations;
+        }
+
+        /**
+         * @return the number of playouts (iterations whose selected node was not terminal).
+         */
+        public long rollouts() {
+            return rollouts;
+        }
+
+        /**
+         * @return the wall-clock time of the decision, in nanoseconds.
+         */
+        public long nanos() {
+            return nanos;
+        }
+
+        /**
+         * @return the number of iterations per second.
+         */
+        public double iterationsPerSecond() {
+            return nanos == 0 ? 0 : iterations * 1e9 / nanos;
+        }
+
+        /**
+         * @return the number of playouts per second.
+         */
+        public double rolloutsPerSecond() {
+            return nanos == 0 ? 0 : rollouts * 1e9 / nanos;
+        }
+
+        /**
+         * @return the number of nodes added to the tree.
+         */
+        public long nodes() {
+            return nodes;
+        }
+
+        /**
+         * @return the mean depth (below the root) of the nodes from which playouts were made.
+         */
+        public double meanDepth() {
+            return meanDepth;
+        }
+
+        /**
+         * @return the greatest depth of a node from which a playout was made.
+         */
+        public int maxDepth() {
+            return maxDepth;
+        }
+
+        /**
+         * @param depth a depth below the root.
+         * @return the number of iterations whose playout was made from a node at that depth.
+         */
+        public int depthCount(int depth) {
+            return depth < histogram.length ? histogram[depth] : 0;
+        }
+
+        /**
+         * @param phase a Phase.
+         * @return the total time spent in that phase, in nanoseconds.
+         */
+        public long phaseNanos(Phase phase) {
+            return phaseNanos[phase.ordinal()];
+        }
+
+        /**
+         * @return the number of children of the root.
+         */
+        public int rootChildren() {
+            return rootVisits.length;
+        }
+
+        /**
+         * @param i the index of a child of the root (in the order of its children).
+         * @return the playouts of that child.
+         */
+        public int rootVisits(int i) {
+            return rootVisits[i];
+        }
+
+        /**
+         * @return the number of nodes in the tree at the end of the decision.
+         */
+        public long treeNodes() {
+            return treeNodes;
+        }
+
+        /**
+         * @return the mean number of children of the nodes of the tree which have children.
+         */
+        public double meanBranching() {
+            return meanBranching;
+        }
+
+        /**
+         * @return the greatest number of children of a node of the tree.
+         */
+        public int maxBranching() {
+            return maxBranching;
+        }
+
+        /**
+         * @return this Snapshot as a JSON object (on one line).
+         */
+        public String toJson() {
+            StringBuilder sb = new StringBuilder("{");
+            sb.append("\"iterations\":").append(iterations);
+            sb.append(",\"rollouts\":").append(rollouts);
+            sb.append(",\"nanos\":").append(nanos);
+            sb.append(",\"iterationsPerSecond\":").append(Math.round(iterationsPerSecond()));
+            sb.append(",\"rolloutsPerSecond\":").append(Math.round(rolloutsPerSecond()));
+            sb.append(",\"nodes\":").append(nodes);
+            sb.append(",\"meanDepth\":").append(String.format(Locale.ROOT, "%.3f", meanDepth));
+            sb.append(",\"maxDepth\":").append(maxDepth);
+            sb.append(",\"depthHistogram\":").append(Arrays.toString(histogram).replace(" ", ""));
+            sb.append(",\"phaseNanos\":{");
+            for (Phase phase : Phase.values())
+                sb.append(phase.ordinal() == 0 ? "" : ",").append('"').append(phase.name().toLowerCase()).append("\":").append(phaseNanos[phase.ordinal()]);
+            sb.append("},\"rootVisits\":").append(Arrays.toString(rootVisits).replace(" ", ""));
+            sb.append(",\"treeNodes\":").append(treeNodes);
+            sb.append(",\"meanBranching\":").append(String.format(Locale.ROOT, "%.3f", meanBranching));
+            sb.append(",\"maxBranching\":").append(maxBranching);
+            return sb.append('}').toString();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d iterations (%,.0f/s), %,d rollouts (%,.0f/s), %,d nodes added; depth %.2f mean, %d max; " +
+                            "tree %,d nodes, branching %.2f mean, %d max; select/expand/simulate/backpropagate %d/%d/%d/%d%%; root visits %s",
+                    iterations, iterationsPerSecond(), rollouts, rolloutsPerSecond(), nodes, meanDepth, maxDepth,
+                    treeNodes, meanBranching, maxBranching, percent(Phase.SELECT), percent(Phase.EXPAND),
+                    percent(Phase.SIMULATE), percent(Phase.BACKPROPAGATE), Arrays.toString(rootVisits));
+        }
+
+        Snapshot(long iterations, long rollouts, long nanos, long nodes, double meanDepth, int maxDepth, int[] histogram,
+                 long[] phaseNanos, int[] rootVisits, long treeNodes, double meanBranching, int maxBranching) {
+            this.iterations = iterations;
+            this.rollouts = rollouts;
+            this.nanos = nanos;
+            this.nodes = nodes;
+            this.meanDepth = meanDepth;
+            this.maxDepth = maxDepth;
+            this.histogram = histogram;
+            this.phaseNanos = phaseNanos;
+            this.rootVisits = rootVisits;
+            this.treeNodes = treeNodes;
+            this.meanBranching = meanBranching;
+            this.maxBranching = maxBranching;
+        }
+
+        private long percent(Phase phase) {
+            long total = 0;
+            for (long x : phaseNanos) total += x;
+            return total == 0 ? 0 : Math.round(100.0 * phaseNanos[phase.ordinal()] / total);
+        }
+
+        private final long iterations;
+        private final long rollouts;
+        private final long nanos;
+        private final long nodes;
+        private final double meanDepth;
+        private final int maxDepth;
+        private final int[] histogram;
+        private final long[] phaseNanos;
+        private final int[] rootVisits;
+        private final long treeNodes;
+        private final double meanBranching;
+        private final int maxBranching;
+    }
+
+    private final Consumer<Snapshot> sink;
+    private long begin;
+    private long mark;
+    private Phase phase;
+    private long iterations;
+    private long rollouts;
+    private long nodes;
+    private long depths;
+    private int maxDepth;
+    private int[] histogram = new int[16];
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private volatile Snapshot last;
+}
@@ -0,0 +1,67 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Random;
+
+/**
+ * The Thompson-sampling selection policy: for each child, a reward is drawn from the Beta posterior of its mean reward
+ * (with a uniform prior) and the child with the greatest draw is chosen.
+ * Since a draw scores half a win, the posterior of a child with w wins (a win being worth 2) and n playouts is taken to
+ * be Beta(1 + w/2, 1 + n - w/2).
+ */
+public class ThompsonSampling implements SelectionPolicy {
+
+    public int select(Children children, Random random) {
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < children.size(); i++) {
+            double successes = children.wins(i) / 2.0;
+            double value = beta(1 + successes, 1 + children.playouts(i) - successes, random);
+            if (value > bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String toString() {
+        return "Thompson";
+    }
+
+    /**
+     * Method to draw from a Beta distribution.
+     *
+     * @param a      the first shape parameter (at least 1).
+     * @param b      the second shape parameter (at least 1).
+     * @param random the random source.
+     * @return a number between 0 and 1.
+     */
+    static double beta(double a, double b, Random random) {
+        double x = gamma(a, random);
+        double y = gamma(b, random);
+        return x / (x + y);
+    }
+
+    /**
+     * Method to draw from a Gamma distribution with unit scale, by the method of Marsaglia and Tsang.
+     *
+     * @param shape  the shape parameter (at least 1).
+     * @param random the random source.
+     * @return a positive number.
+     */
+    static double gamma(double shape, Random random) {
+        double d = shape - 1.0 / 3;
+        double c = 1 / Math.sqrt(9 * d);
+        while (true) {
+            double x, v;
+            do {
+                x = random.nextGaussian();
+                v = 1 + c * x;
+            } while (v <= 0);
+            v = v * v * v;
+            double u = random.nextDouble();
+            if (u < 1 - 0.0331 * x * x * x * x || Math.log(u) < 0.5 * x * x + d * (1 - v + Math.log(v))) return d * v;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A round-robin tournament between Agents, whose games are played concurrently by a pool of threads.
+ * <p>
+ * Each pair of agents plays the same number of games, each agent of the pair moving first in half of them.
+ * Every game has its own seed (derived, before any game is played, from the seed of the tournament), so the results
+ * are the same whatever the number of threads, provided that the agents choose their moves only by their Random.
+ * <p>
+ * The results can be written as CSV (one line per game) and summarized as standings: the score of each agent
+ * (a win counting 1 and a draw 1/2) and its Elo rating, each with a 95% confidence interval.
+ *
+ * @param <G> the type of the Game.
+ */
+public class Tournament<G extends Game> {
+
+    /**
+     * Constructor.
+     *
+     * @param game         the Game (which is played from its start state).
+     * @param agents       the Agents (at least two, with different names).
+     * @param gamesPerPair the number of games between each pair of agents (an even number keeps the colours balanced).
+     * @param seed         the seed from which the seed of each game is derived.
+     */
+    public Tournament(Game<G> game, List<Agent<G>> agents, int gamesPerPair, long seed) {
+        if (agents.size() < 2) throw new IllegalArgumentException("a tournament needs at least two agents");
+        if (gamesPerPair < 1) throw new IllegalArgumentException("gamesPerPair must be positive: " + gamesPerPair);
+        this.game = game;
+        this.agents = List.copyOf(agents);
+        this.gamesPerPair = gamesPerPair;
+        this.seed = seed;
+    }
+
+    /**
+     * Play all the games of this tournament.
+     *
+     * @param threads the number of games to be played at once.
+     * @return the Results, in the order of the games (i.e. independent of the number of threads).
+     */
+    public List<Result> play(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive: " + threads);
+        Random seeds = new Random(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "tournament-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            int index = 0;
+            for (int a = 0; a < agents.size(); a++)
+                for (int b = a + 1; b < agents.size(); b++)
+                    for (int i = 0; i < gamesPerPair; i++) {
+                        int first = i % 2 == 0 ? a : b;
+                        int second = i % 2 == 0 ? b : a;
+                        int number = index++;
+                        long gameSeed = seeds.nextLong();
+                        futures.add(executor.submit(() -> play(number, first, second, gameSeed)));
+                    }
+            List<Result> results = new ArrayList<>(futures.size());
+            for (Future<Result> future : futures) results.add(await(future));
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Play one game.
+     *
+     * @param number the number of the game in this tournament.
+     * @param first  the index of the agent which moves first.
+     * @param second the index of the other agent.
+     * @param seed   the seed of the game.
+     * @return the Result.
+     */
+    Result play(int number, int first, int second, long seed) {
+        Random random = new Random(seed);
+        long start = System.nanoTime();
+        State<G> state = game.start();
+        int opener = state.player();
+        int moves = 0;
+        while (!state.isTerminal()) {
+            state = agents.get(state.player() == opener ? first : second).play(state, random);
+            moves++;
+        }
+        double score = state.winner().map(w -> w == opener ? 1.0 : 0.0).orElse(0.5);
+        return new Result(number, first, second, score, moves, System.nanoTime() - start, seed);
+    }
+
+    /**
+     * Write the results as CSV, with a header line; every line ends with "\n", whatever the platform.
+     * The columns are: game, first, second (the names of the agents), score (of the first agent: 1, 0.5 or 0), moves,
+     * millis (the time taken by the game) and seed.
+     *
+     * @param results the Results of this tournament.
+     * @param writer  the Writer (which is not closed).
+     * @throws IOException if the Writer fails.
+     */
+    public void writeCsv(List<Result> results, Writer writer) throws IOException {
+        writer.write("game,first,second,score,moves,millis,seed\n");
+        for (Result result : results)
+            writer.write(String.format("%d,%s,%s,%s,%d,%.3f,%d\n", result.game, csv(agents.get(result.first).name()),
+                    csv(agents.get(result.second).name()), result.score == 0.5 ? "0.5" : result.score == 1 ? "1" : "0",
+                    result.moves, result.nanos / 1e6, result.seed));
+    }
+
+    /**
+     * Write the results as CSV to a file (see writeCsv(List, Writer)).
+     *
+     * @param results the Results of this tournament.
+     * @param path    the Path of the file (which is replaced).
+     * @throws IOException if the file cannot be written.
+     */
+    public void writeCsv(List<Result> results, Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            writeCsv(results, writer);
+        }
+    }
+
+    /**
+     * Method to summarize the results.
+     * <p>
+     * The Elo ratings are those of the Bradley-Terry model which best fits all the games (a draw counting as half a
+     * win for each side), found by the minorization-maximization algorithm of Hunter (2004), and shifted so that their
+     * mean is zero. So that the ratings of an agent which wins (or loses) every game stay finite, each agent is also
+     * taken to have drawn one game against a virtual opponent rated at the mean.
+     * The interval of a rating is the interval of the agent's score transformed by the derivative of the Elo curve at
+     * that score (the delta method), i.e. it treats the agent's opponents as one opponent of fixed strength; a score
+     * of 0 or 1 is taken as half a game away from it for this purpose.
+     *
+     * @param results the Results of this tournament.
+     * @return a Standing for each agent, in the order of the agents.
+     */
+    public List<Standing> standings(List<Result> results) {
+        int n = agents.size();
+        int[] wins = new int[n], draws = new int[n], losses = new int[n];
+        double[] totals = new double[n];
+        double[][] games = new double[n][n];
+        for (Result result : results) {
+            games[result.first][result.second]++;
+            games[result.second][result.first]++;
+            totals[result.first] += result.score;
+            totals[result.second] += 1 - result.score;
+            if (result.score == 0.5) {
+                draws[result.first]++;
+                draws[result.second]++;
+            } else {
+                wins[result.score == 1 ? result.first : result.second]++;
+                losses[result.score == 1 ? result.second : result.first]++;
+            }
+        }
+        double[] gammas = new double[n];
+        Arrays.fill(gammas, 1);
+        for (int iteration = 0; iteration < 10_000; iteration++) {
+            double[] previous = gammas.clone();
+            double logMean = 0;
+            for (int i = 0; i < n; i++) {
+                double denominator = 1 / (gammas[i] + 1);
+                for (int j = 0; j < n; j++)
+                    if (games[i][j] > 0) denominator += games[i][j] / (gammas[i] + gammas[j]);
+                gammas[i] = (totals[i] + 0.5) / denominator;
+                logMean += Math.log(gammas[i]) / n;
+            }
+            // renormalize so that the geometric mean of the gammas (i.e. the mean rating) is 1, that of the virtual opponent
+            double change = 0;
+            for (int i = 0; i < n; i++) {
+                gammas[i] /= Math.exp(logMean);
+                change = Math.max(change, Math.abs(Math.log(gammas[i] / previous[i])));
+            }
+            if (change < 1e-10) break;
+        }
+        double[] elos = new double[n];
+        double mean = 0;
+        for (int i = 0; i < n; i++) mean += (elos[i] = 400 * Math.log10(gammas[i])) / n;
+        List<Standing> standings = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int played = wins[i] + draws[i] + losses[i];
+            double score = played == 0 ? 0.5 : totals[i] / played;
+            // keep away from 0 and 1, where the Elo curve is vertical (and the observed variance is zero)
+            double p = Math.min(Math.max(score, 0.5 / Math.max(played, 1)), 1 - 0.5 / Math.max(played, 1));
+            double variance = played == 0 ? 0 : (wins[i] + draws[i] / 4.0) / played - score * score;
+            if (variance <= 0) variance = p * (1 - p);
+            double scoreError = played == 0 ? 0 : Z95 * Math.sqrt(variance / played);
+            double eloError = scoreError * 400 / (Math.log(10) * p * (1 - p));
+            standings.add(new Standing(agents.get(i).name(), played, wins[i], draws[i], losses[i], score, scoreError, elos[i] - mean, eloError));
+        }
+        return standings;
+    }
+
+    /**
+     * @return the Agents of this tournament.
+     */
+    public List<Agent<G>> agents() {
+        return agents;
+    }
+
+    /**
+     * The result of one game.
+     */
+    public static class Result {
+
+        Result(int game, int first, int second, double score, int moves, long nanos, long seed) {
+            this.game = game;
+            this.first = first;
+            this.second = second;
+            this.score = score;
+            this.moves = moves;
+            this.nanos = nanos;
+            this.seed = seed;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{game=" + game + ", first=" + first + ", second=" + second + ", score=" + score + ", moves=" + moves + '}';
+        }
+
+        /**
+         * The number of the game in the tournament.
+         */
+        public final int game;
+        /**
+         * The index of the agent which moved first.
+         */
+        public final int first;
+        /**
+         * The index of the agent which moved second.
+         */
+        public final int second;
+        /**
+         * The score of the first agent: 1 for a win, 0.5 for a draw and 0 for a loss.
+         */
+        public final double score;
+        /**
+         * The number of moves of the game.
+         */
+        public final int moves;
+        /**
+         * The time taken by the game, in nanoseconds.
+         */
+        public final long nanos;
+        /**
+         * The seed of the game.
+         */
+        public final long seed;
+    }
+
+    /**
+     * The standing of one agent in the tournament.
+     */
+    public static class Standing {
+
+        Standing(String name, int games, int wins, int draws, int losses, double score, double scoreError, double elo, double eloError) {
+            this.name = name;
+            this.games = games;
+            this.wins = wins;
+            this.draws = draws;
+            this.losses = losses;
+            this.score = score;
+            this.scoreError = scoreError;
+            this.elo = elo;
+            this.eloError = eloError;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-16s %5d %5d %5d %5d   %.3f +/- %.3f   %+6.0f +/- %.0f", name, games, wins, draws, losses, score, scoreError, elo, eloError);
+        }
+
+        /**
+         * The name of the agent.
+         */
+        public final String name;
+        /**
+         * The numbers of games played, won, drawn and lost.
+         */
+        public final int games, wins, draws, losses;
+        /**
+         * The mean score of the agent (a win counting 1 and a draw 1/2) and the half-width of its 95% interval.
+         */
+        public final double score, scoreError;
+        /**
+         * The Elo rating of the agent (relative to the mean of the tournament) and the half-width of its 95% interval.
+         */
+        public final double elo, eloError;
+    }
+
+    private static String csv(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0) return field;
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted while waiting for a game", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("game failed", e.getCause());
+        }
+    }
+
+    // the quantile of the normal distribution for a two-sided 95% interval
+    private static final double Z95 = 1.96;
+
+    private final Game<G> game;
+    private final List<Agent<G>> agents;
+    private final int gamesPerPair;
+    private final long seed;
+}
@@ -0,0 +1,189 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Monte Carlo Tree Search over a directed acyclic graph of states, rather than a tree of paths.
+ * <p>
+ * The statistics of each State are kept in a TranspositionTable under State.hash, so a position which can be reached
+ * by several move orders (a transposition) has one set of statistics, shared by all of its parents.
+ * There are no Node objects: during selection, the hash of each child is derived with State.nextHash and looked up
+ * in the table, and a State is only created for the move actually followed.
+ * A child which has no entry in the table is unvisited, and is expanded (i.e. given an entry) before any sibling is
+ * revisited.
+ * <p>
+ * Since the table persists, statistics are carried over from one decision to the next without any explicit tree reuse.
+ * <p>
+ * If the search is symmetric, states are keyed on State.canonicalHash instead, so that states which are equivalent
+ * under the symmetries of the game (e.g. rotations of a board) also share one set of statistics.
+ *
+ * @param <G> the type of the Game.
+ */
+public class TranspositionMCTS<G extends Game> {
+
+    /**
+     * Primary constructor.
+     *
+     * @param table     the TranspositionTable (it may already contain statistics).
+     * @param random    the random source for this search.
+     * @param symmetric true if symmetric states should share their statistics.
+     */
+    public TranspositionMCTS(TranspositionTable table, Random random, boolean symmetric) {
+        this.table = table;
+        this.random = random;
+        this.symmetric = symmetric;
+    }
+
+    /**
+     * Secondary constructor for a search which does not take symmetries into account.
+     *
+     * @param table  the TranspositionTable (it may already contain statistics).
+     * @param random the random source for this search.
+     */
+    public TranspositionMCTS(TranspositionTable table, Random random) {
+        this(table, random, false);
+    }
+
+    /**
+     * Search from state until the budget is exhausted.
+     *
+     * @param state  a non-terminal State.
+     * @param budget the SearchBudget (the nodes of the budget are the entries added to the table).
+     * @return the SearchResult for state.
+     */
+    public SearchResult<G> search(State<G> state, SearchBudget budget) {
+        if (state.isTerminal()) throw new IllegalArgumentException("cannot search from a terminal state");
+        SearchBudget.Tracker tracker = budget.start();
+        while (tracker.proceed()) if (iterate(state)) tracker.addNodes(1);
+        return result(state, tracker.iterations(), tracker.elapsed());
+    }
+
+    /**
+     * Method to yield the statistics which the table currently holds for the moves available from state.
+     *
+     * @param state      the State.
+     * @param iterations the number of iterations to report.
+     * @param nanos      the elapsed time to report.
+     * @return a SearchResult.
+     */
+    public SearchResult<G> result(State<G> state, long iterations, long nanos) {
+        List<Move<G>> moves = List.copyOf(state.moves(state.player()));
+        int[] wins = new int[moves.size()];
+        int[] playouts = new int[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            int slot = table.find(nextHash(state, moves.get(i)));
+            if (slot >= 0) {
+                wins[i] = table.wins(slot);
+                playouts[i] = table.playouts(slot);
+            }
+        }
+        return new SearchResult<>(state, moves, wins, playouts, iterations, nanos);
+    }
+
+    /**
+     * @return the TranspositionTable of this search.
+     */
+    public TranspositionTable table() {
+        return table;
+    }
+
+    /**
+     * Run a single iteration from root: select (through the table), expand one new state, simulate and
+     * back-propagate along the path actually taken.
+     *
+     * @param root the root State.
+     * @return true if a new entry was added to the table.
+     */
+    boolean iterate(State<G> root) {
+        path.clear();
+        State<G> state = root;
+        long hash = symmetric ? state.canonicalHash() : state.hash();
+        int slot = table.findOrCreate(hash);
+        path.add(slot, hash, 1 - state.player());
+        boolean expanded = false;
+        while (!state.isTerminal()) {
+            Collection<Move<G>> moves = state.moves(state.player());
+            Move<G> chosen = null;
+            long chosenHash = 0;
+            int chosenSlot = -1;
+            int unvisited = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double exploration = UCTSearch.EXPLORATION_CONSTANT * Math.sqrt(FastMath.log(Math.max(1, table.playouts(slot))));
+            for (Move<G> move : moves) {
+                long childHash = nextHash(state, move);
+                int childSlot = table.find(childHash);
+                if (childSlot < 0) {
+                    // choose uniformly among the unvisited children (reservoir sampling)
+                    if (random.nextInt(++unvisited) == 0) {
+                        chosen = move;
+                        chosenHash = childHash;
+                    }
+                } else if (unvisited == 0) {
+                    double value = UCTSearch.ucb(table.wins(childSlot), table.playouts(childSlot), exploration);
+                    if (value > bestValue) {
+                        bestValue = value;
+                        chosen = move;
+                        chosenHash = childHash;
+                        chosenSlot = childSlot;
+                    }
+                }
+            }
+            int mover = state.player();
+            state = state.next(chosen);
+            if (unvisited > 0) {
+                slot = table.findOrCreate(chosenHash);
+                path.add(slot, chosenHash, mover);
+                expanded = true;
+                break;
+            }
+            slot = chosenSlot;
+            path.add(slot, chosenHash, mover);
+        }
+        if (rollout == null) rollout = state.rollout();
+        rollout.reset(state);
+        int winner = rollout.playout(random);
+        for (int i = 0; i < path.size; i++)
+            if (table.matches(path.slots[i], path.hashes[i]))
+                table.update(path.slots[i], winner < 0 ? 1 : winner == path.movers[i] ? 2 : 0);
+        return expanded;
+    }
+
+    private long nextHash(State<G> state, Move<G> move) {
+        return symmetric ? state.nextCanonicalHash(move) : state.nextHash(move);
+    }
+
+    /**
+     * The slots, hashes and movers along the path of the current iteration (reused from one iteration to the next).
+     */
+    private static class Path {
+        void add(int slot, long hash, int mover) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+                movers = Arrays.copyOf(movers, size * 2);
+            }
+            slots[size] = slot;
+            hashes[size] = hash;
+            movers[size] = mover;
+            size++;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int[] slots = new int[16];
+        long[] hashes = new long[16];
+        int[] movers = new int[16];
+        int size = 0;
+    }
+
+    private final TranspositionTable table;
+    private final Random random;
+    private final boolean symmetric;
+    private final Path path = new Path();
+    private Rollout<G> rollout;
+}
@@ -0,0 +1,185 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Arrays;
+
+/**
+ * A bounded table of search statistics (wins and playouts) keyed on the 64-bit hash of a State.
+ * <p>
+ * The table is set-associative: a hash maps to a bucket of WAYS consecutive slots.
+ * When a new state must be stored in a full bucket, the entry with the fewest playouts is replaced,
+ * since that is the entry whose loss costs the search the least.
+ * The statistics are kept in primitive arrays and an entry is referred to by its slot number.
+ * Because a slot may be reused for a different state, a slot number is only meaningful together with its hash
+ * (see matches).
+ * <p>
+ * A TranspositionTable is not thread-safe.
+ */
+public class TranspositionTable {
+
+    /**
+     * The number of slots in each bucket.
+     */
+    public static final int WAYS = 4;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum number of entries (rounded up to a power of two, at least WAYS).
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        int slots = Math.max(WAYS, capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1);
+        keys = new long[slots];
+        wins = new int[slots];
+        playouts = new int[slots];
+        mask = slots / WAYS - 1;
+    }
+
+    /**
+     * Method to find the entry for a hash.
+     *
+     * @param hash the hash of a State.
+     * @return the slot of the entry, or -1 if there is no such entry.
+     */
+    public int find(long hash) {
+        long key = key(hash);
+        int base = bucket(hash);
+        for (int i = base; i < base + WAYS; i++) if (keys[i] == key) return i;
+        return -1;
+    }
+
+    /**
+     * Method to find the entry for a hash, creating it (with no statistics) if necessary.
+     * If the bucket is full, the entry with the fewest playouts is replaced.
+     *
+     * @param hash the hash of a State.
+     * @return the slot of the entry.
+     */
+    public int findOrCreate(long hash) {
+        long key = key(hash);
+        int base = bucket(hash);
+        int victim = base;
+        for (int i = base; i < base + WAYS; i++) {
+            if (keys[i] == key) return i;
+            if (keys[i] == EMPTY) {
+                size++;
+                return claim(i, key);
+            }
+            if (playouts[i] < playouts[victim]) victim = i;
+        }
+        replacements++;
+        return claim(victim, key);
+    }
+
+    /**
+     * @param slot a slot.
+     * @param hash the hash of a State.
+     * @return true if slot currently holds the entry for hash.
+     */
+    public boolean matches(int slot, long hash) {
+        return keys[slot] == key(hash);
+    }
+
+    /**
+     * Record the result of a playout in an entry.
+     *
+     * @param slot  the slot of the entry.
+     * @param score the score (2 for a win, 1 for a draw, 0 for a loss).
+     */
+    public void update(int slot, int score) {
+        playouts[slot]++;
+        wins[slot] += score;
+    }
+
+    /**
+     * Add statistics gathered elsewhere (e.g. by an OpeningBook) to an entry.
+     *
+     * @param slot     the slot of the entry.
+     * @param wins     the wins to add (a win is worth 2, a draw 1).
+     * @param playouts the playouts to add.
+     */
+    public void add(int slot, int wins, int playouts) {
+        this.playouts[slot] += playouts;
+        this.wins[slot] += wins;
+    }
+
+    /**
+     * @param slot the slot of an entry.
+     * @return the wins of the entry (a win is worth 2, a draw 1).
+     */
+    public int wins(int slot) {
+        return wins[slot];
+    }
+
+    /**
+     * @param slot the slot of an entry.
+     * @return the playouts of the entry.
+     */
+    public int playouts(int slot) {
+        return playouts[slot];
+    }
+
+    /**
+     * @return the number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the maximum number of entries.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @return the number of entries which have been replaced by other entries.
+     */
+    public long replacements() {
+        return replacements;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(wins, 0);
+        Arrays.fill(playouts, 0);
+        size = 0;
+        replacements = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "TranspositionTable{size=" + size + ", capacity=" + capacity() + ", replacements=" + replacements + '}';
+    }
+
+    private int claim(int slot, long key) {
+        keys[slot] = key;
+        wins[slot] = 0;
+        playouts[slot] = 0;
+        return slot;
+    }
+
+    private int bucket(long hash) {
+        return ((int) (hash ^ (hash >>> 32)) & mask) * WAYS;
+    }
+
+    /**
+     * Zero marks an empty slot, so a hash of zero is stored under a different (arbitrary) key.
+     */
+    private static long key(long hash) {
+        return hash == EMPTY ? 0x5555555555555555L : hash;
+    }
+
+    private static final long EMPTY = 0L;
+
+    private final long[] keys;
+    private final int[] wins;
+    private final int[] playouts;
+    private final int mask;
+    private int size = 0;
+    private long replacements = 0;
+}
@@ -0,0 +1,289 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Methods to write a tree of Node to a stream in a compact binary format, and to read it back, for example to
+ * checkpoint a long search and resume it later (or in another process).
+ * <p>
+ * The format is a header (MAGIC and VERSION, as ints, and the hash of the root state, as a long) followed by the
+ * nodes in depth-first order. For each node, its playouts and its wins are written, then its number of children and,
+ * for each child, the index of the move which leads to it among the moves of the node's state (in the order of
+ * State.moves); the children themselves follow, each with its own subtree. All of these numbers are written as
+ * variable-length integers (seven bits per byte), so that a node with few playouts takes only a few bytes.
+ * States are not written: they are regenerated from the moves when the tree is read, starting from the root state,
+ * which the reader must supply (and which is checked against the hash in the header).
+ * <p>
+ * The move of a child is identified by State.nextHash, so a child must have been created by State.next from its
+ * parent's state. Only the statistics and the shape of the tree are kept: anything else held by a particular kind of
+ * Node (e.g. a proof) must be recomputed. A tree must not be modified while it is written.
+ */
+public class TreeSerializer {
+
+    /**
+     * The first int of a tree stream ("MCTT").
+     */
+    public static final int MAGIC = 0x4D435454;
+
+    /**
+     * The version of the format of a tree stream.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Write the tree under root to a stream.
+     *
+     * @param root   the root of the tree.
+     * @param stream the OutputStream (which is flushed but not closed).
+     * @param <G>    the type of the Game.
+     * @return the number of nodes written.
+     * @throws IOException if the stream fails.
+     */
+    public static <G extends Game> long write(Node<G> root, OutputStream stream) throws IOException {
+        Output out = new Output(stream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(root.state().hash());
+        long count = 1;
+        writeNode(root, out);
+        Deque<Iterator<Node<G>>> stack = new ArrayDeque<>();
+        if (!root.children().isEmpty()) stack.push(root.children().iterator());
+        while (!stack.isEmpty()) {
+            Iterator<Node<G>> iterator = stack.peek();
+            if (!iterator.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            Node<G> child = iterator.next();
+            writeNode(child, out);
+            count++;
+            if (!child.children().isEmpty()) stack.push(child.children().iterator());
+        }
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Write the tree under root to a file (which is replaced).
+     *
+     * @param root the root of the tree.
+     * @param path the Path of the file.
+     * @param <G>  the type of the Game.
+     * @return the number of nodes written.
+     * @throws IOException if the file cannot be written.
+     */
+    public static <G extends Game> long write(Node<G> root, Path path) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(path)) {
+            return write(root, stream);
+        }
+    }
+
+    /**
+     * Read a tree from a stream into root, which is given the statistics and the descendants of the tree's root.
+     * The children are added by Node.addChildren, so the tree consists of nodes of the same kind as root.
+     *
+     * @param stream the InputStream (which is not closed; it may be read beyond the end of the tree).
+     * @param root   a new Node, without children, for the state of the root of the tree.
+     * @param <G>    the type of the Game.
+     * @return root.
+     * @throws IOException if the stream fails, or does not hold a tree whose root has the state of root.
+     */
+    public static <G extends Game> Node<G> read(InputStream stream, Node<G> root) throws IOException {
+        if (!root.children().isEmpty()) throw new IllegalArgumentException("root must not have children");
+        Input in = new Input(stream);
+        if (in.readInt() != MAGIC) throw new IOException("not a tree stream");
+        int version = in.readInt();
+        if (version != VERSION) throw new IOException("unsupported version of tree stream: " + version);
+        if (in.readLong() != root.state().hash()) throw new IOException("the tree is not for the state of root: " + root.state());
+        readNode(root, in);
+        Deque<Iterator<Node<G>>> stack = new ArrayDeque<>();
+        if (!root.children().isEmpty()) stack.push(root.children().iterator());
+        while (!stack.isEmpty()) {
+            Iterator<Node<G>> iterator = stack.peek();
+            if (!iterator.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            Node<G> child = iterator.next();
+            readNode(child, in);
+            if (!child.children().isEmpty()) stack.push(child.children().iterator());
+        }
+        return root;
+    }
+
+    /**
+     * Read a tree from a file into root (see read(InputStream, Node)).
+     *
+     * @param path the Path of the file.
+     * @param root a new Node, without children, for the state of the root of the tree.
+     * @param <G>  the type of the Game.
+     * @return root.
+     * @throws IOException if the file cannot be read, or does not hold a tree whose root has the state of root.
+     */
+    public static <G extends Game> Node<G> read(Path path, Node<G> root) throws IOException {
+        try (InputStream stream = Files.newInputStream(path)) {
+            return read(stream, root);
+        }
+    }
+
+    /**
+     * Write the statistics of node and the moves to its children.
+     * The children are normally in the order of their moves (as when a node is fully expanded), so the index of each
+     * child's move is first guessed to follow that of the previous child; only if a guess fails are the hashes of
+     * all the moves computed.
+     */
+    private static <G extends Game> void writeNode(Node<G> node, Output out) throws IOException {
+        out.writeVarint(node.playouts());
+        out.writeVarint(node.wins());
+        out.writeVarint(node.children().size());
+        if (node.children().isEmpty()) return;
+        State<G> state = node.state();
+        List<Move<G>> moves = List.copyOf(state.moves(state.player()));
+        Map<Long, Integer> indices = null;
+        int guess = 0;
+        for (Node<G> child : node.children()) {
+            long hash = child.state().hash();
+            int index;
+            if (guess < moves.size() && state.nextHash(moves.get(guess)) == hash) index = guess;
+            else {
+                if (indices == null) {
+                    indices = new HashMap<>();
+                    for (int i = 0; i < moves.size(); i++) indices.putIfAbsent(state.nextHash(moves.get(i)), i);
+                }
+                Integer found = indices.get(hash);
+                if (found == null) throw new IllegalArgumentException("child does not follow its parent by a move: " + child.state());
+                index = found;
+            }
+            out.writeVarint(index);
+            guess = index + 1;
+        }
+    }
+
+    /**
+     * Read the statistics of node (which are set by adding the difference from its initial statistics) and add its
+     * children.
+     */
+    private static <G extends Game> void readNode(Node<G> node, Input in) throws IOException {
+        int playouts = in.readVarint();
+        int wins = in.readVarint();
+        node.addPlayouts(playouts - node.playouts());
+        node.addWins(wins - node.wins());
+        int children = in.readVarint();
+        if (children == 0) return;
+        State<G> state = node.state();
+        List<Move<G>> moves = List.copyOf(state.moves(state.player()));
+        List<State<G>> states = new ArrayList<>(children);
+        for (int i = 0; i < children; i++) {
+            int index = in.readVarint();
+            if (index >= moves.size()) throw new IOException("corrupt tree stream: move " + index + " of " + moves.size());
+            states.add(state.next(moves.get(index)));
+        }
+        node.addChildren(states);
+    }
+
+    /**
+     * A buffered writer of ints, longs and variable-length ints.
+     */
+    private static class Output {
+        Output(OutputStream stream) {
+            this.stream = stream;
+        }
+
+        void writeInt(int x) throws IOException {
+            for (int shift = 24; shift >= 0; shift -= 8) writeByte(x >>> shift);
+        }
+
+        void writeLong(long x) throws IOException {
+            writeInt((int) (x >>> 32));
+            writeInt((int) x);
+        }
+
+        void writeVarint(int x) throws IOException {
+            if (position + 5 > buffer.length) drain();
+            while ((x & ~0x7F) != 0) {
+                buffer[position++] = (byte) (x & 0x7F | 0x80);
+                x >>>= 7;
+            }
+            buffer[position++] = (byte) x;
+        }
+
+        void flush() throws IOException {
+            drain();
+            stream.flush();
+        }
+
+        private void writeByte(int b) throws IOException {
+            if (position == buffer.length) drain();
+            buffer[position++] = (byte) b;
+        }
+
+        private void drain() throws IOException {
+            stream.write(buffer, 0, position);
+            position = 0;
+        }
+
+        private final OutputStream stream;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position = 0;
+    }
+
+    /**
+     * A buffered reader of ints, longs and variable-length ints.
+     */
+    private static class Input {
+        Input(InputStream stream) {
+            this.stream = stream;
+        }
+
+        int readInt() throws IOException {
+            int x = 0;
+            for (int i = 0; i < 4; i++) x = x << 8 | readByte();
+            return x;
+        }
+
+        long readLong() throws IOException {
+            return (long) readInt() << 32 | readInt() & 0xFFFFFFFFL;
+        }
+
+        int readVarint() throws IOException {
+            int x = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                x |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return x;
+            }
+            throw new IOException("corrupt tree stream: variable-length int is too long");
+        }
+
+        private int readByte() throws IOException {
+            if (position == limit) {
+                limit = stream.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    throw new EOFException("tree stream ended early");
+                }
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private final InputStream stream;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position = 0;
+        private int limit = 0;
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+}
@@ -0,0 +1,49 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Random;
+
+/**
+ * The UCB1 selection policy (as used by UCT): the mean reward of a child plus c * sqrt(ln(N) / n),
+ * where N is the playouts of the parent and n those of the child. An unvisited child is always chosen first.
+ */
+public class UCB1 implements SelectionPolicy {
+
+    /**
+     * Constructor.
+     *
+     * @param c the exploration constant.
+     */
+    public UCB1(double c) {
+        this.c = c;
+    }
+
+    /**
+     * Constructor with the exploration constant of UCTSearch.
+     */
+    public UCB1() {
+        this(UCTSearch.EXPLORATION_CONSTANT);
+    }
+
+    public int select(Children children, Random random) {
+        double exploration = c * Math.sqrt(FastMath.log(children.parentPlayouts()));
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < children.size(); i++) {
+            int playouts = children.playouts(i);
+            if (playouts == 0) return i;
+            double value = UCTSearch.ucb(children.wins(i), playouts, exploration);
+            if (value > bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String toString() {
+        return "UCB1{c=" + c + '}';
+    }
+
+    private final double c;
+}
@@ -0,0 +1,41 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.Random;
+
+/**
+ * The UCB1-Tuned selection policy (Auer et al.), which scales the exploration term of UCB1 by an upper bound on the
+ * variance of the reward of each child: mean + sqrt(ln(N) / n * min(1/4, V)), where V = variance + sqrt(2 ln(N) / n).
+ * <p>
+ * Since the tree does not keep the sum of the squared rewards, the variance is taken to be that of a Bernoulli
+ * reward with the same mean, i.e. mean * (1 - mean), which is exact in the absence of draws (and an upper bound
+ * otherwise). An unvisited child is always chosen first.
+ */
+public class UCB1Tuned implements SelectionPolicy {
+
+    public int select(Children children, Random random) {
+        double logParent = FastMath.log(children.parentPlayouts());
+        double sqrtLogParent = Math.sqrt(logParent);
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < children.size(); i++) {
+            int playouts = children.playouts(i);
+            if (playouts == 0) return i;
+            double invSqrt = FastMath.invSqrt(playouts);
+            double mean = children.wins(i) * 0.5 / playouts;
+            double variance = mean * (1 - mean) + SQRT_2 * sqrtLogParent * invSqrt;
+            double value = mean + sqrtLogParent * invSqrt * Math.sqrt(Math.min(0.25, variance));
+            if (value > bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String toString() {
+        return "UCB1-Tuned";
+    }
+
+    private static final double SQRT_2 = Math.sqrt(2);
+}
@@ -0,0 +1,375 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Game-independent, single-threaded Monte Carlo Tree Search over a tree of Node.
+ * <p>
+ * Each iteration selects a node by UCT (or by another SelectionPolicy), expands it (all of its children at once, in the order given by State.moves),
+ * plays out a uniformly random game from one of the new children and back-propagates the result.
+ * Because children are always added in the order of State.moves, the i-th child of a node corresponds to the i-th move.
+ * <p>
+ * Wins are credited from the point of view of the player who moved into a node:
+ * a win is worth 2 points and a draw is worth 1 point (see Node.wins()).
+ *
+ * @param <G> the type of the Game.
+ */
+public class UCTSearch<G extends Game> {
+
+    /**
+     * The exploration constant which multiplies the exploration term of UCT.
+     * It is expressed in units of Node.wins(), i.e. two points per win.
+     */
+    public static final double EXPLORATION_CONSTANT = Math.sqrt(2);
+
+    /**
+     * Primary constructor.
+     *
+     * @param root   the root of the tree to be searched (it may already have children).
+     * @param random the random source for this search (it must not be shared with another thread).
+     * @param policy the SelectionPolicy.
+     */
+    public UCTSearch(Node<G> root, Random random, SelectionPolicy policy) {
+        this.root = root;
+        this.random = random;
+        this.policy = policy;
+    }
+
+    /**
+     * Constructor for a search which selects by UCB1 (i.e. UCT).
+     *
+     * @param root   the root of the tree to be searched (it may already have children).
+     * @param random the random source for this search (it must not be shared with another thread).
+     */
+    public UCTSearch(Node<G> root, Random random) {
+        this(root, random, new UCB1());
+    }
+
+    /**
+     * Run the given number of iterations.
+     *
+     * @param iterations the number of iterations.
+     * @return the best child of the root (see bestChild).
+     */
+    public Node<G> run(int iterations) {
+        for (int i = 0; i < iterations; i++) iterate();
+        return bestChild(root);
+    }
+
+    /**
+     * Search until the budget is exhausted or until stop is called, whichever comes first.
+     * This is an "anytime" search: whenever it ends, the result reflects all the iterations completed so far.
+     *
+     * @param budget the SearchBudget (iterations, nodes and/or time).
+     * @return the SearchResult for the root.
+     */
+    public SearchResult<G> search(SearchBudget budget) {
+        SearchBudget.Tracker current = budget.start();
+        tracker = current;
+        try {
+            while (current.proceed()) iterate();
+        } finally {
+            tracker = null;
+        }
+        return SearchResult.fromRoot(root, current.iterations(), current.elapsed());
+    }
+
+    /**
+     * Play out by the given PlayoutPolicy instead of uniformly at random (see PlayoutPolicy.uniform).
+     *
+     * @param playoutPolicy the PlayoutPolicy, which must be able to work on the Rollout of the game.
+     */
+    public void setPlayoutPolicy(PlayoutPolicy<G> playoutPolicy) {
+        this.playoutPolicy = playoutPolicy;
+    }
+
+    /**
+     * @return the PlayoutPolicy of this search.
+     */
+    PlayoutPolicy<G> playoutPolicy() {
+        return playoutPolicy;
+    }
+
+    /**
+     * Ask a running search to stop after its current iteration and return its result.
+     * This method may be called from any thread; it has no effect if no search is running.
+     */
+    public void stop() {
+        SearchBudget.Tracker current = tracker;
+        if (current != null) current.stop();
+    }
+
+    /**
+     * Run a single iteration: select, expand, simulate and back-propagate.
+     */
+    public void iterate() {
+        Node<G> node = select(root);
+        if (!node.isLeaf()) node = expand(node);
+        playout(node);
+        iterations++;
+    }
+
+    /**
+     * Advance the root of this search to the child whose state is the given state, i.e. follow the move actually
+     * played (whether ours or the opponent's). The statistics of the new root's subtree are retained;
+     * the new root is detached from its parent so that the rest of the tree can be garbage-collected.
+     *
+     * @param state the State which follows the root's state.
+     * @return the new root.
+     */
+    public Node<G> advance(State<G> state) {
+        if (root.children().isEmpty() && !root.isLeaf()) addChildren(root);
+        for (Node<G> child : root.children())
+            if (child.state().equals(state)) {
+                child.detach();
+                root = child;
+                return child;
+            }
+        throw new IllegalArgumentException("state does not follow the root in one move: " + state);
+    }
+
+    /**
+     * Advance the root of this search according to the move played (see advance(State)).
+     *
+     * @param move the move played from the root's state.
+     * @return the new root.
+     */
+    public Node<G> advance(Move<G> move) {
+        return advance(root.state().next(move));
+    }
+
+    /**
+     * @return the root of this search.
+     */
+    public Node<G> root() {
+        return root;
+    }
+
+    /**
+     * @return the number of iterations run so far by this search.
+     */
+    public long iterations() {
+        return iterations;
+    }
+
+    /**
+     * Descend from node by UCT until reaching a leaf or a node which has not yet been expanded.
+     *
+     * @param node the starting node.
+     * @return the selected node.
+     */
+    Node<G> select(Node<G> node) {
+        while (!node.isLeaf() && !node.children().isEmpty()) node = bestUCT(node);
+        return node;
+    }
+
+    /**
+     * Add all the children of node (unless already done) and choose one of them at random.
+     *
+     * @param node a non-leaf node.
+     * @return one of the children of node.
+     */
+    Node<G> expand(Node<G> node) {
+        if (node.children().isEmpty()) {
+            addChildren(node);
+            SearchBudget.Tracker current = tracker;
+            if (current != null) current.addNodes(node.children().size());
+        }
+        return randomElement(node.children(), random);
+    }
+
+    /**
+     * Add a child to node for each of its moves, in the order of State.moves.
+     *
+     * @param node a node without children.
+     */
+    void addChildren(Node<G> node) {
+        State<G> state = node.state();
+        for (Move<G> move : state.moves(state.player())) node.addChild(state.next(move));
+    }
+
+    /**
+     * Play out a game from node and back-propagate the result.
+     *
+     * @param node the selected (and expanded) node.
+     */
+    void playout(Node<G> node) {
+        backPropagate(node, simulate(node.state()));
+    }
+
+    /**
+     * Play moves chosen by the PlayoutPolicy of this search (by default, uniformly random moves) from state until the
+     * game is over, on the Rollout of this search (which is created when first needed and then reused).
+     *
+     * @param state the starting state.
+     * @return the winner, or -1 in the case of a draw.
+     */
+    int simulate(State<G> state) {
+        if (rollout == null) rollout = state.rollout();
+        rollout.reset(state);
+        return playoutPolicy.playout(rollout, random);
+    }
+
+    /**
+     * Play uniformly random moves from state until the game is over.
+     *
+     * @param state  the starting state.
+     * @param random the random source.
+     * @return the winner, or -1 in the case of a draw.
+     */
+    static <G extends Game> int simulate(State<G> state, Random random) {
+        return simulate(state, PlayoutPolicy.uniform(), random);
+    }
+
+    /**
+     * Play moves chosen by the given PlayoutPolicy from state until the game is over, on a new Rollout
+     * (so that any number of threads may play out at once).
+     *
+     * @param state  the starting state.
+     * @param policy the PlayoutPolicy.
+     * @param random the random source.
+     * @return the winner, or -1 in the case of a draw.
+     */
+    static <G extends Game> int simulate(State<G> state, PlayoutPolicy<G> policy, Random random) {
+        Rollout<G> rollout = state.rollout();
+        rollout.reset(state);
+        return policy.playout(rollout, random);
+    }
+
+    /**
+     * Update the statistics of node and all of its ancestors according to the result of a playout.
+     *
+     * @param node   the node from which the playout started.
+     * @param winner the winner of the playout (-1 for a draw).
+     */
+    void backPropagate(Node<G> node, int winner) {
+        for (Node<G> current = node; current != null; current = current.getParent()) {
+            current.incrementPlayouts();
+            current.addWins(score(current, winner));
+        }
+    }
+
+    /**
+     * Update the statistics of node and all of its ancestors, once, according to the results of a batch of playouts.
+     *
+     * @param node     the node from which the playouts started.
+     * @param outcomes the outcomes of the playouts (see Outcomes).
+     */
+    void backPropagate(Node<G> node, Outcomes outcomes) {
+        for (Node<G> current = node; current != null; current = current.getParent()) {
+            current.addPlayouts(outcomes.playouts());
+            current.addWins(outcomes.score(mover(current)));
+        }
+    }
+
+    /**
+     * @return the random source of this search.
+     */
+    Random random() {
+        return random;
+    }
+
+    /**
+     * Choose a child of node according to the SelectionPolicy of this search
+     * (by default, the child with the greatest UCT value, an unvisited child always being chosen first).
+     *
+     * @param node a node with at least one child.
+     * @return the chosen child.
+     */
+    Node<G> bestUCT(Node<G> node) {
+        children.of(node);
+        return children.get(policy.select(children, random));
+    }
+
+    /**
+     * Method to yield the most visited child of node (ties are broken by wins).
+     *
+     * @param node a node with at least one child.
+     * @return the most visited child.
+     */
+    public static <G extends Game> Node<G> bestChild(Node<G> node) {
+        Node<G> best = null;
+        for (Node<G> child : node.children())
+            if (best == null || child.playouts() > best.playouts() || child.playouts() == best.playouts() && child.wins() > best.wins())
+                best = child;
+        if (best == null) throw new IllegalStateException("No children nodes found");
+        return best;
+    }
+
+    /**
+     * Calculate the UCT value of a child.
+     *
+     * @param wins      the wins of the child (a win is worth 2).
+     * @param playouts  the playouts of the child.
+     * @param logParent the natural log of the playouts of the parent.
+     * @return the UCT value (positive infinity if the child has not been visited).
+     */
+    static double uctValue(int wins, int playouts, double logParent) {
+        return ucb(wins, playouts, EXPLORATION_CONSTANT * Math.sqrt(logParent));
+    }
+
+    /**
+     * Calculate the UCB1 value of a child, given the part of the exploration term which depends only on the parent,
+     * so that a search can compute that part once for all the children (see FastMath).
+     *
+     * @param wins        the wins of the child (a win is worth 2).
+     * @param playouts    the playouts of the child.
+     * @param exploration the exploration constant times the square root of the natural log of the parent's playouts.
+     * @return the UCB1 value (positive infinity if the child has not been visited).
+     */
+    static double ucb(int wins, int playouts, double exploration) {
+        if (playouts == 0) return Double.POSITIVE_INFINITY;
+        return wins * 0.5 / playouts + exploration * FastMath.invSqrt(playouts);
+    }
+
+    /**
+     * Method to determine the score earned by node from a playout.
+     * The score belongs to the player who moved into node (see mover).
+     *
+     * @param node   the node.
+     * @param winner the winner of the playout (-1 for a draw).
+     * @return 2 for a win, 1 for a draw, 0 for a loss.
+     */
+    static <G extends Game> int score(Node<G> node, int winner) {
+        if (winner < 0) return 1;
+        return winner == mover(node) ? 2 : 0;
+    }
+
+    /**
+     * Method to determine the player who moved into node, i.e. the player of the parent's state.
+     * For the root, this is taken to be the opponent of the root's player (a two-player game is assumed).
+     *
+     * @param node the node.
+     * @return the player (0 or 1).
+     */
+    static <G extends Game> int mover(Node<G> node) {
+        Node<G> parent = node.getParent();
+        return parent != null ? parent.state().player() : 1 - node.state().player();
+    }
+
+    /**
+     * Method to choose an element of a collection uniformly at random.
+     *
+     * @param xs     a non-empty collection.
+     * @param random the random source.
+     * @return one of the elements of xs.
+     */
+    static <T> T randomElement(Collection<T> xs, Random random) {
+        if (xs.isEmpty()) throw new IllegalStateException("cannot choose from an empty collection");
+        int index = random.nextInt(xs.size());
+        if (xs instanceof List) return ((List<T>) xs).get(index);
+        return new ArrayList<>(xs).get(index);
+    }
+
+    private Node<G> root;
+    private final Random random;
+    private final SelectionPolicy policy;
+    private final NodeChildren<G> children = new NodeChildren<>();
+    private Rollout<G> rollout;
+    private PlayoutPolicy<G> playoutPolicy = PlayoutPolicy.uniform();
+    private long iterations = 0;
+    private volatile SearchBudget.Tracker tracker;
+}
@@ -0,0 +1,42 @@
+package edu.neu.coe.info6205.mcts.core;
+
+/**
+ * Utilities for Zobrist-style hashing of game states.
+ * <p>
+ * A Zobrist hash is the exclusive-or of one random 64-bit key for each feature of a state
+ * (e.g. "X on cell 4" or "pile 2 holds 7 stones"). Making a move changes only a few features,
+ * so the hash of the next state can be derived from the hash of the current state in constant time,
+ * by xor-ing out the keys of the features removed and xor-ing in the keys of the features added.
+ * <p>
+ * Rather than a table of random numbers, the key of feature i is obtained by scrambling i with the SplitMix64 finalizer,
+ * which needs no storage and supports an unbounded number of features.
+ */
+public class Zobrist {
+
+    /**
+     * Method to yield the key of a feature.
+     *
+     * @param feature the index of the feature.
+     * @return a well-mixed 64-bit key.
+     */
+    public static long key(long feature) {
+        long z = feature * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Method to yield the key of a feature which has two coordinates (for example, a pile and a number of stones).
+     *
+     * @param x the first coordinate.
+     * @param y the second coordinate (non-negative and less than 2^32).
+     * @return a well-mixed 64-bit key.
+     */
+    public static long key(int x, int y) {
+        return key(((long) x << 32) | (y & 0xFFFFFFFFL));
+    }
+
+    private Zobrist() {
+    }
+}
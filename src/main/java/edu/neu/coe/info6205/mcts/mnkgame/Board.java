@@ -0,0 +1,359 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.Zobrist;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * This class represents the board of an m,n,k-game: m rows and n columns, on which the first player to get k stones
+ * in a row (horizontally, vertically or diagonally) wins. Tic-tac-toe is the 3,3,3-game; Gomoku is (usually) 15,15,5.
+ * <p>
+ * A Board is immutable. Cell (row * n + column) holds 0 (O), 1 (X) or -1 (empty).
+ * The empty cells are also kept as a dense list (with the index of each cell in that list),
+ * so that the number of moves, and the i-th move, are available in constant time and a move removes its cell from the
+ * list in constant time.
+ * Whether a move wins is determined when it is made, by inspecting only the four lines which pass through its cell.
+ */
+public class Board {
+
+    /**
+     * Parse a string of X, O, and . (one row per line, cells separated by spaces) to form a Board.
+     *
+     * @param grid the grid represented as a String.
+     * @param k    the number in a row needed to win.
+     * @param last the last player.
+     * @return a Board.
+     */
+    static Board parse(String grid, int k, int last) {
+        String[] rows = grid.split("\\n");
+        int columns = rows[0].trim().split(" +").length;
+        byte[] cells = new byte[rows.length * columns];
+        for (int i = 0; i < rows.length; i++) {
+            String[] cs = rows[i].trim().split(" +");
+            for (int j = 0; j < columns; j++)
+                switch (cs[j].toUpperCase()) {
+                    case "O", "0" -> cells[i * columns + j] = 0;
+                    case "X", "1" -> cells[i * columns + j] = 1;
+                    default -> cells[i * columns + j] = -1;
+                }
+        }
+        return new Board(rows.length, columns, k, cells, last);
+    }
+
+    /**
+     * Constructor for an empty board.
+     *
+     * @param rows    the number of rows (m).
+     * @param columns the number of columns (n).
+     * @param k       the number in a row needed to win.
+     */
+    public Board(int rows, int columns, int k) {
+        check(rows, columns, k);
+        this.rows = rows;
+        this.columns = columns;
+        this.k = k;
+        int size = rows * columns;
+        cells = new byte[size];
+        Arrays.fill(cells, EMPTY);
+        empties = new short[size];
+        where = new short[size];
+        for (int cell = 0; cell < size; cell++) {
+            empties[cell] = (short) cell;
+            where[cell] = (short) cell;
+        }
+        this.size = size;
+        last = -1;
+        lastCell = -1;
+        won = false;
+        zobrist = 0;
+    }
+
+    /**
+     * Effect a player's move on this Board.
+     *
+     * @param player the player (0: O, 1: X)
+     * @param cell   the cell (row * n + column).
+     * @return the new Board.
+     */
+    public Board move(int player, int cell) {
+        if (isTerminal()) throw new RuntimeException("Board is finished");
+        if (player == last) throw new RuntimeException("consecutive moves by same player: " + player);
+        if (cells[cell] != EMPTY) throw new RuntimeException("Board is occupied: " + cell);
+        return new Board(this, player, cell);
+    }
+
+    /**
+     * @param row    the row.
+     * @param column the column.
+     * @return the player (0: O, 1: X) who occupies the cell, or -1 if it is empty.
+     */
+    public int get(int row, int column) {
+        return cells[row * columns + column];
+    }
+
+    /**
+     * @param cell a cell (row * n + column).
+     * @return the player (0: O, 1: X) who occupies the cell, or -1 if it is empty.
+     */
+    public int get(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * @return the number of empty cells.
+     */
+    public int empties() {
+        return size;
+    }
+
+    /**
+     * @param i an index less than empties().
+     * @return the i-th empty cell (in no particular order).
+     */
+    public int empty(int i) {
+        if (i >= size) throw new IndexOutOfBoundsException(i);
+        return empties[i];
+    }
+
+    /**
+     * @return the last player, or -1 if no move has been made.
+     */
+    public int last() {
+        return last;
+    }
+
+    /**
+     * @return the cell of the last move, or -1 if no move has been made.
+     */
+    public int lastCell() {
+        return lastCell;
+    }
+
+    /**
+     * @return true if the last move made k in a row.
+     */
+    public boolean won() {
+        return won;
+    }
+
+    /**
+     * @return true if there are no empty cells.
+     */
+    public boolean full() {
+        return size == 0;
+    }
+
+    /**
+     * @return true if the game on this Board is over.
+     */
+    public boolean isTerminal() {
+        return won || size == 0;
+    }
+
+    /**
+     * Determine if this Board represents a winner.
+     *
+     * @return an Optional Integer: the last player if the last move won.
+     */
+    public Optional<Integer> winner() {
+        return won ? WINNERS.get(last) : Optional.empty();
+    }
+
+    /**
+     * Method to yield the Zobrist hash of this Board, which is maintained incrementally by move.
+     *
+     * @return the exclusive-or of the keys of the occupied cells.
+     */
+    public long zobrist() {
+        return zobrist;
+    }
+
+    /**
+     * Method to yield the Zobrist hash of the Board which would follow a move, without making the move.
+     *
+     * @param player the player (0: O, 1: X)
+     * @param cell   the cell.
+     * @return the hash of move(player, cell).
+     */
+    public long zobristAfter(int player, int cell) {
+        return zobrist ^ Zobrist.key(player, cell);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public int k() {
+        return k;
+    }
+
+    /**
+     * Method to determine if a stone on cell is part of a line of k stones of the same player.
+     * Only the four lines through cell are inspected, and each for at most k - 1 cells in either direction.
+     *
+     * @param cell an occupied cell.
+     * @return true if cell is in a line of (at least) k.
+     */
+    boolean line(int cell) {
+        return line(cells, rows, columns, k, cell);
+    }
+
+    /**
+     * Method to determine if the stone on cell is part of a line of k stones, given the cells of a board
+     * (see line(int)).
+     */
+    static boolean line(byte[] cells, int rows, int columns, int k, int cell) {
+        int player = cells[cell];
+        int row = cell / columns, column = cell % columns;
+        for (int d = 0; d < 4; d++) {
+            int dr = DIRECTIONS[d][0], dc = DIRECTIONS[d][1];
+            int run = 1 + count(cells, rows, columns, k, player, row, column, dr, dc) + count(cells, rows, columns, k, player, row, column, -dr, -dc);
+            if (run >= k) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Copy the cells and the list of empty cells of this Board into the given arrays (each at least cells long).
+     *
+     * @param cells   the destination of the cells.
+     * @param empties the destination of the list of empty cells (see empty(int)).
+     * @param where   the destination of the index of each empty cell in empties.
+     */
+    void copyTo(byte[] cells, short[] empties, short[] where) {
+        System.arraycopy(this.cells, 0, cells, 0, this.cells.length);
+        System.arraycopy(this.empties, 0, empties, 0, this.empties.length);
+        System.arraycopy(this.where, 0, where, 0, this.where.length);
+    }
+
+    /**
+     * Method to render this Board in a pleasing manner.
+     *
+     * @return a String.
+     */
+    public String render() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                sb.append(render(cells[i * columns + j]));
+                if (j < columns - 1) sb.append(' ');
+            }
+            if (i < rows - 1) sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return render();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Board)) return false;
+        Board board = (Board) o;
+        return rows == board.rows && columns == board.columns && k == board.k && Arrays.equals(cells, board.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(zobrist);
+    }
+
+    private Board(Board board, int player, int cell) {
+        rows = board.rows;
+        columns = board.columns;
+        k = board.k;
+        cells = board.cells.clone();
+        cells[cell] = (byte) player;
+        empties = board.empties.clone();
+        where = board.where.clone();
+        size = board.size - 1;
+        // remove cell from the list of empties by moving the last empty cell into its place
+        int index = where[cell];
+        short moved = empties[size];
+        empties[index] = moved;
+        where[moved] = (short) index;
+        empties[size] = (short) cell;
+        where[cell] = (short) size;
+        last = player;
+        lastCell = cell;
+        zobrist = board.zobrist ^ Zobrist.key(player, cell);
+        won = line(cell);
+    }
+
+    /**
+     * Constructor used by parse: the list of empty cells and the hash are computed from cells, and the Board is won if
+     * the last player has a line anywhere.
+     */
+    private Board(int rows, int columns, int k, byte[] cells, int last) {
+        check(rows, columns, k);
+        this.rows = rows;
+        this.columns = columns;
+        this.k = k;
+        this.cells = cells;
+        empties = new short[cells.length];
+        where = new short[cells.length];
+        int size = 0;
+        long hash = 0;
+        boolean won = false;
+        for (int cell = 0; cell < cells.length; cell++)
+            if (cells[cell] == EMPTY) {
+                empties[size] = (short) cell;
+                where[cell] = (short) size++;
+            } else hash ^= Zobrist.key(cells[cell], cell);
+        this.size = size;
+        this.last = last;
+        this.lastCell = -1;
+        this.zobrist = hash;
+        for (int cell = 0; cell < cells.length && !won; cell++) won = cells[cell] == last && last >= 0 && line(cell);
+        this.won = won;
+    }
+
+    private static void check(int rows, int columns, int k) {
+        if (rows < 1 || columns < 1 || k < 1 || k > Math.max(rows, columns))
+            throw new IllegalArgumentException("invalid m,n,k: " + rows + "," + columns + "," + k);
+        if (rows * columns > Short.MAX_VALUE) throw new IllegalArgumentException("board is too large");
+    }
+
+    private static int count(byte[] cells, int rows, int columns, int k, int player, int row, int column, int dr, int dc) {
+        int result = 0;
+        for (int i = 1; i < k; i++) {
+            int r = row + i * dr, c = column + i * dc;
+            if (r < 0 || r >= rows || c < 0 || c >= columns || cells[r * columns + c] != player) break;
+            result++;
+        }
+        return result;
+    }
+
+    private static char render(int x) {
+        return switch (x) {
+            case 0 -> 'O';
+            case 1 -> 'X';
+            default -> '.';
+        };
+    }
+
+    static final byte EMPTY = -1;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    private static final List<Optional<Integer>> WINNERS = List.of(Optional.of(0), Optional.of(1));
+
+    private final int rows;
+    private final int columns;
+    private final int k;
+    private final byte[] cells;
+    private final short[] empties;
+    private final short[] where;
+    private final int size;
+    private final int last;
+    private final int lastCell;
+    private final boolean won;
+    private final long zobrist;
+}
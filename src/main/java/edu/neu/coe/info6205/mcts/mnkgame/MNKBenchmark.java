@@ -0,0 +1,73 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.AllocationMeter;
+import edu.neu.coe.info6205.mcts.core.ConcurrentNode;
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.Rollout;
+import edu.neu.coe.info6205.mcts.core.SearchBudget;
+import edu.neu.coe.info6205.mcts.core.SearchResult;
+import edu.neu.coe.info6205.mcts.core.UCTSearch;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of random rollouts on m,n,k boards: tic-tac-toe (3,3,3) and Gomoku (15,15,5 and 19,19,5).
+ * For each board, the rollouts per second (from the empty board), the mean length of a rollout and the bytes allocated
+ * per rollout are reported, first for rollouts made with State.next (a new State for every move) and then for rollouts
+ * made on a Rollout (a scratch copy of the board, updated in place), followed by the iterations per second of a
+ * UCTSearch from the empty board for a fixed time.
+ */
+public class MNKBenchmark {
+
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+        int[][] boards = {{3, 3, 3}, {15, 15, 5}, {19, 19, 5}};
+        for (int[] b : boards) {
+            MNKGame game = new MNKGame(b[0], b[1], b[2], 0L);
+            MNKGameState start = (MNKGameState) game.start();
+            Random random = new Random(0L);
+            for (boolean scratch : new boolean[]{false, true}) {
+                rollouts(start, random, millis / 4, scratch); // warmup
+                long bytes = AllocationMeter.allocatedBytes();
+                long begin = System.nanoTime();
+                long[] result = rollouts(start, random, millis, scratch);
+                double seconds = (System.nanoTime() - begin) / 1E9;
+                long allocated = AllocationMeter.allocatedBytes() - bytes;
+                System.out.printf("%2d,%2d,%d %-10s: %,12.0f rollouts/sec, %,14.0f moves/sec, %6.1f moves/rollout, %,10.1f bytes/rollout%n",
+                        b[0], b[1], b[2], scratch ? "Rollout" : "State.next", result[0] / seconds, result[1] / seconds,
+                        (double) result[1] / result[0], (double) allocated / result[0]);
+            }
+            SearchResult<MNKGame> search = new UCTSearch<>(new ConcurrentNode<>(start, null), random).search(SearchBudget.millis(millis));
+            System.out.printf("%2d,%2d,%d UCTSearch : %,12.0f iterations/sec%n", b[0], b[1], b[2], search.iterationsPerSecond());
+        }
+    }
+
+    /**
+     * Run random rollouts from start for the given time.
+     *
+     * @param scratch true if the rollouts are to be made on a Rollout; false to use State.next.
+     * @return the number of rollouts and the total number of moves.
+     */
+    private static long[] rollouts(MNKGameState start, Random random, long millis, boolean scratch) {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long rollouts = 0, moves = 0;
+        Rollout<MNKGame> rollout = start.rollout();
+        while (System.nanoTime() < deadline) {
+            if (scratch) {
+                rollout.reset(start);
+                rollout.playout(random);
+                moves += rollout.depth();
+            } else {
+                MNKGameState state = start;
+                while (!state.isTerminal()) {
+                    List<Move<MNKGame>> available = state.moves(state.player());
+                    state = state.next(available.get(random.nextInt(available.size())));
+                    moves++;
+                }
+            }
+            rollouts++;
+        }
+        return new long[]{rollouts, moves};
+    }
+}
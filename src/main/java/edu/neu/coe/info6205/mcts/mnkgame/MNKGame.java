@@ -0,0 +1,140 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.Game;
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.State;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Class which models an m,n,k-game: two players take turns to place a stone on an m x n board,
+ * and the first to get k stones in a row (horizontally, vertically or diagonally) wins.
+ * TicTacToe is the 3,3,3-game; Gomoku is played on a 15 x 15 (or 19 x 19) board with k = 5.
+ */
+public class MNKGame implements Game<MNKGame> {
+    /**
+     * Main program to run a random game.
+     *
+     * @param args command-line arguments: m, n and k (default 15, 15, 5).
+     */
+    public static void main(String[] args) {
+        int m = args.length > 0 ? Integer.parseInt(args[0]) : 15;
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : m;
+        int k = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        State<MNKGame> state = new MNKGame(m, n, k).runGame();
+        System.out.println(state);
+        if (state.winner().isPresent()) System.out.println("MNKGame: winner is: " + state.winner().get());
+        else System.out.println("MNKGame: draw");
+    }
+
+    public static final int X = 1;
+    public static final int O = 0;
+
+    /**
+     * Run a game in which each move is chosen at random.
+     *
+     * @return the terminal State.
+     */
+    State<MNKGame> runGame() {
+        MNKGameState state = new MNKGameState(this, new Board(rows, columns, k));
+        while (!state.isTerminal()) {
+            List<Move<MNKGame>> moves = state.moves(state.player());
+            state = state.next(moves.get(random.nextInt(moves.size())));
+        }
+        return state;
+    }
+
+    /**
+     * This method determines the opening player (the "white" by analogy with chess).
+     *
+     * @return the opening player.
+     */
+    public int opener() {
+        return X;
+    }
+
+    /**
+     * Get the starting state for this game: an empty board.
+     *
+     * @return a State of MNKGame.
+     */
+    public State<MNKGame> start() {
+        return new MNKGameState(this, new Board(rows, columns, k));
+    }
+
+    /**
+     * Method to yield the (shared) Move of a player on a cell.
+     *
+     * @param player the player.
+     * @param cell   the cell (row * n + column).
+     * @return an MNKGameMove.
+     */
+    public MNKGameMove move(int player, int cell) {
+        return moves[player][cell];
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public int k() {
+        return k;
+    }
+
+    public Random random() {
+        return random;
+    }
+
+    /**
+     * Primary constructor.
+     *
+     * @param rows    the number of rows (m).
+     * @param columns the number of columns (n).
+     * @param k       the number in a row needed to win.
+     * @param random  a random source.
+     */
+    public MNKGame(int rows, int columns, int k, Random random) {
+        new Board(rows, columns, k); // validates m, n and k
+        this.rows = rows;
+        this.columns = columns;
+        this.k = k;
+        this.random = random;
+        moves = new MNKGameMove[2][rows * columns];
+        for (int player = 0; player < 2; player++)
+            for (int cell = 0; cell < rows * columns; cell++) moves[player][cell] = new MNKGameMove(player, cell, columns);
+    }
+
+    /**
+     * Secondary constructor.
+     *
+     * @param rows    the number of rows (m).
+     * @param columns the number of columns (n).
+     * @param k       the number in a row needed to win.
+     * @param seed    a seed for the random source.
+     */
+    public MNKGame(int rows, int columns, int k, long seed) {
+        this(rows, columns, k, new Random(seed));
+    }
+
+    /**
+     * Secondary constructor which uses the current time as seed.
+     *
+     * @param rows    the number of rows (m).
+     * @param columns the number of columns (n).
+     * @param k       the number in a row needed to win.
+     */
+    public MNKGame(int rows, int columns, int k) {
+        this(rows, columns, k, System.currentTimeMillis());
+    }
+
+    private final int rows;
+    private final int columns;
+    private final int k;
+    private final Random random;
+    private final MNKGameMove[][] moves;
+}
@@ -0,0 +1,56 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+
+/**
+ * A Move of an m,n,k-game: a stone placed by a player on a cell.
+ * Moves are immutable, and each MNKGame holds one instance for each player and cell (see MNKGame.move).
+ */
+public class MNKGameMove implements Move<MNKGame> {
+
+    /**
+     * @return the player for this Move.
+     */
+    public int player() {
+        return player;
+    }
+
+    /**
+     * @return the cell (row * n + column) of this Move.
+     */
+    public int cell() {
+        return cell;
+    }
+
+    public int row() {
+        return row;
+    }
+
+    public int column() {
+        return column;
+    }
+
+    @Override
+    public String toString() {
+        return "MNKGameMove{player=" + player + ", row=" + row + ", column=" + column + '}';
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param player  the player.
+     * @param cell    the cell.
+     * @param columns the number of columns of the board.
+     */
+    MNKGameMove(int player, int cell, int columns) {
+        this.player = player;
+        this.cell = cell;
+        this.row = cell / columns;
+        this.column = cell % columns;
+    }
+
+    private final int player;
+    private final int cell;
+    private final int row;
+    private final int column;
+}
@@ -0,0 +1,119 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.Rollout;
+import edu.neu.coe.info6205.mcts.core.State;
+
+/**
+ * A Rollout of an m,n,k-game: the cells and the list of empty cells of a Board, updated in place.
+ * The arrays are allocated once (for the size of the board); after that, a Rollout allocates nothing.
+ */
+class MNKGameRollout implements Rollout<MNKGame> {
+
+    public void reset(State<MNKGame> state) {
+        Board board = ((MNKGameState) state).board();
+        rows = board.rows();
+        columns = board.columns();
+        k = board.k();
+        int size = rows * columns;
+        if (cells.length != size) {
+            cells = new byte[size];
+            empties = new short[size];
+            where = new short[size];
+            history = new int[size];
+        }
+        board.copyTo(cells, empties, where);
+        this.size = board.empties();
+        first = board.last();
+        last = first;
+        won = board.won();
+        depth = 0;
+    }
+
+    public boolean isTerminal() {
+        return won || size == 0;
+    }
+
+    public int player() {
+        return last == MNKGame.X ? MNKGame.O : MNKGame.X;
+    }
+
+    public int moves() {
+        return size;
+    }
+
+    /**
+     * Make the index-th move, i.e. play on the index-th empty cell (as in MNKGameState.moves).
+     *
+     * @param index a number less than moves().
+     */
+    public void apply(int index) {
+        int cell = empties[index];
+        int player = player();
+        cells[cell] = (byte) player;
+        // as in Board, remove cell from the list of empties by moving the last empty cell into its place
+        size--;
+        short moved = empties[size];
+        empties[index] = moved;
+        where[moved] = (short) index;
+        empties[size] = (short) cell;
+        where[cell] = (short) size;
+        history[depth++] = cell | index << 16;
+        last = player;
+        won = Board.line(cells, rows, columns, k, cell);
+    }
+
+    public void undo() {
+        if (depth == 0) throw new IllegalStateException("no move to undo");
+        int entry = history[--depth];
+        int cell = entry & 0xFFFF, index = entry >>> 16;
+        cells[cell] = Board.EMPTY;
+        short moved = empties[index];
+        empties[index] = (short) cell;
+        where[cell] = (short) index;
+        empties[size] = moved;
+        where[moved] = (short) size;
+        size++;
+        last = depth == 0 ? first : 1 - last;
+        won = false;
+    }
+
+    /**
+     * @return the number of cells.
+     */
+    public int keys() {
+        return rows * columns;
+    }
+
+    /**
+     * @param index a number less than moves().
+     * @return the cell of the index-th move.
+     */
+    public int key(int index) {
+        return empties[index];
+    }
+
+    public int playedKey(int ply) {
+        return history[ply] & 0xFFFF;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int winner() {
+        return won ? last : -1;
+    }
+
+    private byte[] cells = new byte[0];
+    private short[] empties;
+    private short[] where;
+    private int[] history;
+    private int rows;
+    private int columns;
+    private int k;
+    private int size;
+    private int first;
+    private int last;
+    private int depth;
+    private boolean won;
+}
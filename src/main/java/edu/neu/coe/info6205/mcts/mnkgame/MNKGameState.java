@@ -0,0 +1,145 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.Rollout;
+import edu.neu.coe.info6205.mcts.core.State;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.RandomAccess;
+
+/**
+ * A State of an m,n,k-game, i.e. a Board together with the MNKGame of which it is a State.
+ */
+public class MNKGameState implements State<MNKGame> {
+
+    /**
+     * Method to yield the game of which this is a State.
+     *
+     * @return an MNKGame.
+     */
+    public MNKGame game() {
+        return game;
+    }
+
+    /**
+     * @return the Board of this State.
+     */
+    public Board board() {
+        return board;
+    }
+
+    /**
+     * Is the game over?
+     *
+     * @return true if the last move made k in a row or if the board is full.
+     */
+    public boolean isTerminal() {
+        return board.isTerminal();
+    }
+
+    /**
+     * @return the player who plays next (X opens).
+     */
+    public int player() {
+        return board.last() == MNKGame.X ? MNKGame.O : MNKGame.X;
+    }
+
+    public Optional<Integer> winner() {
+        return board.winner();
+    }
+
+    /**
+     * A random source associated with this State: the random of the game.
+     *
+     * @return the appropriate Random.
+     */
+    public Random random() {
+        return game.random();
+    }
+
+    /**
+     * Get the moves that can be made directly from this state.
+     * The result is a view of the empty cells of the board, so it is created in constant time
+     * and its elements are only looked up when they are accessed.
+     *
+     * @param player the player of the moves.
+     * @return an unmodifiable, random-access list of moves.
+     */
+    public List<Move<MNKGame>> moves(int player) {
+        if (player == board.last()) throw new RuntimeException("consecutive moves by same player: " + player);
+        return new Moves(player);
+    }
+
+    public MNKGameState next(Move<MNKGame> move) {
+        return new MNKGameState(game, board.move(move.player(), ((MNKGameMove) move).cell()));
+    }
+
+    /**
+     * @return a new MNKGameRollout.
+     */
+    public Rollout<MNKGame> rollout() {
+        return new MNKGameRollout();
+    }
+
+    /**
+     * @return the Zobrist hash of the Board.
+     */
+    public long hash() {
+        return board.zobrist();
+    }
+
+    /**
+     * Method to yield the hash of the State which would follow the given move, without creating it.
+     *
+     * @param move the move.
+     * @return the hash of next(move).
+     */
+    public long nextHash(Move<MNKGame> move) {
+        return board.zobristAfter(move.player(), ((MNKGameMove) move).cell());
+    }
+
+    @Override
+    public String toString() {
+        return "MNKGame{\n" + board.render() + "\n}";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MNKGameState)) return false;
+        MNKGameState that = (MNKGameState) o;
+        return board.equals(that.board);
+    }
+
+    @Override
+    public int hashCode() {
+        return board.hashCode();
+    }
+
+    public MNKGameState(MNKGame game, Board board) {
+        this.game = game;
+        this.board = board;
+    }
+
+    private class Moves extends AbstractList<Move<MNKGame>> implements RandomAccess {
+        public Move<MNKGame> get(int index) {
+            return game.move(player, board.empty(index));
+        }
+
+        public int size() {
+            return board.empties();
+        }
+
+        Moves(int player) {
+            this.player = player;
+        }
+
+        private final int player;
+    }
+
+    private final MNKGame game;
+    private final Board board;
+}
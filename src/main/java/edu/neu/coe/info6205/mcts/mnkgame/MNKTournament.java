@@ -0,0 +1,48 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.Agent;
+import edu.neu.coe.info6205.mcts.core.Tournament;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Round-robin tournament of an m,n,k-game between agents given by specification (see Agent.valueOf), played on all
+ * the cores. The standings (score and Elo rating, each with a 95% interval) are printed and, if a file is named, the
+ * result of every game is written to it as CSV.
+ * <p>
+ * Arguments (all optional): rows, columns, k, games per pair, threads, CSV file ("-" for none), seed, agents...
+ * The default agents are random, ucb1:250, ucb1:1000, rave:1000 and puct:1000.
+ */
+public class MNKTournament {
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int columns = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int k = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        String csv = args.length > 5 ? args[5] : "-";
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : 0L;
+        List<String> specs = args.length > 7 ? Arrays.asList(args).subList(7, args.length) :
+                List.of("random", "ucb1:250", "ucb1:1000", "rave:1000", "puct:1000");
+        List<Agent<MNKGame>> agents = new ArrayList<>();
+        for (String spec : specs) agents.add(Agent.valueOf(spec));
+        Tournament<MNKGame> tournament = new Tournament<>(new MNKGame(rows, columns, k, 0L), agents, games, seed);
+        long start = System.nanoTime();
+        List<Tournament.Result> results = tournament.play(threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double busy = results.stream().mapToLong(r -> r.nanos).sum() / 1e9;
+        System.out.printf("%d,%d,%d: %d games (%d per pair) on %d threads in %.1f s (%.1f s of play)%n",
+                rows, columns, k, results.size(), games, threads, seconds, busy);
+        System.out.printf("%-16s %5s %5s %5s %5s   %-15s   %s%n", "agent", "games", "won", "drawn", "lost", "score", "Elo");
+        tournament.standings(results).forEach(System.out::println);
+        if (!csv.equals("-")) {
+            tournament.writeCsv(results, Path.of(csv));
+            System.out.println("results written to " + csv);
+        }
+    }
+}
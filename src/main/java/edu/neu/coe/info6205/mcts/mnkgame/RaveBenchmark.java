@@ -0,0 +1,53 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.RAVE;
+import edu.neu.coe.info6205.mcts.core.SelectionPolicy;
+import edu.neu.coe.info6205.mcts.core.UCB1;
+
+import java.util.Random;
+
+/**
+ * Benchmark of RAVE against plain UCT: on each board, searches using UCB1 and searches using RAVE, with a range of
+ * iteration budgets (fractions of a reference budget), each play a number of games against UCB1 with the reference
+ * budget (see SelectionBenchmark.play).
+ * The score of each (a win counting 1 and a draw 1/2) is reported, followed by the iterations to equal strength:
+ * the least budget whose score is at least 1/2 (less one standard error).
+ * <p>
+ * Arguments (all optional): games per entry, reference budget, RAVE equivalence parameter, RAVE exploration constant.
+ */
+public class RaveBenchmark {
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int reference = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        RAVE rave = args.length > 3 ? new RAVE(Double.parseDouble(args[2]), Double.parseDouble(args[3])) : new RAVE();
+        int[][] boards = {{3, 3, 3}, {5, 5, 4}, {7, 7, 5}, {9, 9, 5}};
+        int[] budgets = {reference / 16, reference / 8, reference / 4, reference / 2, reference};
+        System.out.printf("score against UCB1 with %d iterations over %d games (%s)%n", reference, games, rave);
+        System.out.printf("%-14s", "board/policy");
+        for (int budget : budgets) System.out.printf("%16s", budget + " iterations");
+        System.out.printf("%14s%n", "equal at");
+        for (int[] b : boards) {
+            MNKGame game = new MNKGame(b[0], b[1], b[2], 0L);
+            for (SelectionPolicy policy : new SelectionPolicy[]{new UCB1(), rave}) {
+                System.out.printf("%-14s", b[0] + "," + b[1] + "," + b[2] + " " + (policy == rave ? "RAVE" : "UCB1"));
+                int equal = -1;
+                for (int budget : budgets) {
+                    Random random = new Random(budget);
+                    double score = 0, squares = 0;
+                    for (int i = 0; i < games; i++) {
+                        int player = i % 2 == 0 ? MNKGame.X : MNKGame.O;
+                        double s = SelectionBenchmark.play(game, policy, budget, player, reference, random);
+                        score += s;
+                        squares += s * s;
+                    }
+                    double mean = score / games;
+                    double error = Math.sqrt(Math.max(0, squares / games - mean * mean) / games);
+                    if (equal < 0 && mean + error >= 0.5) equal = budget;
+                    System.out.printf("%16s", String.format("%.3f +/- %.3f", mean, error));
+                }
+                System.out.printf("%14s%n", equal < 0 ? "> " + reference : equal);
+            }
+        }
+    }
+}
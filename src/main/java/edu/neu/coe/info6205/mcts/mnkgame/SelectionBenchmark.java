@@ -0,0 +1,72 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.ArrayTree;
+import edu.neu.coe.info6205.mcts.core.ArrayUCTSearch;
+import edu.neu.coe.info6205.mcts.core.SearchBudget;
+import edu.neu.coe.info6205.mcts.core.SelectionPolicy;
+import edu.neu.coe.info6205.mcts.core.State;
+
+import java.util.Random;
+
+/**
+ * Benchmark of the selection policies: for each policy and each of a range of iteration budgets, a number of games of
+ * an m,n,k-game are played between an ArrayUCTSearch using that policy and budget and a reference ArrayUCTSearch using
+ * UCB1 with a fixed budget (each side playing first in half of the games).
+ * The score of the policy (a win counting 1 and a draw 1/2) is reported with its standard error.
+ * <p>
+ * Arguments (all optional): games per entry, reference budget, rows, columns, k.
+ */
+public class SelectionBenchmark {
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int reference = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int columns = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        int k = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+        int[] budgets = {reference / 4, reference / 2, reference, reference * 2};
+        String[] policies = {"ucb1", "ucb1-tuned", "puct", "thompson"};
+        MNKGame game = new MNKGame(rows, columns, k, 0L);
+        System.out.printf("%d,%d,%d: score against UCB1 with %d iterations over %d games%n", rows, columns, k, reference, games);
+        System.out.printf("%-12s", "policy");
+        for (int budget : budgets) System.out.printf("%18s", budget + " iterations");
+        System.out.println();
+        for (String name : policies) {
+            System.out.printf("%-12s", name);
+            for (int budget : budgets) {
+                Random random = new Random(budget);
+                double score = 0, squares = 0;
+                for (int i = 0; i < games; i++) {
+                    // the policy plays X (and so moves first) in the even-numbered games
+                    int player = i % 2 == 0 ? MNKGame.X : MNKGame.O;
+                    double s = play(game, SelectionPolicy.valueOf(name), budget, player, reference, random);
+                    score += s;
+                    squares += s * s;
+                }
+                double mean = score / games;
+                double error = Math.sqrt(Math.max(0, squares / games - mean * mean) / games);
+                System.out.printf("%18s", String.format("%.3f +/- %.3f", mean, error));
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Play one game between a search with the given policy and budget and a reference search using UCB1.
+     *
+     * @param player the player (X or O) of the search with the given policy.
+     * @return the score of that search: 1 for a win, 0.5 for a draw, 0 for a loss.
+     */
+    static double play(MNKGame game, SelectionPolicy policy, int budget, int player, int reference, Random random) {
+        State<MNKGame> state = game.start();
+        ArrayTree tree = new ArrayTree();
+        while (!state.isTerminal()) {
+            boolean ours = state.player() == player;
+            ArrayUCTSearch<MNKGame> search = ours ?
+                    new ArrayUCTSearch<>(state, tree, new Random(random.nextLong()), policy) :
+                    new ArrayUCTSearch<>(state, tree, new Random(random.nextLong()));
+            state = search.search(SearchBudget.iterations(ours ? budget : reference)).bestState();
+        }
+        return state.winner().map(w -> w == player ? 1.0 : 0.0).orElse(0.5);
+    }
+}
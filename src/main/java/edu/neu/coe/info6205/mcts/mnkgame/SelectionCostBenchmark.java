@@ -0,0 +1,124 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.ConcurrentNode;
+import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.NodeChildren;
+import edu.neu.coe.info6205.mcts.core.SelectionPolicy;
+import edu.neu.coe.info6205.mcts.core.UCB1;
+import edu.neu.coe.info6205.mcts.core.UCTSearch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Microbenchmark of the cost of one selection step (choosing a child by UCT), for nodes with 9, 49 and 225 children
+ * (the empty 3x3, 7x7 and 15x15 boards) whose children have random statistics.
+ * Four implementations are compared:
+ * <ul>
+ *     <li>stream: a stream over the children with Comparator.comparing, computing log(parent playouts) for each child
+ *     (as selection used to be written);</li>
+ *     <li>loop: a loop over the children, computing the log once, with Math.sqrt for each child;</li>
+ *     <li>UCB1 (Node): the UCB1 SelectionPolicy (which uses the tables of FastMath) over the children of a Node;</li>
+ *     <li>UCB1 (arrays): the UCB1 SelectionPolicy over statistics in primitive arrays (as in an ArrayTree).</li>
+ * </ul>
+ * The time per selection and per child is reported, after a warmup.
+ */
+public class SelectionCostBenchmark {
+
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        for (int size : new int[]{3, 7, 15}) {
+            Random random = new Random(0L);
+            ConcurrentNode<MNKGame> parent = new ConcurrentNode<>(new MNKGame(size, size, Math.min(size, 5), 0L).start(), null);
+            parent.expand();
+            List<Node<MNKGame>> children = new ArrayList<>(parent.children());
+            int[] wins = new int[children.size()];
+            int[] playouts = new int[children.size()];
+            for (int i = 0; i < children.size(); i++) {
+                playouts[i] = 1 + random.nextInt(2000);
+                wins[i] = random.nextInt(2 * playouts[i] + 1);
+                children.get(i).addPlayouts(playouts[i]);
+                children.get(i).addWins(wins[i]);
+                parent.addPlayouts(playouts[i]);
+            }
+            SelectionPolicy policy = new UCB1();
+            NodeChildren<MNKGame> nodeChildren = new NodeChildren<>();
+            SelectionPolicy.Children arrayChildren = new SelectionPolicy.Children() {
+                public int size() {
+                    return wins.length;
+                }
+
+                public int parentPlayouts() {
+                    return parent.playouts();
+                }
+
+                public int wins(int i) {
+                    return wins[i];
+                }
+
+                public int playouts(int i) {
+                    return playouts[i];
+                }
+            };
+            List<Node<MNKGame>> nodes = children;
+            run(size, "stream", millis, children.size(), n -> nodes.indexOf(streamSelect(parent)));
+            run(size, "loop", millis, children.size(), n -> loopSelect(parent, nodes));
+            run(size, "UCB1 (Node)", millis, children.size(), n -> policy.select(nodeChildren.of(parent), random));
+            run(size, "UCB1 (arrays)", millis, children.size(), n -> policy.select(arrayChildren, random));
+        }
+    }
+
+    /**
+     * Run selection repeatedly (first to warm up, then for the given time) and report the time per selection.
+     */
+    private static void run(int size, String label, long millis, int children, IntUnaryOperator select) {
+        long sink = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            long count = 0;
+            long start = System.nanoTime();
+            long deadline = start + millis * 1_000_000;
+            while (System.nanoTime() < deadline)
+                for (int i = 0; i < 1000; i++, count++) sink += select.applyAsInt(i);
+            SelectionCostBenchmark.sink = sink;
+            long nanos = System.nanoTime() - start;
+            if (pass == 1)
+                System.out.printf("%2dx%-2d %-14s: %,8.1f ns/selection, %6.2f ns/child%n",
+                        size, size, label, (double) nanos / count, (double) nanos / count / children);
+        }
+    }
+
+    private static Node<MNKGame> streamSelect(Node<MNKGame> node) {
+        return node.children().stream()
+                .max(Comparator.comparing(c -> uctValue(node, c)))
+                .orElseThrow(() -> new IllegalStateException("No children nodes found"));
+    }
+
+    private static double uctValue(Node<MNKGame> parent, Node<MNKGame> child) {
+        int totalVisits = parent.playouts();
+        int numVisits = child.playouts();
+        if (numVisits == 0) return Double.MAX_VALUE;
+        return child.wins() / (2.0 * numVisits) + UCTSearch.EXPLORATION_CONSTANT * Math.sqrt(Math.log(totalVisits) / numVisits);
+    }
+
+    private static int loopSelect(Node<MNKGame> node, List<Node<MNKGame>> children) {
+        double logParent = Math.log(node.playouts());
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < children.size(); i++) {
+            Node<MNKGame> child = children.get(i);
+            int playouts = child.playouts();
+            double value = child.wins() / (2.0 * playouts) + UCTSearch.EXPLORATION_CONSTANT * Math.sqrt(logParent / playouts);
+            if (value > bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    // the sum of the indices selected, so that the selections cannot be optimized away
+    private static volatile long sink;
+}
@@ -0,0 +1,69 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.ConcurrentNode;
+import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.State;
+import edu.neu.coe.info6205.mcts.core.TreeSerializer;
+import edu.neu.coe.info6205.mcts.core.UCTSearch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Benchmark of TreeSerializer: a tree of ConcurrentNode is grown by UCTSearch from the empty board of an m,n,k-game,
+ * then written to memory and read back (five times, after a warmup), and written to a file and read back once.
+ * The nodes and bytes per second of each are reported.
+ * <p>
+ * Arguments (all optional): iterations, rows, columns, k.
+ */
+public class SerializationBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+        int columns = args.length > 2 ? Integer.parseInt(args[2]) : 7;
+        int k = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        State<MNKGame> start = new MNKGame(rows, columns, k, 0L).start();
+        Node<MNKGame> root = new ConcurrentNode<>(start, null);
+        new UCTSearch<>(root, new Random(0L)).run(iterations);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long nodes = TreeSerializer.write(root, bytes);
+        System.out.printf("%d,%d,%d after %,d iterations: %,d nodes, %,d bytes (%.2f bytes/node)%n",
+                rows, columns, k, iterations, nodes, bytes.size(), (double) bytes.size() / nodes);
+        for (int pass = 0; pass < 6; pass++) {
+            // the copy made by the previous pass is collected first, so that it is not timed
+            System.gc();
+            bytes.reset();
+            long begin = System.nanoTime();
+            TreeSerializer.write(root, bytes);
+            long write = System.nanoTime() - begin;
+            begin = System.nanoTime();
+            TreeSerializer.read(new ByteArrayInputStream(bytes.toByteArray()), new ConcurrentNode<>(start, null));
+            long read = System.nanoTime() - begin;
+            if (pass > 0) report("memory", nodes, bytes.size(), write, read);
+        }
+        Path path = Files.createTempFile("tree", ".mcts");
+        try {
+            System.gc();
+            long begin = System.nanoTime();
+            TreeSerializer.write(root, path);
+            long write = System.nanoTime() - begin;
+            begin = System.nanoTime();
+            Node<MNKGame> copy = TreeSerializer.read(path, new ConcurrentNode<>(start, null));
+            long read = System.nanoTime() - begin;
+            report("file", nodes, Files.size(path), write, read);
+            if (copy.playouts() != root.playouts()) throw new IllegalStateException("the tree was not read back");
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static void report(String label, long nodes, long bytes, long write, long read) {
+        System.out.printf("%-6s write %,6.1f ms (%,5.1f M nodes/s, %,6.1f MB/s)   read %,6.1f ms (%,5.1f M nodes/s, %,6.1f MB/s)%n",
+                label, write / 1e6, nodes * 1e3 / write, bytes * 1e3 / write, read / 1e6, nodes * 1e3 / read, bytes * 1e3 / read);
+    }
+}
@@ -0,0 +1,65 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.ArrayTree;
+import edu.neu.coe.info6205.mcts.core.ArrayUCTSearch;
+import edu.neu.coe.info6205.mcts.core.ConcurrentNode;
+import edu.neu.coe.info6205.mcts.core.SearchBudget;
+import edu.neu.coe.info6205.mcts.core.SearchResult;
+import edu.neu.coe.info6205.mcts.core.UCTSearch;
+
+import java.util.Random;
+
+/**
+ * Benchmark of the two tree representations: a tree of Node objects (searched by UCTSearch) and an ArrayTree
+ * (searched by ArrayUCTSearch).
+ * For each board, a search is run from the empty board until a given number of nodes has been added, and the heap
+ * retained by the tree (measured after garbage collection) per node and the iterations per second are reported.
+ * Then, searches with an ArrayTree bounded to a tenth of that number of nodes are run for longer, and their nodes,
+ * pruned nodes, bytes used by the tree and heap in use are reported every second, to show that they run in constant
+ * memory.
+ */
+public class TreeBenchmark {
+
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int[][] boards = {{9, 9, 4}, {15, 15, 5}};
+        for (int[] b : boards) {
+            MNKGameState start = (MNKGameState) new MNKGame(b[0], b[1], b[2], 0L).start();
+            for (int pass = 0; pass < 2; pass++) {
+                // the first pass is a warmup
+                boolean report = pass == 1;
+                long before = usedHeap();
+                UCTSearch<MNKGame> objects = new UCTSearch<>(new ConcurrentNode<>(start, null), new Random(0L));
+                SearchResult<MNKGame> result = objects.search(SearchBudget.nodes(nodes));
+                long bytes = usedHeap() - before;
+                if (report) print(b, "Node", result, bytes, nodes);
+                objects = null;
+                before = usedHeap();
+                ArrayUCTSearch<MNKGame> arrays = new ArrayUCTSearch<>(start, new ArrayTree(nodes + 1024), new Random(0L));
+                result = arrays.search(SearchBudget.nodes(nodes));
+                bytes = usedHeap() - before;
+                if (report) print(b, "ArrayTree", result, bytes, arrays.tree().size());
+            }
+        }
+        MNKGameState start = (MNKGameState) new MNKGame(15, 15, 5, 0L).start();
+        for (ArrayTree.Pruning pruning : ArrayTree.Pruning.values()) {
+            ArrayUCTSearch<MNKGame> bounded = new ArrayUCTSearch<>(start, new ArrayTree(1024, nodes / 10, pruning), new Random(0L));
+            for (int i = 0; i < 5; i++) {
+                SearchResult<MNKGame> result = bounded.search(SearchBudget.millis(1000));
+                System.out.printf("15,15,5 %-13s: %,10d nodes, %,12d pruned, %,12d tree bytes, %,14d heap bytes, %,10.0f iterations/sec%n",
+                        pruning, bounded.tree().size(), bounded.tree().pruned(), bounded.tree().bytes(), usedHeap(), result.iterationsPerSecond());
+            }
+        }
+    }
+
+    private static void print(int[] b, String label, SearchResult<MNKGame> result, long bytes, int nodes) {
+        System.out.printf("%2d,%2d,%d %-9s: %,10d nodes, %,8.1f bytes/node, %,10.0f iterations/sec%n",
+                b[0], b[1], b[2], label, nodes, (double) bytes / nodes, result.iterationsPerSecond());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
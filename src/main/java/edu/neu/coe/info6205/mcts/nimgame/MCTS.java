@@ -1,126 +1,270 @@
 package edu.neu.coe.info6205.mcts.nimgame;
 
+import edu.neu.coe.info6205.mcts.core.FastMath;
+import edu.neu.coe.info6205.mcts.core.FastRandom;
 import edu.neu.coe.info6205.mcts.core.Move;
 import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.NodeChildren;
+import edu.neu.coe.info6205.mcts.core.Oracle;
+import edu.neu.coe.info6205.mcts.core.PlayoutPolicy;
+import edu.neu.coe.info6205.mcts.core.SearchBudget;
+import edu.neu.coe.info6205.mcts.core.SelectionPolicy;
 import edu.neu.coe.info6205.mcts.core.State;
+import edu.neu.coe.info6205.mcts.core.Telemetry;
 
 import java.util.*;
 
 public class MCTS {
-    private final Node<NimGame> root;
+    private Node<NimGame> root;
     private final static double EXPLORATION_CONSTANT = Math.sqrt(2);
-    private final Random random = new Random();
+    // sqrt(log((1 + n + c) / c) / n) for small n (see explorationFactor)
+    private static final double[] EXPLORATION_FACTORS = new double[FastMath.TABLE_SIZE];
 
-    public MCTS(Node<NimGame> root) {
+    static {
+        for (int n = 0; n < EXPLORATION_FACTORS.length; n++)
+            EXPLORATION_FACTORS[n] = Math.sqrt(Math.log((1 + n + EXPLORATION_CONSTANT) / EXPLORATION_CONSTANT) / n);
+    }
+
+    // the default coefficient of progressive widening (see allowedChildren)
+    public static final double WIDENING = 1.0;
+
+    private final Random random = new FastRandom(); // used only by the searching thread, so it need not be a (synchronized) Random
+    private final NimGameRollout rollout = new NimGameRollout();
+    private final SelectionPolicy policy;
+    private final double widening;
+    private final Oracle<NimGame> oracle;
+    private final NodeChildren<NimGame> children = new NodeChildren<>(2); // a win counts 1 here, but 2 for a policy
+    private volatile SearchBudget.Tracker tracker;
+    private Telemetry telemetry;
+    private PlayoutPolicy<NimGame> playoutPolicy = NimPlayoutPolicy.LARGEST_PILE;
+
+    // Selects children by the given SelectionPolicy (or by uctValue if it is null), a node being allowed
+    // 1 + widening * sqrt(playouts) children (progressive widening; with an infinite widening, every move is tried
+    // before any child is revisited)
+    // With an oracle, positions which it covers are answered by it without any search (see runMCTS)
+    public MCTS(Node<NimGame> root, SelectionPolicy policy, double widening, Oracle<NimGame> oracle) {
         this.root = root;
+        this.policy = policy;
+        this.widening = widening;
+        this.oracle = oracle;
+    }
+
+    public MCTS(Node<NimGame> root, SelectionPolicy policy, double widening) {
+        this(root, policy, widening, null);
+    }
+
+    public MCTS(Node<NimGame> root, Oracle<NimGame> oracle) {
+        this(root, null, WIDENING, oracle);
+    }
+
+    // Selects children by the given SelectionPolicy instead of by uctValue
+    public MCTS(Node<NimGame> root, SelectionPolicy policy) {
+        this(root, policy, WIDENING);
+    }
+
+    public MCTS(Node<NimGame> root) {
+        this(root, null, WIDENING);
     }
 
     public Node<NimGame> runMCTS(int iterations) {
-        for (int i = 0; i < iterations; i++) {
-            Node<NimGame> selectedNode = select(root);
-            if (!selectedNode.isLeaf()) {
-                selectedNode = expand(selectedNode);
+        return runMCTS(SearchBudget.iterations(iterations));
+    }
+
+    // Runs MCTS until the budget (iterations, nodes and/or time) is exhausted or stop() is called;
+    // if there is an oracle which covers the root, its move is returned at once (as a child of the root, and with an
+    // empty record if there is a Telemetry)
+    public Node<NimGame> runMCTS(SearchBudget budget) {
+        if (oracle != null && !root.isLeaf()) {
+            Optional<Move<NimGame>> move = oracle.move(root.state());
+            if (move.isPresent()) {
+                Node<NimGame> chosen = child(root, root.state().next(move.get()));
+                if (telemetry != null) {
+                    telemetry.start();
+                    telemetry.finish(root);
+                }
+                return chosen;
+            }
+        }
+        SearchBudget.Tracker current = budget.start();
+        tracker = current;
+        Telemetry recorder = telemetry;
+        if (recorder != null) recorder.start();
+        try {
+            while (current.proceed()) {
+                if (recorder != null) recorder.enter(Telemetry.Phase.SELECT);
+                Node<NimGame> selectedNode = select(root);
+                if (!selectedNode.isLeaf()) {
+                    if (recorder != null) recorder.enter(Telemetry.Phase.EXPAND);
+                    selectedNode = expand(selectedNode);
+                    current.addNodes(1);
+                    if (recorder != null) recorder.addNodes(1);
+                }
+                if (recorder != null) recorder.enter(Telemetry.Phase.SIMULATE);
+                int simulationResult = simulate(selectedNode);
+                if (recorder != null) recorder.enter(Telemetry.Phase.BACKPROPAGATE);
+                backPropagate(selectedNode, simulationResult);
+                if (recorder != null) recorder.iteration(selectedNode, !selectedNode.isLeaf());
             }
-            int simulationResult = simulate(selectedNode);
-            backPropagate(selectedNode, simulationResult);
+        } finally {
+            tracker = null;
         }
+        if (recorder != null) recorder.finish(root);
         return bestChild(root);
     }
 
-    private Node<NimGame> select(Node<NimGame> node) {
+    // Records each decision (i.e. each call of runMCTS) in the given Telemetry, or in none if it is null
+    public void setTelemetry(Telemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    // Plays out by the given PlayoutPolicy (e.g. NimPlayoutPolicy.NIM_SUM, or PlayoutPolicy.uniform()) instead of
+    // NimPlayoutPolicy.LARGEST_PILE
+    public void setPlayoutPolicy(PlayoutPolicy<NimGame> playoutPolicy) {
+        this.playoutPolicy = playoutPolicy;
+    }
+
+    // Asks a running search (possibly on another thread) to stop and return the best move found so far
+    public void stop() {
+        SearchBudget.Tracker current = tracker;
+        if (current != null) current.stop();
+    }
+
+    // Returns the current root of the search tree
+    public Node<NimGame> root() {
+        return root;
+    }
+
+    // Advances the root to the subtree for the state actually reached (by our move or the opponent's),
+    // keeping its statistics and detaching it so that the rest of the tree can be garbage-collected
+    public Node<NimGame> advance(State<NimGame> state) {
+        Node<NimGame> next = null;
+        for (Node<NimGame> child : root.children())
+            if (child.state().equals(state) && (next == null || child.playouts() > next.playouts())) next = child;
+        if (next == null) next = new NimGameNode(state, null);
+        else next.detach();
+        root = next;
+        return next;
+    }
+
+    // Advances the root according to the move played from the current root
+    public Node<NimGame> advance(Move<NimGame> move) {
+        return advance(root.state().next(move));
+    }
+
+    Node<NimGame> select(Node<NimGame> node) {
         Node<NimGame> currentNode = node;
         while (!currentNode.isLeaf()) {
-            if (currentNode.children().isEmpty()) {
+            if (canWiden(currentNode)) {
                 return currentNode;
+            } else if (policy != null) {
+                children.of(currentNode);
+                currentNode = children.get(policy.select(children, random));
             } else {
-                final int currentPlayouts = currentNode.playouts();
-                currentNode = Collections.max(currentNode.children(),
-                        Comparator.comparing(c -> uctValue(c, currentPlayouts)));
+                // the log of the parent's playouts is computed once; the children are iterated without boxing
+                double sqrtLogTotal = Math.sqrt(FastMath.log(currentNode.playouts()));
+                Node<NimGame> best = null;
+                double bestValue = 0;
+                for (Node<NimGame> child : currentNode.children()) {
+                    double value = uctValue(child, sqrtLogTotal);
+                    if (best == null || Double.compare(value, bestValue) > 0) {
+                        best = child;
+                        bestValue = value;
+                    }
+                }
+                currentNode = best;
             }
         }
         return currentNode;
     }
 
+    // Progressive widening: a node may have another child if it has fewer than allowedChildren and if some move
+    // remains untried
+    private boolean canWiden(Node<NimGame> node) {
+        int size = node.children().size();
+        return size == 0 || size < allowedChildren(node.playouts()) && size < ((NimGameState) node.state()).moveCount();
+    }
+
+    // Returns the number of children allowed to a node with the given playouts: 1 + widening * sqrt(playouts)
+    int allowedChildren(int playouts) {
+        double allowed = 1 + widening * FastMath.sqrt(playouts);
+        return allowed >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) allowed;
+    }
+
     double uctValue(Node<NimGame> node, int totalPlayouts) {
-        double baseExploration = EXPLORATION_CONSTANT;
-        double dynamicFactor = Math.log((1 + node.playouts() + baseExploration) / baseExploration);
+        return uctValue(node, Math.sqrt(FastMath.log(totalPlayouts)));
+    }
+
+    // Calculates the UCT value with a "dynamic factor" which grows with the playouts of the node:
+    // winRate + sqrt(log((1 + playouts + c) / c) * log(totalPlayouts) / playouts),
+    // given the square root of the log of the parent's playouts
+    private double uctValue(Node<NimGame> node, double sqrtLogTotal) {
         double winRate = (double) node.wins() / node.playouts();
-        double explorationValue = Math.sqrt(dynamicFactor * Math.log(totalPlayouts) / node.playouts());
-        return winRate + explorationValue;
+        return winRate + sqrtLogTotal * explorationFactor(node.playouts());
+    }
+
+    // Returns sqrt(log((1 + playouts + c) / c) / playouts), from a table for small numbers of playouts
+    private static double explorationFactor(int playouts) {
+        if (playouts < EXPLORATION_FACTORS.length) return EXPLORATION_FACTORS[playouts];
+        double dynamicFactor = Math.log((1 + playouts + EXPLORATION_CONSTANT) / EXPLORATION_CONSTANT);
+        return Math.sqrt(dynamicFactor / playouts);
     }
 
+    // Adds one child to a node: the strategic move for the first child, then untried moves at random
     Node<NimGame> expand(Node<NimGame> node) {
-        makeStrategicMove(node.state(), node);
+        int before = node.children().size();
+        if (before == 0) makeStrategicMove(node.state(), node);
+        else addUntriedMove((NimGameState) node.state(), node);
         Collection<Node<NimGame>> children = node.children();
-        if (!children.isEmpty()) {
+        if (children.size() > before) {
             List<Node<NimGame>> childrenList = new ArrayList<>(children);
             return childrenList.get(childrenList.size() - 1);
         }
-
-        // If no strategic move generates a new node, randomly select a move to expand
-        List<Move<NimGame>> moves = new ArrayList<>(node.state().moves(node.state().player()));
-        if (!moves.isEmpty()) {
-            Move<NimGame> selectedMove = moves.get(random.nextInt(moves.size()));
-            State<NimGame> newState = node.state().next(selectedMove);
-            Node<NimGame> newNode = new NimGameNode(newState, node);
-            node.children().add(newNode);
-            return newNode;
-        }
         return null;
     }
 
-    private Move<NimGame> selectBestMove(Node<NimGame> node, List<Move<NimGame>> moves) {
-        int bestScore = Integer.MAX_VALUE;
-        Move<NimGame> bestMove = null;
-
-        for (Move<NimGame> move : moves) {
-            // Apply the move and get the new state
-            State<NimGame> newState = node.state().next(move);
-
-            int score = evaluateState((NimGameState)newState);
-
-            if (score < bestScore) {
-                bestScore = score;
-                bestMove = move;
+    // Adds a child for a move which has no child yet, without generating all the moves: while most moves are untried,
+    // moves are drawn at random until an untried one is found; otherwise the moves are scanned from a random start
+    private void addUntriedMove(NimGameState state, Node<NimGame> node) {
+        int count = state.moveCount();
+        int tried = node.children().size();
+        if (tried >= count) return;
+        if (2 * tried < count) {
+            while (true) {
+                NimGameState next = state.next(state.move(random.nextInt(count)));
+                if (!hasChild(node, next)) {
+                    node.children().add(new NimGameNode(next, node));
+                    return;
+                }
             }
         }
-
-        return bestMove;
-    }
-
-    private int evaluateState(NimGameState state) {
-        int[] piles = state.getPiles();
-        int xorSum = 0;
-
-        for (int pile : piles) {
-            xorSum ^= pile;
+        int start = random.nextInt(count);
+        for (int i = 0; i < count; i++) {
+            NimGameState next = state.next(state.move((start + i) % count));
+            if (!hasChild(node, next)) {
+                node.children().add(new NimGameNode(next, node));
+                return;
+            }
         }
-
-        return xorSum;
     }
 
-    int simulate(Node<NimGame> node) {
-        Node<NimGame> currentNode = node;
-        while (!currentNode.state().isTerminal()) {
-            List<Move<NimGame>> possibleMoves = heuristicMoves(currentNode);
-            Move<NimGame> selectedMove = possibleMoves.isEmpty() ? null : selectHeuristicMove(possibleMoves, currentNode);
-            if (selectedMove != null) {
-                currentNode = new NimGameNode(currentNode.state().next(selectedMove), currentNode.getParent());
-            }
-        }
-        return currentNode.state().winner().orElse(-1);
+    // Returns the child of node for the given state, adding it if there is none
+    private static Node<NimGame> child(Node<NimGame> node, State<NimGame> state) {
+        for (Node<NimGame> child : node.children()) if (child.state().equals(state)) return child;
+        Node<NimGame> child = new NimGameNode(state, node);
+        node.children().add(child);
+        return child;
     }
 
-    private Move<NimGame> selectHeuristicMove(List<Move<NimGame>> moves, Node<NimGame> node) {
-        // Prioritize moves that reduce the number of stones in the pile the most
-        moves.sort((m1, m2) -> Integer.compare(((NimGameMove)m2).getPileReduction(), ((NimGameMove)m1).getPileReduction()));
-        return moves.get(0);
+    private static boolean hasChild(Node<NimGame> node, State<NimGame> state) {
+        for (Node<NimGame> child : node.children()) if (child.state().equals(state)) return true;
+        return false;
     }
 
-    private List<Move<NimGame>> heuristicMoves(Node<NimGame> node) {
-        List<Move<NimGame>> moves = new ArrayList<>((List<Move<NimGame>>) node.state().moves(node.state().player()));
-        Collections.shuffle(moves);
-        return moves;
+    // Simulates play to the end of the game by the playout policy (by default, that of taking the whole of the largest
+    // pile), on a Rollout which is updated in place so that no garbage is created
+    int simulate(Node<NimGame> node) {
+        rollout.reset(node.state());
+        return playoutPolicy.playout(rollout, random);
     }
 
     private void makeStrategicMove(State<NimGame> state, Node<NimGame> currentNode) {
@@ -150,21 +294,23 @@ public class MCTS {
             }
         }
 
-        // Random move
-        List<Move<NimGame>> moves = (List<Move<NimGame>>) state.moves(state.player());
-        if (!moves.isEmpty()) {
-            Move<NimGame> move = moves.get(random.nextInt(moves.size()));
+        // Random move (drawn without generating all the moves)
+        NimGameState nimState = (NimGameState) state;
+        if (nimState.moveCount() > 0) {
+            Move<NimGame> move = nimState.move(random.nextInt(nimState.moveCount()));
             State<NimGame> newState = state.next(move);
             Node<NimGame> newNode = new NimGameNode(newState, currentNode);
             currentNode.children().add(newNode);
         }
     }
 
+    // Back-propagates the result of a playout; a win is credited to the player who played to each node (the player who
+    // chooses it), i.e. not to the player who is to move in its state
     void backPropagate(Node<NimGame> node, int result) {
         Node<NimGame> currentNode = node;
         while (currentNode != null) {
             currentNode.incrementPlayouts();
-            if (result == currentNode.state().player()) {
+            if (result == 1 - currentNode.state().player()) {
                 currentNode.addWins(1);
             }
             currentNode = currentNode.getParent();
@@ -177,23 +323,44 @@ public class MCTS {
 
     public static void main(String[] args) {
         int totalGames = 1000;
-        boolean detailedDisplay = true;
+        int iterations = 1000;
+
+        // MCTS AI against a simple AI: first rebuilding the tree from scratch for every move, then reusing it
+        playAgainstSimpleAI(totalGames, iterations, false, true);
+        playAgainstSimpleAI(totalGames, iterations, true, false);
+
+        runSimpleAIGames(totalGames);
+    }
 
+    // Plays MCTS AI against the simple AI and reports the win probability, the playouts retained per move and the time
+    // per move. With reuse, the tree follows both players' moves and the retained playouts count towards the iterations.
+    private static void playAgainstSimpleAI(int totalGames, int iterations, boolean reuse, boolean detailedDisplay) {
         int mctsWins = 0; // Count of MCTS AI victories
+        long moves = 0;
+        long retained = 0;
+        long nanos = 0;
         for (int gameCount = 0; gameCount < totalGames; gameCount++) {
             NimGame game = new NimGame();
             Node<NimGame> rootNode = new NimGameNode(game.start(), null);
+            MCTS mcts = new MCTS(rootNode);
             boolean isMctsTurn = true;
 
             while (!rootNode.state().isTerminal()) {
                 if (isMctsTurn) {
-                    rootNode = new MCTS(rootNode).runMCTS(1000); // MCTS AI makes a decision
+                    if (!reuse) mcts = new MCTS(new NimGameNode(rootNode.state(), null));
+                    retained += mcts.root().playouts();
+                    long start = System.nanoTime();
+                    rootNode = mcts.runMCTS(reuse ? Math.max(1, iterations - mcts.root().playouts()) : iterations); // MCTS AI makes a decision
+                    nanos += System.nanoTime() - start;
+                    moves++;
+                    if (reuse) rootNode = mcts.advance(rootNode.state());
                     if (detailedDisplay) {
                         System.out.println("MCTS AI made a move:");
                         printPiles(((NimGameState)rootNode.state()).getPiles());
                     }
                 } else {
                     rootNode = simpleAiMove(rootNode); // Simple AI makes a random decision
+                    if (reuse) rootNode = mcts.advance(rootNode.state());
                     if (detailedDisplay) {
                         System.out.println("Simple AI made a move:");
                         printPiles(((NimGameState)rootNode.state()).getPiles());
@@ -210,10 +377,9 @@ public class MCTS {
             detailedDisplay = false; // Display details only for the first game
         }
 
-        System.out.println("MCTS AI won " + mctsWins + " out of " + totalGames + " games.");
+        System.out.println("MCTS AI" + (reuse ? " (reusing tree)" : " (rebuilding tree)") + " won " + mctsWins + " out of " + totalGames + " games.");
         System.out.println("Win Probability: " + ((double) mctsWins / totalGames));
-
-        runSimpleAIGames(totalGames);
+        System.out.printf("    average playouts retained per move: %.1f, average time per move: %.3f ms%n", (double) retained / moves, nanos / 1E6 / moves);
     }
 
     // Run a game between two simple AIs
@@ -239,11 +405,11 @@ public class MCTS {
 
     // Method for simple AI to randomly select a legal move
     private static Node<NimGame> simpleAiMove(Node<NimGame> node) {
-        List<Move<NimGame>> moves = (List<Move<NimGame>>) node.state().moves(node.state().player());
-        if (moves.isEmpty()) {
+        NimGameState state = (NimGameState) node.state();
+        if (state.moveCount() == 0) {
             return node;
         }
-        Move<NimGame> move = moves.get(new Random().nextInt(moves.size()));
+        Move<NimGame> move = state.move(FastRandom.current().nextInt(state.moveCount()));
         return new NimGameNode(node.state().next(move), node);
     }
 
@@ -7,7 +7,7 @@ import java.util.Collection;
 
 public class NimGameNode implements Node<NimGame> {
     private final State<NimGame> state;
-    private final Node<NimGame> parent;
+    private Node<NimGame> parent;
     private final Collection<Node<NimGame>> children = new ArrayList<>();
     private int wins;        // Number of wins accumulated in this node
     private int playouts;    // Total number of playouts from this node
@@ -67,6 +67,11 @@ public class NimGameNode implements Node<NimGame> {
         playouts++;
     }
 
+    @Override
+    public void addPlayouts(int playouts) {
+        this.playouts += playouts;
+    }
+
     @Override
     public void addWins(int wins) {
         // Adds the specified number of wins to this node's total
@@ -77,4 +82,9 @@ public class NimGameNode implements Node<NimGame> {
     public Node<NimGame> getParent() {
         return parent;
     }
+
+    @Override
+    public void detach() {
+        parent = null;
+    }
 }
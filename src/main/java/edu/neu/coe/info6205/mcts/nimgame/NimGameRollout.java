@@ -0,0 +1,108 @@
+package edu.neu.coe.info6205.mcts.nimgame;
+
+import edu.neu.coe.info6205.mcts.core.Rollout;
+import edu.neu.coe.info6205.mcts.core.State;
+
+/**
+ * A Rollout of Nim: the piles of a NimGameState, updated in place.
+ * The arrays are allocated when first needed (or when a larger game is reset); after that, a Rollout allocates nothing.
+ */
+public class NimGameRollout implements Rollout<NimGame> {
+
+    public void reset(State<NimGame> state) {
+        NimGameState nimState = (NimGameState) state;
+        int[] source = nimState.piles();
+        if (piles.length != source.length) piles = new int[source.length];
+        System.arraycopy(source, 0, piles, 0, source.length);
+        stones = 0;
+        for (int pile : piles) stones += pile;
+        if (pileHistory.length < stones) {
+            pileHistory = new int[stones];
+            numberHistory = new int[stones];
+        }
+        player = nimState.player();
+        depth = 0;
+    }
+
+    public boolean isTerminal() {
+        return stones == 0;
+    }
+
+    public int player() {
+        return player;
+    }
+
+    /**
+     * @return the number of moves, i.e. the number of stones (any number of stones may be taken from a pile).
+     */
+    public int moves() {
+        return stones;
+    }
+
+    /**
+     * Make the index-th move, in the order of NimGameState.moves: pile by pile, taking 1, 2, ... stones.
+     *
+     * @param index a number less than moves().
+     */
+    public void apply(int index) {
+        int pile = 0;
+        while (index >= piles[pile]) index -= piles[pile++];
+        take(pile, index + 1);
+    }
+
+    /**
+     * Take stones from a pile.
+     *
+     * @param pile   the index of the pile.
+     * @param number the number of stones to take (at least 1 and at most the size of the pile).
+     */
+    public void take(int pile, int number) {
+        if (number < 1 || number > piles[pile]) throw new IllegalArgumentException("cannot take " + number + " from pile " + pile);
+        piles[pile] -= number;
+        stones -= number;
+        pileHistory[depth] = pile;
+        numberHistory[depth++] = number;
+        player = 1 - player;
+    }
+
+    public void undo() {
+        if (depth == 0) throw new IllegalStateException("no move to undo");
+        int number = numberHistory[--depth];
+        piles[pileHistory[depth]] += number;
+        stones += number;
+        player = 1 - player;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return the winner: the player who took the last stone (as in NimGameState.winner), or -1 if the game is not over.
+     */
+    public int winner() {
+        return stones == 0 ? 1 - player : -1;
+    }
+
+    /**
+     * @return the number of piles.
+     */
+    public int piles() {
+        return piles.length;
+    }
+
+    /**
+     * @param i the index of a pile.
+     * @return the number of stones in pile i.
+     */
+    public int pile(int i) {
+        return piles[i];
+    }
+
+    private int[] piles = new int[0];
+    private int[] pileHistory = new int[0];
+    private int[] numberHistory = new int[0];
+    private int stones;
+    private int player;
+    private int depth;
+}
@@ -1,18 +1,31 @@
 package edu.neu.coe.info6205.mcts.nimgame;
 
+import edu.neu.coe.info6205.mcts.core.FastRandom;
 import edu.neu.coe.info6205.mcts.core.State;
 import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.Rollout;
+import edu.neu.coe.info6205.mcts.core.Zobrist;
 import java.util.*;
 
 public class NimGameState implements State<NimGame> {
 
     private final int[] piles; // Array representing the number of stones in each pile
-    private final Random random = new Random();
     private int currentPlayer; // Current player's identifier
+    private final long hash; // Zobrist hash of the piles and the current player
 
     public NimGameState(int[] piles, int currentPlayer) {
         this.piles = piles.clone(); // Ensure a deep copy to prevent mutation of the original array
         this.currentPlayer = currentPlayer;
+        long h = currentPlayer == 1 ? SIDE_KEY : 0L;
+        for (int i = 0; i < piles.length; i++) h ^= Zobrist.key(i, piles[i]);
+        this.hash = h;
+    }
+
+    // Takes ownership of piles and uses a hash derived incrementally from the previous state
+    private NimGameState(int[] piles, int currentPlayer, long hash) {
+        this.piles = piles;
+        this.currentPlayer = currentPlayer;
+        this.hash = hash;
     }
 
     @Override
@@ -28,14 +41,36 @@ public class NimGameState implements State<NimGame> {
 
     @Override
     public List<Move<NimGame>> moves(int player) {
-        // Generates all possible moves for the current state
-        List<Move<NimGame>> moves = new ArrayList<>();
-        for (int i = 0; i < piles.length; i++) {
-            for (int numToRemove = 1; numToRemove <= piles[i]; numToRemove++) {
-                moves.add(new NimGameMove(i, numToRemove));
+        // A view of all the possible moves (pile by pile, taking 1, 2, ... stones): a move is created only when it is
+        // read, so that the moves of a state with large piles need not all be materialized
+        return new AbstractList<>() {
+            @Override
+            public Move<NimGame> get(int index) {
+                return move(index);
             }
+
+            @Override
+            public int size() {
+                return moveCount();
+            }
+        };
+    }
+
+    // Returns the number of possible moves, i.e. the number of stones (any number of stones may be taken from a pile)
+    public int moveCount() {
+        int stones = 0;
+        for (int pile : piles) stones += pile;
+        return stones;
+    }
+
+    // Returns the index-th of the moves (as in moves), without generating the others
+    public NimGameMove move(int index) {
+        if (index < 0) throw new IndexOutOfBoundsException("no move " + index);
+        for (int i = 0; i < piles.length; i++) {
+            if (index < piles[i]) return new NimGameMove(i, index + 1);
+            index -= piles[i];
         }
-        return moves;
+        throw new IndexOutOfBoundsException("no move " + index + " from " + Arrays.toString(piles));
     }
 
     @Override
@@ -45,7 +80,20 @@ public class NimGameState implements State<NimGame> {
         NimGameMove nimMove = (NimGameMove) move;
         newPiles[nimMove.getPileIndex()] -= nimMove.getNumberOfPieces();
         int nextPlayer = 1 - currentPlayer; // Switch players
-        return new NimGameState(newPiles, nextPlayer);
+        return new NimGameState(newPiles, nextPlayer, nextHash(move));
+    }
+
+    @Override
+    public long hash() {
+        return hash;
+    }
+
+    @Override
+    public long nextHash(Move<NimGame> move) {
+        // Only the chosen pile and the side to move change
+        NimGameMove nimMove = (NimGameMove) move;
+        int i = nimMove.getPileIndex();
+        return hash ^ Zobrist.key(i, piles[i]) ^ Zobrist.key(i, piles[i] - nimMove.getNumberOfPieces()) ^ SIDE_KEY;
     }
 
     @Override
@@ -66,8 +114,9 @@ public class NimGameState implements State<NimGame> {
 
     @Override
     public Random random() {
-
-        return random;
+        // The random source of the calling thread: a state is immutable and may be shared by the threads of a parallel
+        // search, so it has no random source of its own (creating one for each state was also costly)
+        return FastRandom.current();
     }
 
     public int[] getPiles() {
@@ -75,9 +124,34 @@ public class NimGameState implements State<NimGame> {
         return piles.clone();
     }
 
+    // The piles themselves (not a copy), which the caller must not modify
+    int[] piles() {
+        return piles;
+    }
+
+    @Override
+    public Rollout<NimGame> rollout() {
+        return new NimGameRollout();
+    }
+
     @Override
     public NimGame game() {
 
         return new NimGame();
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NimGameState)) return false;
+        NimGameState that = (NimGameState) o;
+        return currentPlayer == that.currentPlayer && Arrays.equals(piles, that.piles);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(piles) + currentPlayer;
+    }
+
+    private static final long SIDE_KEY = Zobrist.key(-1L);
 }
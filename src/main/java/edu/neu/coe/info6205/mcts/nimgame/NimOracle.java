@@ -0,0 +1,56 @@
+package edu.neu.coe.info6205.mcts.nimgame;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.Oracle;
+import edu.neu.coe.info6205.mcts.core.State;
+
+import java.util.Optional;
+
+/**
+ * The Oracle of Nim under the normal play convention (the player who takes the last stone wins, as in NimGameState),
+ * in which any number of stones may be taken from one pile.
+ * By Bouton's theorem, the player to move wins if and only if the nim-sum (the exclusive or of the piles) is not
+ * zero, and a winning move is one which leaves a nim-sum of zero: it takes from a pile whose size has the highest
+ * bit of the nim-sum set, reducing it to its exclusive or with the nim-sum.
+ * From a lost position, the oracle takes one stone from the largest pile (to make the game last as long as possible).
+ * <p>
+ * A move is found in O(piles) time, with no allocation other than the move.
+ */
+public class NimOracle implements Oracle<NimGame> {
+
+    public Optional<Move<NimGame>> move(State<NimGame> state) {
+        return Optional.ofNullable(move(((NimGameState) state).piles()));
+    }
+
+    /**
+     * @param piles the sizes of the piles.
+     * @return a perfect move, or null if all the piles are empty.
+     */
+    public static NimGameMove move(int[] piles) {
+        int sum = nimSum(piles);
+        int largest = -1;
+        for (int i = 0; i < piles.length; i++) {
+            if (sum != 0 && (piles[i] ^ sum) < piles[i]) return new NimGameMove(i, piles[i] - (piles[i] ^ sum));
+            if (piles[i] > 0 && (largest < 0 || piles[i] > piles[largest])) largest = i;
+        }
+        return largest < 0 ? null : new NimGameMove(largest, 1);
+    }
+
+    /**
+     * @param piles the sizes of the piles.
+     * @return the nim-sum of the piles.
+     */
+    public static int nimSum(int[] piles) {
+        int sum = 0;
+        for (int pile : piles) sum ^= pile;
+        return sum;
+    }
+
+    /**
+     * @param state a NimGameState.
+     * @return true if the player to move in state can force a win.
+     */
+    public static boolean winning(NimGameState state) {
+        return nimSum(state.piles()) != 0;
+    }
+}
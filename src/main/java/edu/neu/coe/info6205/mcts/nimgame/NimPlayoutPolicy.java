@@ -0,0 +1,78 @@
+package edu.neu.coe.info6205.mcts.nimgame;
+
+import edu.neu.coe.info6205.mcts.core.PlayoutPolicy;
+import edu.neu.coe.info6205.mcts.core.Rollout;
+
+import java.util.Random;
+
+/**
+ * Heavy PlayoutPolicies of Nim, each of which finds its move in one pass over the piles (rather than by generating,
+ * let alone sorting, the moves, of which there are as many as stones):
+ * <ul>
+ *     <li>LARGEST_PILE takes the whole of the largest pile (ties broken at random), which is the default of MCTS;</li>
+ *     <li>NIM_SUM makes the move which leaves the exclusive-or of the piles zero, i.e. the winning move, whenever there
+ *     is one; otherwise (since every move loses) it makes a move uniformly at random.</li>
+ * </ul>
+ * They work only on a NimGameRollout, on which playout takes the stones directly.
+ */
+public enum NimPlayoutPolicy implements PlayoutPolicy<NimGame> {
+
+    LARGEST_PILE {
+        long move(NimGameRollout rollout, Random random) {
+            int largest = 0, ties = 0, chosen = -1;
+            for (int i = 0; i < rollout.piles(); i++) {
+                int pile = rollout.pile(i);
+                if (pile > largest) {
+                    largest = pile;
+                    ties = 1;
+                    chosen = i;
+                } else if (pile == largest && pile > 0 && random.nextInt(++ties) == 0) chosen = i;
+            }
+            return (long) chosen << 32 | largest;
+        }
+    },
+
+    NIM_SUM {
+        long move(NimGameRollout rollout, Random random) {
+            int sum = 0;
+            for (int i = 0; i < rollout.piles(); i++) sum ^= rollout.pile(i);
+            if (sum != 0)
+                for (int i = 0; i < rollout.piles(); i++) {
+                    int pile = rollout.pile(i);
+                    if ((pile ^ sum) < pile) return (long) i << 32 | pile - (pile ^ sum);
+                }
+            int index = random.nextInt(rollout.moves());
+            int pile = 0;
+            while (index >= rollout.pile(pile)) index -= rollout.pile(pile++);
+            return (long) pile << 32 | index + 1;
+        }
+    };
+
+    public int choose(Rollout<NimGame> rollout, Random random) {
+        NimGameRollout r = (NimGameRollout) rollout;
+        long move = move(r, random);
+        // the index of a move is the number of stones in the piles before its pile, plus the number taken, less one
+        int index = (int) move - 1;
+        for (int i = 0; i < (int) (move >>> 32); i++) index += r.pile(i);
+        return index;
+    }
+
+    @Override
+    public int playout(Rollout<NimGame> rollout, Random random) {
+        NimGameRollout r = (NimGameRollout) rollout;
+        while (!r.isTerminal()) {
+            long move = move(r, random);
+            r.take((int) (move >>> 32), (int) move);
+        }
+        return r.winner();
+    }
+
+    /**
+     * Method to choose the next move of a playout.
+     *
+     * @param rollout a NimGameRollout which is not terminal.
+     * @param random  the random source.
+     * @return the move: the index of the pile in the upper 32 bits and the number of stones to take in the lower 32.
+     */
+    abstract long move(NimGameRollout rollout, Random random);
+}
@@ -0,0 +1,49 @@
+package edu.neu.coe.info6205.mcts.nimgame;
+
+import java.util.Random;
+
+/**
+ * Benchmark of the Nim oracle against MCTS: from random positions of 4 piles (of increasing size), a decision is made
+ * by MCTS with a given number of iterations and by MCTS with a NimOracle.
+ * The mean decision latency and the proportion of winning positions in which the decision is a winning move (i.e.
+ * leaves a nim-sum of zero) are reported.
+ * <p>
+ * Arguments (all optional): positions per entry, iterations per decision.
+ */
+public class OracleBenchmark {
+
+    public static void main(String[] args) {
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        System.out.printf("4 piles, %d positions, MCTS with %d iterations per decision%n", positions, iterations);
+        for (int size : new int[]{10, 100, 1000}) {
+            for (boolean oracle : new boolean[]{false, true}) {
+                long nanos = 0;
+                int winning = 0, found = 0;
+                for (int pass = 0; pass < 2; pass++) {
+                    // the first pass is a warmup
+                    Random random = new Random(size);
+                    nanos = 0;
+                    winning = 0;
+                    found = 0;
+                    for (int p = 0; p < positions; p++) {
+                        int[] piles = new int[4];
+                        for (int i = 0; i < piles.length; i++) piles[i] = 1 + random.nextInt(size);
+                        NimGameState state = new NimGameState(piles, 0);
+                        NimGameNode root = new NimGameNode(state, null);
+                        MCTS mcts = oracle ? new MCTS(root, new NimOracle()) : new MCTS(root);
+                        long start = System.nanoTime();
+                        NimGameState next = (NimGameState) mcts.runMCTS(iterations).state();
+                        nanos += System.nanoTime() - start;
+                        if (NimOracle.winning(state)) {
+                            winning++;
+                            if (!NimOracle.winning(next)) found++;
+                        }
+                    }
+                }
+                System.out.printf("largest pile %4d, %-6s: %,12.1f us/decision, %5.1f%% of %d winning positions won%n",
+                        size, oracle ? "oracle" : "MCTS", nanos / 1E3 / positions, 100.0 * found / winning, winning);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package edu.neu.coe.info6205.mcts.nimgame;
+
+import edu.neu.coe.info6205.mcts.core.FastRandom;
+import edu.neu.coe.info6205.mcts.core.PlayoutPolicy;
+import edu.neu.coe.info6205.mcts.core.State;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of the playout policies of Nim: for each policy, the playouts per second from a position of four piles
+ * of 100 stones (after a warmup), and the score (with its standard error) of MCTS using that policy against
+ * MCTS using uniformly random playouts, with the same number of iterations per move, over games from random
+ * positions of three piles of up to 7 stones (each side playing first from each position).
+ * <p>
+ * Arguments (all optional): playouts, positions per policy, iterations per move.
+ */
+public class PlayoutPolicyBenchmark {
+
+    public static void main(String[] args) {
+        int playouts = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int positions = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        List<PlayoutPolicy<NimGame>> policies = List.of(PlayoutPolicy.uniform(), NimPlayoutPolicy.LARGEST_PILE,
+                NimPlayoutPolicy.NIM_SUM, PlayoutPolicy.epsilonGreedy(NimPlayoutPolicy.NIM_SUM, 0.25));
+        NimGameState start = new NimGameState(new int[]{100, 100, 100, 100}, 0);
+        System.out.printf("%d playouts; %d positions against uniform playouts, %d iterations per move%n", playouts, positions, iterations);
+        System.out.printf("%-32s%20s%20s%n", "policy", "playouts/sec", "score");
+        int sink = 0;
+        for (PlayoutPolicy<NimGame> policy : policies) {
+            NimGameRollout rollout = new NimGameRollout();
+            Random random = new FastRandom(0L);
+            long nanos = 0;
+            for (int pass = 0; pass < 2; pass++) {
+                // the first pass is a warmup
+                long begin = System.nanoTime();
+                for (int i = 0; i < playouts; i++) {
+                    rollout.reset(start);
+                    sink += policy.playout(rollout, random);
+                }
+                nanos = System.nanoTime() - begin;
+            }
+            Random positionRandom = new Random(0L);
+            double score = 0, squares = 0;
+            for (int p = 0; p < positions; p++) {
+                int[] piles = {1 + positionRandom.nextInt(7), 1 + positionRandom.nextInt(7), 1 + positionRandom.nextInt(7)};
+                for (int player = 0; player < 2; player++) {
+                    double s = play(new NimGameState(piles, 0), policy, player, iterations);
+                    score += s;
+                    squares += s * s;
+                }
+            }
+            int games = 2 * positions;
+            double mean = score / games;
+            double error = Math.sqrt(Math.max(0, squares / games - mean * mean) / games);
+            System.out.printf("%-32s%,20.0f%20s%n", policy, playouts / (nanos / 1E9), String.format("%.3f +/- %.3f", mean, error));
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Play one game between MCTS with the given policy and MCTS with uniform playouts.
+     *
+     * @param player the player (0 moves first) of the MCTS with the given policy.
+     * @return the score of that MCTS: 1 for a win, 0 for a loss.
+     */
+    static double play(State<NimGame> state, PlayoutPolicy<NimGame> policy, int player, int iterations) {
+        while (!state.isTerminal()) {
+            MCTS mcts = new MCTS(new NimGameNode(state, null));
+            mcts.setPlayoutPolicy(state.player() == player ? policy : PlayoutPolicy.uniform());
+            state = mcts.runMCTS(iterations).state();
+        }
+        return state.winner().orElseThrow() == player ? 1 : 0;
+    }
+}
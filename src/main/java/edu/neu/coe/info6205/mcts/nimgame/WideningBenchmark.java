@@ -0,0 +1,77 @@
+package edu.neu.coe.info6205.mcts.nimgame;
+
+import edu.neu.coe.info6205.mcts.core.ConcurrentNode;
+import edu.neu.coe.info6205.mcts.core.SearchBudget;
+import edu.neu.coe.info6205.mcts.core.UCTSearch;
+
+import java.util.Random;
+
+/**
+ * Benchmark of progressive widening in Nim: for piles of increasing size (up to thousands of stones), the decision
+ * latency (the mean time for a search of a given number of iterations) and the mean number of children of the root
+ * are reported for:
+ * <ul>
+ *     <li>MCTS with progressive widening (coefficients 1 and 4);</li>
+ *     <li>MCTS with unlimited widening (every move is tried before any child is revisited);</li>
+ *     <li>UCTSearch, which expands all the moves of a node at once (only up to piles of 1000, since it takes seconds
+ *     per decision beyond that).</li>
+ * </ul>
+ * Arguments (all optional): positions per entry, iterations per decision.
+ */
+public class WideningBenchmark {
+
+    public static void main(String[] args) {
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int[] sizes = {10, 100, 1000, 5000};
+        String[] labels = {"widening 1", "widening 4", "no widening", "UCTSearch"};
+        System.out.printf("4 piles, %d iterations per decision, %d positions%n", iterations, positions);
+        System.out.printf("%-12s", "largest pile");
+        for (String label : labels) System.out.printf("%28s", label);
+        System.out.println();
+        for (int size : sizes) {
+            System.out.printf("%-12d", size);
+            for (int searcher = 0; searcher < labels.length; searcher++) {
+                if (searcher == 3 && size > 1000) {
+                    System.out.printf("%28s", "-");
+                    continue;
+                }
+                long nanos = 0, children = 0;
+                for (int pass = 0; pass < 2; pass++) {
+                    // the first pass is a warmup
+                    Random random = new Random(size);
+                    nanos = 0;
+                    children = 0;
+                    for (int p = 0; p < positions; p++) {
+                        NimGameState state = position(random, size);
+                        long start = System.nanoTime();
+                        children += decide(searcher, state, iterations);
+                        nanos += System.nanoTime() - start;
+                    }
+                }
+                System.out.printf("%28s", String.format("%,.2f ms, %,d children", nanos / 1E6 / positions, children / positions));
+            }
+            System.out.println();
+        }
+    }
+
+    // Makes a decision and returns the number of children of the root
+    private static int decide(int searcher, NimGameState state, int iterations) {
+        if (searcher == 3) {
+            UCTSearch<NimGame> search = new UCTSearch<>(new ConcurrentNode<>(state, null), new Random(0L));
+            search.search(SearchBudget.iterations(iterations));
+            return search.root().children().size();
+        }
+        double widening = searcher == 0 ? 1 : searcher == 1 ? 4 : Double.POSITIVE_INFINITY;
+        MCTS mcts = new MCTS(new NimGameNode(state, null), null, widening);
+        mcts.runMCTS(iterations);
+        return mcts.root().children().size();
+    }
+
+    // A position of 4 piles, each with a random number of stones between 1 and size
+    private static NimGameState position(Random random, int size) {
+        int[] piles = new int[4];
+        for (int i = 0; i < piles.length; i++) piles[i] = 1 + random.nextInt(size);
+        return new NimGameState(piles, 0);
+    }
+}
@@ -1,33 +1,134 @@
 package edu.neu.coe.info6205.mcts.tictactoe;
 
+import edu.neu.coe.info6205.mcts.core.FastMath;
+import edu.neu.coe.info6205.mcts.core.FastRandom;
 import edu.neu.coe.info6205.mcts.core.Move;
 import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.NodeChildren;
+import edu.neu.coe.info6205.mcts.core.PlayoutPolicy;
+import edu.neu.coe.info6205.mcts.core.Rollout;
+import edu.neu.coe.info6205.mcts.core.SearchBudget;
+import edu.neu.coe.info6205.mcts.core.SelectionPolicy;
 import edu.neu.coe.info6205.mcts.core.State;
+import edu.neu.coe.info6205.mcts.core.Telemetry;
 
 import java.util.*;
 
 public class MCTS {
-    private final Node<TicTacToe> root;
-    private final Random random = new Random();
+    private Node<TicTacToe> root;
+    private final Random random = new FastRandom(); // used only by the searching thread, so it need not be a (synchronized) Random
     private static final double EXPLORATION_CONSTANT = Math.sqrt(2);
+    private final boolean symmetric;
+    private final SelectionPolicy policy;
+    private final boolean solver;
+    private final NodeChildren<TicTacToe> children = new NodeChildren<>(2); // a win counts 1 here, but 2 for a policy
+    private Rollout<TicTacToe> rollout;
+    private volatile SearchBudget.Tracker tracker;
+    private Telemetry telemetry;
+    private PlayoutPolicy<TicTacToe> playoutPolicy = PlayoutPolicy.uniform();
 
-    public MCTS(Node<TicTacToe> root) {
+    // With symmetric, a node has only one child for each set of moves which lead to symmetric positions;
+    // with a policy, children are selected by that SelectionPolicy instead of by uctValue;
+    // with solver, proven values are propagated up the tree (MCTS-Solver): selection skips solved children and
+    // the search stops as soon as the root is solved. The solver is off unless it is asked for here
+    public MCTS(Node<TicTacToe> root, boolean symmetric, SelectionPolicy policy, boolean solver) {
         this.root = root;
+        this.symmetric = symmetric;
+        this.policy = policy;
+        this.solver = solver;
+    }
+
+    public MCTS(Node<TicTacToe> root, boolean symmetric, SelectionPolicy policy) {
+        this(root, symmetric, policy, false);
+    }
+
+    public MCTS(Node<TicTacToe> root, boolean symmetric) {
+        this(root, symmetric, null);
+    }
+
+    public MCTS(Node<TicTacToe> root) {
+        this(root, false);
     }
 
     // Runs the MCTS algorithm for a specified number of iterations
     public Node<TicTacToe> runMCTS(int iterations) {
-        for (int i = 0; i < iterations; i++) {
-            Node<TicTacToe> selectedNode = select(root);
-            if (!selectedNode.isLeaf()) {
-                selectedNode = expand(selectedNode);
+        return runMCTS(SearchBudget.iterations(iterations));
+    }
+
+    // Runs the MCTS algorithm until the budget (iterations, nodes and/or time) is exhausted or stop() is called
+    public Node<TicTacToe> runMCTS(SearchBudget budget) {
+        SearchBudget.Tracker current = budget.start();
+        tracker = current;
+        Telemetry recorder = telemetry;
+        if (recorder != null) recorder.start();
+        try {
+            while (!(solver && solved(root)) && current.proceed()) {
+                if (recorder != null) recorder.enter(Telemetry.Phase.SELECT);
+                Node<TicTacToe> selectedNode = select(root);
+                if (!selectedNode.isLeaf()) {
+                    if (recorder != null) recorder.enter(Telemetry.Phase.EXPAND);
+                    selectedNode = expand(selectedNode);
+                    current.addNodes(1);
+                    if (recorder != null) recorder.addNodes(1);
+                }
+                if (recorder != null) recorder.enter(Telemetry.Phase.SIMULATE);
+                int simulationResult = simulate(selectedNode.state());
+                if (recorder != null) recorder.enter(Telemetry.Phase.BACKPROPAGATE);
+                backPropagate(selectedNode, simulationResult);
+                if (solver) propagateProof(selectedNode);
+                if (recorder != null) recorder.iteration(selectedNode, !selectedNode.isLeaf());
             }
-            int simulationResult = simulate(selectedNode.state());
-            backPropagate(selectedNode, simulationResult);
+        } finally {
+            tracker = null;
         }
+        if (recorder != null) recorder.finish(root);
         return bestChild(root);
     }
 
+    // Records each decision (i.e. each call of runMCTS) in the given Telemetry, or in none if it is null
+    public void setTelemetry(Telemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    // Plays out by the given PlayoutPolicy (e.g. TicTacToePlayoutPolicy.WIN_OR_BLOCK) instead of uniformly at random
+    public void setPlayoutPolicy(PlayoutPolicy<TicTacToe> playoutPolicy) {
+        this.playoutPolicy = playoutPolicy;
+    }
+
+    // Asks a running search (possibly on another thread) to stop and return the best move found so far
+    public void stop() {
+        SearchBudget.Tracker current = tracker;
+        if (current != null) current.stop();
+    }
+
+    // Returns the current root of the search tree
+    public Node<TicTacToe> root() {
+        return root;
+    }
+
+    // Advances the root to the subtree for the state actually reached (by our move or the opponent's),
+    // keeping its statistics and detaching it so that the rest of the tree can be garbage-collected
+    public Node<TicTacToe> advance(State<TicTacToe> state) {
+        Node<TicTacToe> next = null;
+        for (Node<TicTacToe> child : root.children())
+            if (reached(child.state(), state) && (next == null || child.playouts() > next.playouts())) next = child;
+        if (next == null) next = new TicTacToeNode(state, null);
+        else next.detach();
+        root = next;
+        return next;
+    }
+
+    // Advances the root according to the move played from the current root
+    public Node<TicTacToe> advance(Move<TicTacToe> move) {
+        return advance(root.state().next(move));
+    }
+
+    // Returns true if the state of a child stands for the state reached: with symmetric, a child stands for all the
+    // positions symmetric to its own (so the new root may be a symmetry of the position reached)
+    private boolean reached(State<TicTacToe> child, State<TicTacToe> state) {
+        return symmetric ? child.canonicalHash() == state.canonicalHash() : child.equals(state);
+    }
+
     // Selects a node based on the UCT value if fully expanded, else returns current node for expansion
     Node<TicTacToe> select(Node<TicTacToe> node) {
         while (!node.isLeaf()) {
@@ -42,28 +143,68 @@ public class MCTS {
 
     // Checks if all possible moves from a node have been expanded into child nodes
     private boolean isFullyExpanded(Node<TicTacToe> node) {
-        return node.children().size() >= node.state().moves(node.state().player()).size();
+        return node.children().size() >= distinctMoves(node.state()).size();
+    }
+
+    // Returns the moves from a state, omitting (if symmetric) any move which leads to a position symmetric to that of an earlier move
+    private List<Move<TicTacToe>> distinctMoves(State<TicTacToe> state) {
+        List<Move<TicTacToe>> moves = new ArrayList<>(state.moves(state.player()));
+        if (symmetric) {
+            Set<Long> seen = new HashSet<>();
+            moves.removeIf(move -> !seen.add(state.nextCanonicalHash(move)));
+        }
+        return moves;
     }
 
-    // Selects the child node with the highest UCT value
+    // Returns the key under which a child is identified among its siblings
+    private long key(State<TicTacToe> state) {
+        return symmetric ? state.canonicalHash() : state.hash();
+    }
+
+    // Returns the key of the child which would follow a move, without creating it
+    private long nextKey(State<TicTacToe> state, Move<TicTacToe> move) {
+        return symmetric ? state.nextCanonicalHash(move) : state.nextHash(move);
+    }
+
+    // Selects the child node with the highest UCT value (or the child chosen by the policy); the parent's part of the
+    // exploration term is computed once, and the children are iterated without streams or boxing.
+    // With the solver, solved children are skipped (the parent of a solved child which is not itself solved has
+    // unsolved children, since otherwise it would be solved or not fully expanded)
     private Node<TicTacToe> bestUCT(Node<TicTacToe> node) {
-        return node.children().stream()
-                .max(Comparator.comparing(c -> uctValue(node, c)))
-                .orElseThrow(() -> new IllegalStateException("No children nodes found"));
+        if (policy != null) {
+            Node<TicTacToe> chosen = children.of(node).get(policy.select(children, random));
+            if (!(solver && solved(chosen))) return chosen;
+        }
+        double exploration = EXPLORATION_CONSTANT * Math.sqrt(FastMath.log(node.playouts()));
+        Node<TicTacToe> best = null;
+        double bestValue = 0;
+        for (Node<TicTacToe> child : node.children()) {
+            if (solver && solved(child)) continue;
+            double value = uctValue(child, exploration);
+            if (best == null || Double.compare(value, bestValue) > 0) {
+                best = child;
+                bestValue = value;
+            }
+        }
+        if (best == null) throw new IllegalStateException("No children nodes found");
+        return best;
     }
 
-    // Calculates the Upper Confidence Bound for Trees value
-    private double uctValue(Node<TicTacToe> parent, Node<TicTacToe> child) {
-        int totalVisits = parent.playouts();
+    // Calculates the Upper Confidence Bound for Trees value, given the exploration constant times the square root of
+    // the log of the parent's playouts
+    private double uctValue(Node<TicTacToe> child, double exploration) {
         int winScore = child.wins();
         int numVisits = child.playouts();
         if (numVisits == 0) return Double.MAX_VALUE;
-        return (winScore / (double) numVisits) + EXPLORATION_CONSTANT * Math.sqrt(Math.log(totalVisits) / numVisits);
+        return (winScore / (double) numVisits) + exploration * FastMath.invSqrt(numVisits);
     }
 
     // Expands the tree by adding a new child node created from a selected move
     Node<TicTacToe> expand(Node<TicTacToe> node) {
-        List<Move<TicTacToe>> moves = new ArrayList<>(node.state().moves(node.state().player()));
+        List<Move<TicTacToe>> moves = distinctMoves(node.state());
+        Set<Long> expanded = new HashSet<>();
+        for (Node<TicTacToe> child : node.children()) expanded.add(key(child.state()));
+        moves.removeIf(move -> expanded.contains(nextKey(node.state(), move)));
         Move<TicTacToe> selectedMove = selectStrategicMove(moves, node.state());
         State<TicTacToe> newState = node.state().next(selectedMove);
         Node<TicTacToe> newNode = new TicTacToeNode(newState, node);
@@ -71,69 +212,158 @@ public class MCTS {
         return newNode;
     }
 
-    // Selects the most promising move based on a simple heuristic
+    // Selects a winning move if there is one, otherwise a move at random; the winning cells are found from the masks of
+    // the position (see TicTacToePlayoutPolicy), so that no state is created for any move
     private Move<TicTacToe> selectStrategicMove(List<Move<TicTacToe>> moves, State<TicTacToe> state) {
-        return moves.stream().max(Comparator.comparing(move -> evaluateMovePotential(move, state))).orElse(null);
-    }
-
-    // Evaluates the potential of a move by checking if it leads to a win or random value otherwise
-    private double evaluateMovePotential(Move<TicTacToe> move, State<TicTacToe> state) {
-        State<TicTacToe> resultState = state.next(move);
-        if (resultState.winner().isPresent() && resultState.winner().get() == state.player()) {
-            return Double.MAX_VALUE;
-        }
-        return Math.random();
+        Position position = ((TicTacToe.TicTacToeState) state).position();
+        int player = state.player();
+        int winning = TicTacToePlayoutPolicy.WIN.preferred(position.mask(player), position.mask(1 - player), position.empty());
+        if (winning != 0)
+            for (Move<TicTacToe> move : moves) {
+                int[] cell = ((TicTacToe.TicTacToeMove) move).move();
+                if ((winning & 1 << cell[0] * 3 + cell[1]) != 0) return move;
+            }
+        return moves.get(random.nextInt(moves.size()));
     }
 
-    // Simulates random play to the end of the game and returns the winner
+    // Simulates play (uniformly random, unless there is a playout policy) to the end of the game and returns the winner
+    // (on a Rollout, i.e. a scratch copy of the state which is updated in place, so no garbage is created)
     int simulate(State<TicTacToe> state) {
-        State<TicTacToe> tempState = state;
-        while (!tempState.isTerminal()) {
-            List<Move<TicTacToe>> moves = new ArrayList<>(tempState.moves(tempState.player()));
-            Move<TicTacToe> randomMove = moves.get(random.nextInt(moves.size()));
-            tempState = tempState.next(randomMove);
-        }
-        return tempState.winner().orElse(-1);
+        if (rollout == null) rollout = state.rollout();
+        rollout.reset(state);
+        return playoutPolicy.playout(rollout, random);
     }
 
-    // Back-propagates the simulation results to adjust scores and playout counts
+    // Back-propagates the simulation results to adjust scores and playout counts; a win is credited to the player
+    // who played to each node (the player who chooses it), i.e. not to the player who is to move in its state
     void backPropagate(Node<TicTacToe> node, int result) {
         Node<TicTacToe> tempNode = node;
         while (tempNode != null) {
             tempNode.incrementPlayouts();
-            if (result == tempNode.state().player()) {
+            if (result == 1 - tempNode.state().player()) {
                 tempNode.addWins(1);
             }
             tempNode = tempNode.getParent();
         }
     }
 
-    // Selects the child node with the highest number of wins
+    // Propagates proven values from a node towards the root (MCTS-Solver), for as long as parents become solved:
+    // a node is a loss (for the player who played to it) if any child is a win (for the opponent); once it is fully
+    // expanded and all its children are solved, it is a win if all of them are losses and otherwise a draw unless
+    // some child is a win
+    void propagateProof(Node<TicTacToe> node) {
+        while (node != null && solved(node)) {
+            Node<TicTacToe> parent = node.getParent();
+            if (!(parent instanceof TicTacToeNode) || solved(parent)) return;
+            TicTacToeNode.Proof proof = proveFromChildren(parent);
+            if (proof == TicTacToeNode.Proof.UNKNOWN) return;
+            ((TicTacToeNode) parent).prove(proof);
+            node = parent;
+        }
+    }
+
+    private TicTacToeNode.Proof proveFromChildren(Node<TicTacToe> node) {
+        boolean allSolved = true, draw = false;
+        for (Node<TicTacToe> child : node.children()) {
+            TicTacToeNode.Proof proof = proof(child);
+            if (proof == TicTacToeNode.Proof.WIN) return TicTacToeNode.Proof.LOSS;
+            if (proof == TicTacToeNode.Proof.UNKNOWN) allSolved = false;
+            if (proof == TicTacToeNode.Proof.DRAW) draw = true;
+        }
+        if (!allSolved || !isFullyExpanded(node)) return TicTacToeNode.Proof.UNKNOWN;
+        return draw ? TicTacToeNode.Proof.DRAW : TicTacToeNode.Proof.WIN;
+    }
+
+    // Returns the proven value of a node (UNKNOWN for a node which cannot carry one)
+    private static TicTacToeNode.Proof proof(Node<TicTacToe> node) {
+        return node instanceof TicTacToeNode ? ((TicTacToeNode) node).proof() : TicTacToeNode.Proof.UNKNOWN;
+    }
+
+    private static boolean solved(Node<TicTacToe> node) {
+        return proof(node) != TicTacToeNode.Proof.UNKNOWN;
+    }
+
+    // Selects the child node with the highest number of wins; with the solver, a proven win is always chosen and
+    // a proven loss never (unless every child is one)
     private Node<TicTacToe> bestChild(Node<TicTacToe> node) {
-        return node.children().stream()
-                .max(Comparator.comparing(Node::wins))
-                .orElseThrow(() -> new IllegalStateException("No children nodes found"));
+        if (!solver) return Collections.max(node.children(), Comparator.comparing(Node::wins));
+        Node<TicTacToe> best = null;
+        for (Node<TicTacToe> child : node.children())
+            if (best == null || compareForChoice(child, best) > 0) best = child;
+        if (best == null) throw new IllegalStateException("No children nodes found");
+        return best;
+    }
+
+    // Compares two children as choices for the player to move at their parent: by proven value (a win is better and a
+    // loss worse than any other child), then by wins
+    private static int compareForChoice(Node<TicTacToe> a, Node<TicTacToe> b) {
+        int rank = Integer.compare(rank(proof(a)), rank(proof(b)));
+        return rank != 0 ? rank : Integer.compare(a.wins(), b.wins());
+    }
+
+    private static int rank(TicTacToeNode.Proof proof) {
+        return proof == TicTacToeNode.Proof.WIN ? 2 : proof == TicTacToeNode.Proof.LOSS ? 0 : 1;
     }
 
     public static void main(String[] args) {
-        int winCountAI = 0;
-        int winCountRandom = 0;
         int numberOfGames = 1000;
-        boolean detailedPrint = true;
+        int iterations = 1000;
+
+        // Games involving MCTS intervention: first rebuilding the tree from scratch for every move, then reusing it
+        selfPlay(numberOfGames, iterations, false, true);
+        selfPlay(numberOfGames, iterations, true, false);
+
+        // Random play games
+        int winCountRandom = 0;
+        Random random = new FastRandom();
+        for (int i = 0; i < numberOfGames; i++) {
+            TicTacToe game = new TicTacToe();
+            Node<TicTacToe> currentNode = new TicTacToeNode(game.start(), null);
+            while (!currentNode.state().isTerminal()) {
+                List<Move<TicTacToe>> moves = new ArrayList<>(currentNode.state().moves(currentNode.state().player()));
+                Move<TicTacToe> randomMove = moves.get(random.nextInt(moves.size()));
+                currentNode = new TicTacToeNode(currentNode.state().next(randomMove), currentNode);
+            }
+
+            Optional<Integer> winner = currentNode.state().winner();
+            if (winner.isPresent() && winner.get() == 1) {
+                winCountRandom++;
+            }
+        }
+
+        double winProbabilityRandom = (double) winCountRandom / numberOfGames;
+        System.out.println("Random (Player X) without MCTS won " + winCountRandom + " out of " + numberOfGames + " games. Win Probability: " + winProbabilityRandom);
+    }
+
+    // Plays games in which MCTS plays both sides and reports the win probability for X, the playouts retained per move
+    // and the time per move. With reuse, the playouts retained from the previous move count towards the iterations.
+    private static void selfPlay(int numberOfGames, int iterations, boolean reuse, boolean detailedPrint) {
+        int winCountAI = 0;
+        long moves = 0;
+        long retained = 0;
+        long nanos = 0;
 
         for (int i = 0; i < numberOfGames; i++) {
             TicTacToe game = new TicTacToe();
             Node<TicTacToe> currentNode = new TicTacToeNode(game.start(), null);
             MCTS mcts = new MCTS(currentNode);
 
-            // Games involving MCTS intervention
             while (!currentNode.state().isTerminal()) {
-                currentNode = mcts.runMCTS(1000);
+                retained += mcts.root().playouts();
+                long start = System.nanoTime();
+                currentNode = mcts.runMCTS(reuse ? Math.max(1, iterations - mcts.root().playouts()) : iterations);
+                nanos += System.nanoTime() - start;
+                moves++;
                 if (i == 0 && detailedPrint) {
                     System.out.println("Current Board State:");
                     System.out.println(currentNode.state());
                 }
-                mcts = new MCTS(currentNode);
+                if (reuse) {
+                    currentNode = mcts.advance(currentNode.state());
+                } else {
+                    currentNode = new TicTacToeNode(currentNode.state(), null);
+                    mcts = new MCTS(currentNode);
+                }
             }
 
             Optional<Integer> winner = currentNode.state().winner();
@@ -143,27 +373,11 @@ public class MCTS {
 
             if (i == 0 && detailedPrint) {
                 System.out.println("----- Running additional games to calculate win probability -----");
-                detailedPrint = false;
-            }
-
-            // Random play games
-            game = new TicTacToe();
-            currentNode = new TicTacToeNode(game.start(), null);
-            while (!currentNode.state().isTerminal()) {
-                List<Move<TicTacToe>> moves = new ArrayList<>(currentNode.state().moves(currentNode.state().player()));
-                Move<TicTacToe> randomMove = moves.get(new Random().nextInt(moves.size()));
-                currentNode = new TicTacToeNode(currentNode.state().next(randomMove), currentNode);
-            }
-
-            winner = currentNode.state().winner();
-            if (winner.isPresent() && winner.get() == 1) {
-                winCountRandom++;
             }
         }
 
         double winProbabilityAI = (double) winCountAI / numberOfGames;
-        double winProbabilityRandom = (double) winCountRandom / numberOfGames;
-        System.out.println("AI (Player X) with MCTS won " + winCountAI + " out of " + numberOfGames + " games. Win Probability: " + winProbabilityAI);
-        System.out.println("Random (Player X) without MCTS won " + winCountRandom + " out of " + numberOfGames + " games. Win Probability: " + winProbabilityRandom);
+        System.out.println("AI (Player X) with MCTS" + (reuse ? " (reusing tree)" : " (rebuilding tree)") + " won " + winCountAI + " out of " + numberOfGames + " games. Win Probability: " + winProbabilityAI);
+        System.out.printf("    average playouts retained per move: %.1f, average time per move: %.3f ms%n", (double) retained / moves, nanos / 1E6 / moves);
     }
 }
@@ -0,0 +1,85 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.OpeningBook;
+import edu.neu.coe.info6205.mcts.core.SearchBudget;
+import edu.neu.coe.info6205.mcts.core.SearchResult;
+import edu.neu.coe.info6205.mcts.core.State;
+import edu.neu.coe.info6205.mcts.core.TranspositionMCTS;
+import edu.neu.coe.info6205.mcts.core.TranspositionTable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Tool to build an OpeningBook for TicTacToe by offline self-play.
+ * <p>
+ * Games are played by a symmetric TranspositionMCTS whose table is shared by all the moves of all the games, so that
+ * the statistics of the positions near the start accumulate. Within the depth of the book, a move is drawn with
+ * probability proportional to its playouts (so that the games spread over the likely openings); beyond it, the most
+ * visited move is played. The book is then built from the table, written, and mapped again; finally, the time of the
+ * first decision is compared with and without the book.
+ * <p>
+ * Arguments (all optional): games, iterations per move, depth, least playouts of a book position, file, seed.
+ */
+public class OpeningBookBuilder {
+
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int minPlayouts = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        Path path = Path.of(args.length > 4 ? args[4] : "tictactoe.book");
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 0L;
+
+        Random random = new Random(seed);
+        State<TicTacToe> start = new TicTacToe(seed).start();
+        TranspositionTable table = new TranspositionTable(1 << 16);
+        TranspositionMCTS<TicTacToe> search = new TranspositionMCTS<>(table, random, true);
+        long begin = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            State<TicTacToe> state = start;
+            for (int ply = 0; !state.isTerminal(); ply++) {
+                SearchResult<TicTacToe> result = search.search(state, SearchBudget.iterations(iterations));
+                state = state.next(ply < depth ? sample(result, random) : result.bestMove());
+            }
+        }
+        OpeningBook book = OpeningBook.build(start, depth, minPlayouts, table);
+        book.write(path);
+        System.out.printf("%d games of self-play (%,d iterations per move) in %.1f s: table %,d entries; book %,d positions to depth %d, %,d bytes%n",
+                games, iterations, (System.nanoTime() - begin) / 1e9, table.size(), book.size(), depth, Files.size(path));
+
+        begin = System.nanoTime();
+        OpeningBook mapped = OpeningBook.open(path);
+        long openNanos = System.nanoTime() - begin;
+        List<Move<TicTacToe>> moves = List.copyOf(start.moves(start.player()));
+        for (int i = 0; i < 10_000; i++) mapped.move(start, minPlayouts); // warmup
+        begin = System.nanoTime();
+        Optional<Move<TicTacToe>> move = mapped.move(start, minPlayouts);
+        long bookNanos = System.nanoTime() - begin;
+        begin = System.nanoTime();
+        SearchResult<TicTacToe> fresh = new TranspositionMCTS<TicTacToe>(new TranspositionTable(1 << 16), new Random(seed), true)
+                .search(start, SearchBudget.iterations(iterations));
+        long searchNanos = System.nanoTime() - begin;
+        System.out.printf("book opened in %.3f ms; first move from the book: %s in %.1f us; by a search of %,d iterations: %d in %.1f ms%n",
+                openNanos / 1e6, move.map(m -> Integer.toString(moves.indexOf(m))).orElse("none"), bookNanos / 1e3,
+                iterations, fresh.bestIndex(), searchNanos / 1e6);
+    }
+
+    // Draws a move with probability proportional to its playouts
+    private static Move<TicTacToe> sample(SearchResult<TicTacToe> result, Random random) {
+        long total = 0;
+        for (int i = 0; i < result.moves().size(); i++) total += result.playouts(i);
+        if (total == 0) return result.bestMove();
+        long r = (long) (random.nextDouble() * total);
+        for (int i = 0; i < result.moves().size(); i++) {
+            r -= result.playouts(i);
+            if (r < 0) return result.moves().get(i);
+        }
+        return result.bestMove();
+    }
+}
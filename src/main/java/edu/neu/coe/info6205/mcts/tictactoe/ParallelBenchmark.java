@@ -0,0 +1,67 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.LeafParallelMCTS;
+import edu.neu.coe.info6205.mcts.core.ParallelMCTS;
+import edu.neu.coe.info6205.mcts.core.RootParallelMCTS;
+import edu.neu.coe.info6205.mcts.core.SearchResult;
+import edu.neu.coe.info6205.mcts.core.State;
+import edu.neu.coe.info6205.mcts.core.UCTSearch;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Benchmark of the parallel searches on the opening position of TicTacToe.
+ * The sequential MCTS.runMCTS is timed first on the same iteration budget;
+ * then, for each thread count (1, 2, 4, ... up to the number of available processors), the iterations per second
+ * of RootParallelMCTS and ParallelMCTS are reported together with their speedup relative to the sequential search.
+ * Finally, LeafParallelMCTS is compared with UCTSearch (one rollout per iteration) in terms of nodes (iterations)
+ * per second and rollouts per second, for several batch sizes (K).
+ */
+public class ParallelBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int processors = Runtime.getRuntime().availableProcessors();
+        State<TicTacToe> start = new TicTacToe(0L).start();
+
+        new MCTS(new TicTacToeNode(start, null)).runMCTS(iterations / 10); // warmup
+        long begin = System.nanoTime();
+        new MCTS(new TicTacToeNode(start, null)).runMCTS(iterations);
+        double sequential = iterations * 1E9 / (System.nanoTime() - begin);
+        System.out.printf("sequential runMCTS:    %,12.0f iterations/sec%n", sequential);
+
+        for (int threads = 1; ; threads = Math.min(threads * 2, processors)) {
+            try (RootParallelMCTS<TicTacToe> mcts = new RootParallelMCTS<>(s -> new TicTacToeNode(s, null), threads, 0L)) {
+                mcts.search(start, iterations / 10); // warmup
+                report("root-parallel", threads, mcts.search(start, iterations), sequential);
+            }
+            try (ParallelMCTS<TicTacToe> mcts = new ParallelMCTS<>(threads, ParallelMCTS.VIRTUAL_LOSS, 0L)) {
+                mcts.search(start, iterations / 10); // warmup
+                report("tree-parallel", threads, mcts.search(start, iterations), sequential);
+            }
+            if (threads == processors) break;
+        }
+
+        begin = System.nanoTime();
+        new UCTSearch<>(new TicTacToeNode(start, null), new Random(0L)).run(iterations);
+        double single = iterations * 1E9 / (System.nanoTime() - begin);
+        System.out.printf("UCTSearch:             %,12.0f nodes/sec, %,12.0f rollouts/sec%n", single, single);
+        ExecutorService executor = Executors.newFixedThreadPool(processors);
+        for (int k = processors; k <= 8 * processors; k *= 2) {
+            LeafParallelMCTS<TicTacToe> mcts = new LeafParallelMCTS<>(new TicTacToeNode(start, null), new Random(0L), executor, k);
+            int nodes = iterations / k;
+            begin = System.nanoTime();
+            mcts.run(nodes);
+            double seconds = (System.nanoTime() - begin) / 1E9;
+            System.out.printf("leaf-parallel K=%3d:   %,12.0f nodes/sec, %,12.0f rollouts/sec%n", k, nodes / seconds, mcts.rollouts() / seconds);
+        }
+        executor.shutdown();
+    }
+
+    private static void report(String name, int threads, SearchResult<TicTacToe> result, double sequential) {
+        double rate = result.iterationsPerSecond();
+        System.out.printf("%s threads=%2d: %,12.0f iterations/sec, speedup %5.2f, best move %d%n", name, threads, rate, rate / sequential, result.bestIndex());
+    }
+}
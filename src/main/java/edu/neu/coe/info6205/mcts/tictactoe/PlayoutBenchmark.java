@@ -0,0 +1,55 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.AllocationMeter;
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.State;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of random playouts from the opening position of TicTacToe.
+ * Playouts made with State.next (a new State for every move) are compared with those of MCTS.simulate,
+ * which uses a Rollout (a scratch copy of the state, updated in place).
+ * After a warmup, playouts are run for a number of rounds, and the playouts per second, the bytes allocated
+ * per playout and the resulting allocation rate (as reported by the JVM for the current thread, where supported)
+ * are printed for each round.
+ */
+public class PlayoutBenchmark {
+
+    public static void main(String[] args) {
+        int playouts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        MCTS mcts = new MCTS(new TicTacToeNode(start, null));
+        Random random = new Random(0L);
+        int sink = 0;
+        for (int r = -1; r < rounds; r++) { // round -1 is the warmup
+            long bytes = AllocationMeter.allocatedBytes();
+            long begin = System.nanoTime();
+            for (int i = 0; i < playouts; i++) sink += playout(start, random);
+            report("State.next   ", r, playouts, System.nanoTime() - begin, AllocationMeter.allocatedBytes() - bytes);
+            bytes = AllocationMeter.allocatedBytes();
+            begin = System.nanoTime();
+            for (int i = 0; i < playouts; i++) sink += mcts.simulate(start);
+            report("MCTS.simulate", r, playouts, System.nanoTime() - begin, AllocationMeter.allocatedBytes() - bytes);
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int playout(State<TicTacToe> state, Random random) {
+        while (!state.isTerminal()) {
+            List<Move<TicTacToe>> moves = (List<Move<TicTacToe>>) state.moves(state.player());
+            state = state.next(moves.get(random.nextInt(moves.size())));
+        }
+        return state.winner().orElse(-1);
+    }
+
+    private static void report(String name, int round, int playouts, long nanos, long allocated) {
+        if (round < 0) return;
+        double seconds = nanos / 1E9;
+        System.out.printf("%s round %d: %,12.0f playouts/sec, %,8.1f bytes/playout, %,8.1f MB/sec allocated%n",
+                name, round, playouts / seconds, (double) allocated / playouts, allocated / seconds / 1E6);
+    }
+}
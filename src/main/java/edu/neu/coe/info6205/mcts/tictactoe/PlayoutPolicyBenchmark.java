@@ -0,0 +1,77 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.FastRandom;
+import edu.neu.coe.info6205.mcts.core.PlayoutPolicy;
+import edu.neu.coe.info6205.mcts.core.Rollout;
+import edu.neu.coe.info6205.mcts.core.State;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of the playout policies of TicTacToe: for each policy, the playouts per second from the opening position
+ * (after a warmup), and the score (a win counting 1 and a draw 1/2, with its standard error) of MCTS using that policy
+ * against MCTS using uniformly random playouts, with the same number of iterations per move (each side playing first
+ * in half of the games).
+ * <p>
+ * Arguments (all optional): playouts, games per policy, iterations per move.
+ */
+public class PlayoutPolicyBenchmark {
+
+    public static void main(String[] args) {
+        int playouts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        List<PlayoutPolicy<TicTacToe>> policies = List.of(PlayoutPolicy.uniform(), TicTacToePlayoutPolicy.WIN,
+                TicTacToePlayoutPolicy.WIN_OR_BLOCK, PlayoutPolicy.epsilonGreedy(TicTacToePlayoutPolicy.WIN_OR_BLOCK, 0.25));
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        System.out.printf("%d playouts; %d games against uniform playouts, %d iterations per move%n", playouts, games, iterations);
+        System.out.printf("%-32s%20s%20s%10s%n", "policy", "playouts/sec", "score", "W/D/L");
+        int sink = 0;
+        for (PlayoutPolicy<TicTacToe> policy : policies) {
+            Rollout<TicTacToe> rollout = start.rollout();
+            Random random = new FastRandom(0L);
+            long nanos = 0;
+            for (int pass = 0; pass < 2; pass++) {
+                // the first pass is a warmup
+                long begin = System.nanoTime();
+                for (int i = 0; i < playouts; i++) {
+                    rollout.reset(start);
+                    sink += policy.playout(rollout, random);
+                }
+                nanos = System.nanoTime() - begin;
+            }
+            int[] results = new int[3];
+            double score = 0, squares = 0;
+            for (int i = 0; i < games; i++) {
+                // the policy plays X (and so moves first) in the even-numbered games
+                int player = i % 2 == 0 ? TicTacToe.X : TicTacToe.O;
+                double s = play(start, policy, player, iterations);
+                results[s == 1 ? 0 : s == 0 ? 2 : 1]++;
+                score += s;
+                squares += s * s;
+            }
+            double mean = score / games;
+            double error = Math.sqrt(Math.max(0, squares / games - mean * mean) / games);
+            System.out.printf("%-32s%,20.0f%20s%10s%n", policy, playouts / (nanos / 1E9), String.format("%.3f +/- %.3f", mean, error),
+                    results[0] + "/" + results[1] + "/" + results[2]);
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Play one game between MCTS with the given policy and MCTS with uniform playouts.
+     *
+     * @param player the player (X or O) of the MCTS with the given policy.
+     * @return the score of that MCTS: 1 for a win, 0.5 for a draw, 0 for a loss.
+     */
+    static double play(State<TicTacToe> start, PlayoutPolicy<TicTacToe> policy, int player, int iterations) {
+        State<TicTacToe> state = start;
+        while (!state.isTerminal()) {
+            MCTS mcts = new MCTS(new TicTacToeNode(state, null));
+            if (state.player() == player) mcts.setPlayoutPolicy(policy);
+            state = mcts.runMCTS(iterations).state();
+        }
+        return state.winner().map(w -> w == player ? 1.0 : 0.0).orElse(0.5);
+    }
+}
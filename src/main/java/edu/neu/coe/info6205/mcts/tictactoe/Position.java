@@ -1,13 +1,18 @@
 package edu.neu.coe.info6205.mcts.tictactoe;
 
+import edu.neu.coe.info6205.mcts.core.Zobrist;
+
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * This class represents the board of the Tic-tac-toe game.
- * It is a 3x3 matrix of 0s, 1s, and -1s for O, X, and . respectively.
+ * Conceptually, it is a 3x3 matrix of 0s, 1s, and -1s for O, X, and . respectively.
+ * <p>
+ * The board is represented as a bitboard: one 9-bit mask for each player, in which bit (x * 3 + y) is set if the
+ * player occupies cell [x, y]. A move therefore creates a new Position without copying any array,
+ * and a win is detected by testing the mask of a player against the eight (precomputed) line masks.
  */
 public class Position {
 
@@ -58,14 +63,11 @@ public class Position {
     public Position move(int player, int x, int y) {
         if (full()) throw new RuntimeException("Position is full");
         if (player == last) throw new RuntimeException("consecutive moves by same player: " + player);
-        int[][] matrix = copyGrid();
-        if (matrix[x][y] < 0) {
-            matrix[x][y] = player;
-            return new Position(matrix, count + 1, player);
-        } else {
-            throw new RuntimeException("Position is occupied: " + x + ", " + y);
-        }
-            
+        int bit = 1 << (x * gridSize + y);
+        if (((o | this.x) & bit) != 0) throw new RuntimeException("Position is occupied: " + x + ", " + y);
+        return player == 0 ?
+                new Position(o | bit, this.x, count + 1, player, zobrist ^ zobristKey(player, x, y)) :
+                new Position(o, this.x | bit, count + 1, player, zobrist ^ zobristKey(player, x, y));
     }
 
     /**
@@ -78,47 +80,116 @@ public class Position {
         List<int[]> result = new ArrayList<>();
         for (int i = 0; i < gridSize; i++)
             for (int j = 0; j < gridSize; j++)
-                if (grid[i][j] < 0)
+                if (cell(i, j) < 0)
                     result.add(new int[]{i, j});
-    
+
         return result;
     }
 
+    /**
+     * @return a 9-bit mask of the empty cells: bit (x * 3 + y) is set if cell [x, y] is empty.
+     */
+    public int empty() {
+        return FULL & ~(o | x);
+    }
+
+    /**
+     * @param player the player (0: O, 1: X)
+     * @return a 9-bit mask of the cells occupied by player.
+     */
+    public int mask(int player) {
+        return player == 0 ? o : x;
+    }
+
+    /**
+     * Method to yield the Zobrist hash of this Position, which is maintained incrementally by move.
+     * Equal Positions have equal hashes.
+     *
+     * @return the exclusive-or of the keys of the occupied cells.
+     */
+    public long zobrist() {
+        return zobrist;
+    }
+
+    /**
+     * Method to yield the Zobrist hash of the Position which would follow a move, without making the move.
+     *
+     * @param player the player (0: O, 1: X)
+     * @param x      the first dimension value.
+     * @param y      the second dimension value.
+     * @return the hash of move(player, x, y).
+     */
+    public long zobristAfter(int player, int x, int y) {
+        return zobrist ^ zobristKey(player, x, y);
+    }
+
+    /**
+     * Method to yield the hash of this Position which is the same for all eight of its symmetries
+     * (the four rotations, each with or without a reflection).
+     *
+     * @return the least of the Zobrist hashes of the symmetries of this Position.
+     */
+    public long canonicalZobrist() {
+        long[] hashes = symmetricZobrists();
+        long result = hashes[0];
+        for (int s = 1; s < SYMMETRIES; s++) result = Math.min(result, hashes[s]);
+        return result;
+    }
+
+    /**
+     * Method to yield the canonical hash of the Position which would follow a move, without making the move.
+     *
+     * @param player the player (0: O, 1: X)
+     * @param x      the first dimension value.
+     * @param y      the second dimension value.
+     * @return the canonicalZobrist of move(player, x, y).
+     */
+    public long canonicalZobristAfter(int player, int x, int y) {
+        long[] hashes = symmetricZobrists();
+        int cell = x * gridSize + y;
+        long result = Long.MAX_VALUE;
+        for (int s = 0; s < SYMMETRIES; s++)
+            result = Math.min(result, hashes[s] ^ Zobrist.key(player, symmetry[s][cell]));
+        return result;
+    }
+
+    /**
+     * Method to yield the canonical form of this Position: of its eight symmetries, the one whose Zobrist hash is
+     * canonicalZobrist. Two Positions are symmetric if and only if they have the same canonical form.
+     *
+     * @return a Position (possibly this).
+     */
+    public Position canonical() {
+        long[] hashes = symmetricZobrists();
+        int best = 0;
+        for (int s = 1; s < SYMMETRIES; s++) if (hashes[s] < hashes[best]) best = s;
+        return best == 0 ? this : permute(symmetry[best]);
+    }
+
     /**
      * Method to yield a copy of this Position but reflected.
-     * <p>
-     * TESTME
      *
      * @param axis the axis about which to reflect.
      * @return a new Position.
      */
     public Position reflect(int axis) {
-        int[][] matrix = copyGrid();
         switch (axis) {
             case 0:
-                for (int j = 0; j < gridSize; j++) swap(matrix, 0, j, 2, j); // middle row
-                break;
+                return permute(REFLECT_ROWS); // middle row
             case 1:
-                for (int i = 0; i < gridSize; i++) swap(matrix, i, 0, i, 2); // middle column
-                break;
+                return permute(REFLECT_COLUMNS); // middle column
             default:
                 throw new RuntimeException("reflect not implemented for " + axis);
         }
-        return new Position(matrix, count, last);
     }
 
     /**
-     * Method to rotate this Position by 90 degrees clockwise.
-     * TESTME
+     * Method to rotate this Position by 90 degrees anticlockwise.
      *
      * @return a new Position which is rotated from this.
      */
     public Position rotate() {
-        int[][] matrix = new int[gridSize][gridSize];
-        for (int i = 0; i < gridSize; i++)
-            for (int j = 0; j < gridSize; j++)
-                matrix[i][j] = grid[j][gridSize - i - 1];
-        return new Position(matrix, count, last);
+        return permute(ROTATE);
     }
 
     /**
@@ -127,32 +198,40 @@ public class Position {
      * @return an Optional Integer.
      */
     public Optional<Integer> winner() {
-        if (count > 4 && threeInARow()) return Optional.of(last);
+        if (count > 4 && threeInARow()) return WINNERS.get(last);
         return Optional.empty();
     }
 
     /**
      * Method to determine if this Position has three in a row (i.e. a winning position).
-     * Don't forget to check for columns and diagonals as well.
-     * <p>
-     * NOTE: you may find the instance field xxx to be useful, as well as the projectRow, projectCol, etc. private methods.
+     * Each of the eight lines (rows, columns and diagonals) is a precomputed mask, so a line is complete
+     * if the mask of either player contains it.
      *
-     * @return true if there are three cells in a line that are the same and equal to the last player.
+     * @return true if there are three cells in a line that are the same.
      */
     boolean threeInARow() {
-        for (int i = 0; i < gridSize; i++) {
-            if ((grid[i][0] == grid[i][1] && grid[i][1] == grid[i][2] && grid[i][0] != -1) ||
-                    (grid[0][i] == grid[1][i] && grid[1][i] == grid[2][i] && grid[0][i] != -1)) {
-                return true;
-            }
-        }
-        if ((grid[0][0] == grid[1][1] && grid[1][1] == grid[2][2] && grid[0][0] != -1) ||
-                (grid[0][2] == grid[1][1] && grid[1][1] == grid[2][0] && grid[0][2] != -1)) {
-            return true;
-        }
+        return line(o) || line(x);
+    }
+
+    /**
+     * @param mask the 9-bit mask of a player.
+     * @return true if mask contains (at least) one of the eight lines.
+     */
+    static boolean line(int mask) {
+        for (int line : LINES)
+            if ((mask & line) == line) return true;
         return false;
     }
 
+    /**
+     * @param mask the 9-bit mask of a player.
+     * @return a 9-bit mask of the cells (not in mask) which would complete a line of mask: from a table, so that a
+     * playout can look for a winning (or a blocking) move at the cost of an array access.
+     */
+    static int completing(int mask) {
+        return COMPLETING[mask];
+    }
+
 
     /**
      * Project row i.
@@ -161,7 +240,10 @@ public class Position {
      * @return an array of three ints.
      */
     int[] projectRow(int i) {
-        return grid[i];
+        int[] result = new int[gridSize];
+        for (int j = 0; j < gridSize; j++)
+            result[j] = cell(i, j);
+        return result;
     }
 
     /**
@@ -173,7 +255,7 @@ public class Position {
     int[] projectCol(int j) {
         int[] result = new int[gridSize];
         for (int i = 0; i < gridSize; i++)
-            result[i] = grid[i][j];
+            result[i] = cell(i, j);
         return result;
     }
 
@@ -187,7 +269,7 @@ public class Position {
         int[] result = new int[gridSize];
         for (int j = 0; j < gridSize; j++) {
             int i = b ? j : gridSize - j - 1;
-            result[j] = grid[i][j];
+            result[j] = cell(i, j);
         }
         return result;
     }
@@ -208,7 +290,7 @@ public class Position {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < gridSize; i++) {
             for (int j = 0; j < gridSize; j++) {
-                sb.append(render(grid[i][j]));
+                sb.append(render(cell(i, j)));
                 if (j < gridSize - 1) sb.append(' ');
             }
             if (i < gridSize - 1) sb.append('\n');
@@ -221,7 +303,7 @@ public class Position {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < gridSize; i++) {
             for (int j = 0; j < gridSize; j++) {
-                sb.append(grid[i][j]);
+                sb.append(cell(i, j));
                 if (j < gridSize - 1) sb.append(',');
             }
             if (i < gridSize - 1) sb.append('\n');
@@ -234,25 +316,143 @@ public class Position {
         if (this == o) return true;
         if (!(o instanceof Position)) return false;
         Position position = (Position) o;
-        return Arrays.deepEquals(grid, position.grid);
+        return this.o == position.o && x == position.x;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(grid);
+        return o << gridSize * gridSize | x;
     }
 
     Position(int[][] grid, int count, int last) {
-        this.grid = grid;
+        this(mask(grid, 0), mask(grid, 1), count, last);
+    }
+
+    private Position(int o, int x, int count, int last) {
+        this(o, x, count, last, zobrist(o, x));
+    }
+
+    private Position(int o, int x, int count, int last, long zobrist) {
+        this.o = o;
+        this.x = x;
         this.count = count;
         this.last = last;
-        xxx = new int[]{last, last, last};
+        this.zobrist = zobrist;
+    }
+
+    /**
+     * @return the player (0: O, 1: X) who occupies cell [i, j], or -1 if it is empty.
+     */
+    private int cell(int i, int j) {
+        int bit = 1 << (i * gridSize + j);
+        return (o & bit) != 0 ? 0 : (x & bit) != 0 ? 1 : -1;
+    }
+
+    /**
+     * Method to yield a copy of this Position with its cells rearranged.
+     *
+     * @param map for each cell (x * 3 + y), the cell to which its contents are moved.
+     * @return a new Position.
+     */
+    private Position permute(int[] map) {
+        return new Position(permute(o, map), permute(x, map), count, last);
     }
 
-    private int[][] copyGrid() {
-        int[][] result = new int[gridSize][gridSize];
+    private static int permute(int mask, int[] map) {
+        int result = 0;
+        for (int cell = 0; cell < gridSize * gridSize; cell++)
+            if ((mask & 1 << cell) != 0) result |= 1 << map[cell];
+        return result;
+    }
+
+    private static int mask(int[][] grid, int player) {
+        int result = 0;
         for (int i = 0; i < gridSize; i++)
-            result[i] = Arrays.copyOf(grid[i], gridSize);
+            for (int j = 0; j < gridSize; j++)
+                if (grid[i][j] == player) result |= 1 << (i * gridSize + j);
+        return result;
+    }
+
+    private static long zobrist(int o, int x) {
+        long result = 0;
+        for (int cell = 0; cell < gridSize * gridSize; cell++) {
+            if ((o & 1 << cell) != 0) result ^= Zobrist.key(0, cell);
+            if ((x & 1 << cell) != 0) result ^= Zobrist.key(1, cell);
+        }
+        return result;
+    }
+
+    private static long zobristKey(int player, int x, int y) {
+        return Zobrist.key(player, x * gridSize + y);
+    }
+
+    /**
+     * The Zobrist hashes of the eight symmetries of this Position, indexed as symmetry (computed when first needed).
+     * A Position may be shared by the threads of a parallel search, so the array is filled before it is published
+     * (by a volatile write); two threads may both compute it, but they compute the same values.
+     */
+    private long[] symmetricZobrists() {
+        long[] hashes = symmetricZobrists;
+        if (hashes == null) {
+            hashes = new long[SYMMETRIES];
+            for (int cell = 0; cell < gridSize * gridSize; cell++) {
+                int player = cell(cell / gridSize, cell % gridSize);
+                if (player >= 0)
+                    for (int s = 0; s < SYMMETRIES; s++) hashes[s] ^= Zobrist.key(player, symmetry[s][cell]);
+            }
+            symmetricZobrists = hashes;
+        }
+        return hashes;
+    }
+
+    /**
+     * For each of the eight symmetries of the board, the cell (x * gridSize + y) to which each cell is mapped.
+     * Symmetry s is s % 4 clockwise rotations, followed by a reflection about the middle column if s >= 4;
+     * symmetry 0 is the identity.
+     */
+    private static int[][] symmetries() {
+        int[][] result = new int[SYMMETRIES][gridSize * gridSize];
+        for (int s = 0; s < SYMMETRIES; s++)
+            for (int x = 0; x < gridSize; x++)
+                for (int y = 0; y < gridSize; y++) {
+                    int i = x, j = y;
+                    for (int r = 0; r < s % 4; r++) {
+                        int t = i;
+                        i = j;
+                        j = gridSize - 1 - t;
+                    }
+                    if (s >= 4) j = gridSize - 1 - j;
+                    result[s][x * gridSize + y] = i * gridSize + j;
+                }
+        return result;
+    }
+
+    /**
+     * @return the masks of the eight lines: three rows, three columns and two diagonals.
+     */
+    private static int[] lines() {
+        int[] result = new int[2 * gridSize + 2];
+        for (int i = 0; i < gridSize; i++)
+            for (int j = 0; j < gridSize; j++) {
+                int bit = 1 << (i * gridSize + j);
+                result[i] |= bit;
+                result[gridSize + j] |= bit;
+                if (i == j) result[2 * gridSize] |= bit;
+                if (i + j == gridSize - 1) result[2 * gridSize + 1] |= bit;
+            }
+        return result;
+    }
+
+    /**
+     * @return for each 9-bit mask, the mask of the cells which would complete one of its lines (see completing).
+     */
+    private static int[] completingCells() {
+        int[] result = new int[FULL + 1];
+        for (int mask = 0; mask <= FULL; mask++)
+            for (int line : LINES) {
+                int missing = line & ~mask;
+                if (Integer.bitCount(missing) == 1) result[mask] |= missing;
+            }
         return result;
     }
 
@@ -264,24 +464,21 @@ public class Position {
         };
     }
 
-    /**
-     * TESTME
-     *
-     * @param matrix the matrix to be operated on.
-     * @param i1     first row.
-     * @param j1     first column.
-     * @param i2     second row.
-     * @param j2     second column.
-     */
-    private void swap(int[][] matrix, int i1, int j1, int i2, int j2) {
-        int temp = matrix[i1][j1];
-        matrix[i1][j1] = matrix[i2][j2];
-        matrix[i2][j2] = temp;
-    }
-
-    private final int[][] grid;
+    private final int o;
+    private final int x;
     final int last;
     private final int count;
+    private final long zobrist;
+    private volatile long[] symmetricZobrists;
     private final static int gridSize = 3;
-    private final int[] xxx;
+    final static int FULL = (1 << gridSize * gridSize) - 1;
+    private final static int[] LINES = lines();
+    private final static int[] COMPLETING = completingCells();
+    private final static int SYMMETRIES = 8;
+    private final static int[][] symmetry = symmetries();
+    // rotate: the contents of [i, j] move to [2 - j, i]
+    private final static int[] ROTATE = {6, 3, 0, 7, 4, 1, 8, 5, 2};
+    private final static int[] REFLECT_ROWS = {6, 7, 8, 3, 4, 5, 0, 1, 2};
+    private final static int[] REFLECT_COLUMNS = {2, 1, 0, 5, 4, 3, 8, 7, 6};
+    private final static List<Optional<Integer>> WINNERS = List.of(Optional.of(0), Optional.of(1));
 }
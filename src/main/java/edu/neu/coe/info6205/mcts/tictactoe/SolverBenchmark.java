@@ -0,0 +1,73 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of MCTS-Solver on TicTacToe: positions with a given number of empty cells are reached by random play, and
+ * from each a decision is made by MCTS with a budget of iterations, with and without the solver.
+ * For each number of empty cells, the benchmark reports the iterations actually used (the solver stops as soon as the
+ * root is solved), the proportion of roots solved, the time per decision and the proportion of decisions which are
+ * optimal (according to minimax).
+ * <p>
+ * Arguments (all optional): iterations per decision, positions per entry.
+ */
+public class SolverBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int positions = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        System.out.printf("%d iterations per decision, %d positions%n", iterations, positions);
+        for (int empties = 3; empties <= 9; empties++) {
+            for (boolean solver : new boolean[]{false, true}) {
+                Random random = new Random(empties);
+                long used = 0, nanos = 0;
+                int solved = 0, optimal = 0;
+                for (int p = 0; p < positions; p++) {
+                    State<TicTacToe> state = position(random, empties);
+                    Node<TicTacToe> root = new TicTacToeNode(state, null);
+                    MCTS mcts = new MCTS(root, false, null, solver);
+                    long start = System.nanoTime();
+                    Node<TicTacToe> best = mcts.runMCTS(iterations);
+                    nanos += System.nanoTime() - start;
+                    used += root.playouts();
+                    if (((TicTacToeNode) root).solved()) solved++;
+                    if (-negamax(best.state()) == value(state)) optimal++;
+                }
+                System.out.printf("%d empty, solver=%-5b: %,7d iterations, %5.1f%% solved, %7.3f ms, %5.1f%% optimal%n",
+                        empties, solver, used / positions, 100.0 * solved / positions, nanos / 1E6 / positions, 100.0 * optimal / positions);
+            }
+        }
+    }
+
+    // A position with the given number of empty cells, reached by random play, which is not terminal
+    // (or the empty board, for 9)
+    private static State<TicTacToe> position(Random random, int empties) {
+        while (true) {
+            State<TicTacToe> state = new TicTacToe(random.nextLong()).start();
+            for (int i = 9; i > empties && !state.isTerminal(); i--) {
+                List<Move<TicTacToe>> moves = new ArrayList<>(state.moves(state.player()));
+                state = state.next(moves.get(random.nextInt(moves.size())));
+            }
+            if (!state.isTerminal()) return state;
+        }
+    }
+
+    // The value of state for the player to move (1 for a win, 0 for a draw, -1 for a loss), by minimax
+    private static int negamax(State<TicTacToe> state) {
+        if (state.isTerminal()) return state.winner().isPresent() ? -1 : 0;
+        return value(state);
+    }
+
+    // The best value of the moves from a non-terminal state, for the player to move
+    private static int value(State<TicTacToe> state) {
+        int best = -1;
+        for (Move<TicTacToe> move : state.moves(state.player())) best = Math.max(best, -negamax(state.next(move)));
+        return best;
+    }
+}
@@ -0,0 +1,73 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.SearchBudget;
+import edu.neu.coe.info6205.mcts.core.State;
+import edu.neu.coe.info6205.mcts.core.TranspositionMCTS;
+import edu.neu.coe.info6205.mcts.core.TranspositionTable;
+
+import java.util.Random;
+
+/**
+ * Benchmark of symmetry-aware search on the opening position of TicTacToe, with and without canonicalization.
+ * Both MCTS (a tree of nodes) and TranspositionMCTS (a table of states) are run in steps of STEP iterations;
+ * after each step the canonical hash of the chosen move is recorded.
+ * For each, the benchmark reports the size of the tree (or table) and the iterations to convergence, i.e. the
+ * number of iterations after which the choice (up to symmetry) no longer changed, averaged over several trials.
+ */
+public class SymmetryBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int trials = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        for (boolean symmetric : new boolean[]{false, true}) {
+            long size = 0, convergence = 0;
+            for (int t = 0; t < trials; t++) {
+                Node<TicTacToe> root = new TicTacToeNode(start, null);
+                MCTS mcts = new MCTS(root, symmetric);
+                long last = 0, converged = 0;
+                for (int i = STEP; i <= iterations; i += STEP) {
+                    long choice = mcts.runMCTS(STEP).state().canonicalHash();
+                    if (choice != last) converged = i;
+                    last = choice;
+                }
+                size += count(root);
+                convergence += converged;
+            }
+            System.out.printf("MCTS              symmetric=%-5b: %,9d nodes, %,7d iterations to convergence, %d root children%n",
+                    symmetric, size / trials, convergence / trials, distinctChildren(start, symmetric));
+        }
+        for (boolean symmetric : new boolean[]{false, true}) {
+            long size = 0, convergence = 0;
+            for (int t = 0; t < trials; t++) {
+                TranspositionTable table = new TranspositionTable(1 << 16);
+                TranspositionMCTS<TicTacToe> search = new TranspositionMCTS<>(table, new Random(t), symmetric);
+                long last = 0, converged = 0;
+                for (int i = STEP; i <= iterations; i += STEP) {
+                    long choice = search.search(start, SearchBudget.iterations(STEP)).bestState().canonicalHash();
+                    if (choice != last) converged = i;
+                    last = choice;
+                }
+                size += table.size();
+                convergence += converged;
+            }
+            System.out.printf("TranspositionMCTS symmetric=%-5b: %,9d entries, %,5d iterations to convergence%n",
+                    symmetric, size / trials, convergence / trials);
+        }
+    }
+
+    private static int distinctChildren(State<TicTacToe> state, boolean symmetric) {
+        Node<TicTacToe> root = new TicTacToeNode(state, null);
+        new MCTS(root, symmetric).runMCTS(100);
+        return root.children().size();
+    }
+
+    private static int count(Node<TicTacToe> node) {
+        int result = 1;
+        for (Node<TicTacToe> child : node.children()) result += count(child);
+        return result;
+    }
+
+    private static final int STEP = 100;
+}
@@ -2,6 +2,7 @@ package edu.neu.coe.info6205.mcts.tictactoe;
 
 import edu.neu.coe.info6205.mcts.core.Game;
 import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.Rollout;
 import edu.neu.coe.info6205.mcts.core.State;
 
 import java.util.*;
@@ -94,6 +95,30 @@ public class TicTacToe implements Game<TicTacToe> {
         this(System.currentTimeMillis());
     }
 
+    /**
+     * Method to yield the moves which a player may make on a board with the given empty cells.
+     * Since there are only 2 * 512 such lists, each is built the first time it is needed and then shared,
+     * so that generating moves does not allocate.
+     *
+     * @param player the player.
+     * @param empty  a 9-bit mask of the empty cells (see Position.empty).
+     * @return an unmodifiable list of moves, in row-major order.
+     */
+    static List<Move<TicTacToe>> moves(int player, int empty) {
+        List<Move<TicTacToe>> result = moveLists[player][empty];
+        if (result == null) {
+            List<Move<TicTacToe>> list = new ArrayList<>(Integer.bitCount(empty));
+            for (int cell = 0; cell < 9; cell++)
+                if ((empty & 1 << cell) != 0) list.add(new TicTacToeMove(player, cell / 3, cell % 3));
+            result = List.copyOf(list);
+            moveLists[player][empty] = result;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final List<Move<TicTacToe>>[][] moveLists = new List[2][1 << 9];
+
     private final Random random;
 
     /**
@@ -194,10 +219,7 @@ public class TicTacToe implements Game<TicTacToe> {
          */
         public Collection<Move<TicTacToe>> moves(int player) {
             if (player == position.last) throw new RuntimeException("consecutive moves by same player: " + player);
-            List<int[]> moves = position.moves(player);
-            ArrayList<Move<TicTacToe>> list = new ArrayList<>();
-            for (int[] coordinates : moves) list.add(new TicTacToeMove(player, coordinates[0], coordinates[1]));
-            return list;
+            return TicTacToe.moves(player, position.empty());
         }
 
         /**
@@ -208,8 +230,50 @@ public class TicTacToe implements Game<TicTacToe> {
          */
         public State<TicTacToe> next(Move<TicTacToe> move) {
             TicTacToeMove ticTacToeMove = (TicTacToeMove) move;
-            int[] ints = ticTacToeMove.move();
-            return new TicTacToeState(position.move(move.player(), ints[0], ints[1]));
+            return new TicTacToeState(position.move(move.player(), ticTacToeMove.i, ticTacToeMove.j));
+        }
+
+        /**
+         * @return the Zobrist hash of the Position.
+         */
+        public long hash() {
+            return position.zobrist();
+        }
+
+        /**
+         * Method to yield the hash of the State which would follow the given move, without creating it.
+         *
+         * @param move the move.
+         * @return the hash of next(move).
+         */
+        public long nextHash(Move<TicTacToe> move) {
+            TicTacToeMove ticTacToeMove = (TicTacToeMove) move;
+            return position.zobristAfter(move.player(), ticTacToeMove.i, ticTacToeMove.j);
+        }
+
+        /**
+         * @return the hash of the Position which is the same for all eight of its rotations and reflections.
+         */
+        public long canonicalHash() {
+            return position.canonicalZobrist();
+        }
+
+        /**
+         * Method to yield the canonical hash of the State which would follow the given move, without creating it.
+         *
+         * @param move the move.
+         * @return the canonical hash of next(move).
+         */
+        public long nextCanonicalHash(Move<TicTacToe> move) {
+            TicTacToeMove ticTacToeMove = (TicTacToeMove) move;
+            return position.canonicalZobristAfter(move.player(), ticTacToeMove.i, ticTacToeMove.j);
+        }
+
+        /**
+         * @return a new TicTacToeRollout.
+         */
+        public Rollout<TicTacToe> rollout() {
+            return new TicTacToeRollout();
         }
 
         /**
@@ -228,6 +292,19 @@ public class TicTacToe implements Game<TicTacToe> {
                     "\n}";
         }
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TicTacToeState)) return false;
+            TicTacToeState that = (TicTacToeState) o;
+            return position.equals(that.position);
+        }
+
+        @Override
+        public int hashCode() {
+            return position.hashCode();
+        }
+
         public TicTacToeState(Position position) {
             this.position = position;
         }
@@ -10,6 +10,14 @@ import java.util.List;
 
 public class TicTacToeNode implements Node<TicTacToe> {
 
+    /**
+     * The game-theoretic value of a node, once it has been proven (as in MCTS-Solver),
+     * from the point of view of the player who plays to the node.
+     */
+    public enum Proof {
+        WIN, DRAW, LOSS, UNKNOWN
+    }
+
     /**
      * @return true if this node is a leaf node (in which case no further exploration is possible).
      */
@@ -92,22 +100,59 @@ public class TicTacToeNode implements Node<TicTacToe> {
         if (isLeaf()) {
             playouts = 1;
             Optional<Integer> winner = state.winner();
-            if (winner.isPresent())
+            if (winner.isPresent()) {
                 wins = 2; // CONSIDER check that the winner is the correct player. We shouldn't need to.
-            else
+                proof = Proof.WIN; // only the player who plays to a terminal node can have won
+            } else {
                 wins = 1; // a draw.
+                proof = Proof.DRAW;
+            }
         }
     }
+
+    /**
+     * @return the proven value of this node (UNKNOWN until it has been proven), for the player who plays to it.
+     */
+    public Proof proof() {
+        return proof;
+    }
+
+    /**
+     * Method to record the proven value of this node.
+     *
+     * @param proof the value, for the player who plays to this node.
+     */
+    public void prove(Proof proof) {
+        this.proof = proof;
+    }
+
+    /**
+     * @return true if the value of this node has been proven.
+     */
+    public boolean solved() {
+        return proof != Proof.UNKNOWN;
+    }
+
     @Override
     public Node<TicTacToe> getParent() {
         return parent;
     }
 
+    @Override
+    public void detach() {
+        this.parent = null;
+    }
+
     @Override
     public void incrementPlayouts() {
         this.playouts++;
     }
 
+    @Override
+    public void addPlayouts(int playouts) {
+        this.playouts += playouts;
+    }
+
     @Override
     public void addWins(int wins) {
         this.wins += wins;
@@ -116,8 +161,9 @@ public class TicTacToeNode implements Node<TicTacToe> {
 
     private final State<TicTacToe> state;
     private final ArrayList<Node<TicTacToe>> children;
-    private final Node<TicTacToe> parent;
+    private Node<TicTacToe> parent;
 
     private int wins;
     private int playouts;
+    private Proof proof = Proof.UNKNOWN;
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.PlayoutPolicy;
+import edu.neu.coe.info6205.mcts.core.Rollout;
+
+import java.util.Random;
+
+/**
+ * Heavy PlayoutPolicies of TicTacToe, which look for the cells that complete a line in a table of masks
+ * (see Position.completing), so that a move costs a few bit operations and allocates nothing:
+ * <ul>
+ *     <li>WIN makes a winning move whenever there is one;</li>
+ *     <li>WIN_OR_BLOCK also blocks a line of the opponent (unless it can win);</li>
+ * </ul>
+ * otherwise, the move is chosen uniformly at random. They work only on a TicTacToeRollout (see TicTacToeState.rollout).
+ */
+public enum TicTacToePlayoutPolicy implements PlayoutPolicy<TicTacToe> {
+
+    WIN(false),
+    WIN_OR_BLOCK(true);
+
+    public int choose(Rollout<TicTacToe> rollout, Random random) {
+        TicTacToeRollout r = (TicTacToeRollout) rollout;
+        int player = r.player();
+        int empty = r.empty();
+        int cells = preferred(r.mask(player), r.mask(1 - player), empty);
+        if (cells == 0) return random.nextInt(Integer.bitCount(empty));
+        // the index of a move is the number of empty cells before its cell
+        return Integer.bitCount(empty & ((1 << Integer.numberOfTrailingZeros(cells)) - 1));
+    }
+
+    /**
+     * Method to yield the cells which this policy prefers.
+     *
+     * @param own      the mask of the player to move.
+     * @param opponent the mask of the opponent.
+     * @param empty    the mask of the empty cells.
+     * @return the mask of the winning cells if there are any; otherwise (if this policy blocks) that of the cells
+     * which block a line of the opponent; otherwise 0.
+     */
+    int preferred(int own, int opponent, int empty) {
+        int cells = Position.completing(own) & empty;
+        if (cells == 0 && block) cells = Position.completing(opponent) & empty;
+        return cells;
+    }
+
+    TicTacToePlayoutPolicy(boolean block) {
+        this.block = block;
+    }
+
+    private final boolean block;
+}
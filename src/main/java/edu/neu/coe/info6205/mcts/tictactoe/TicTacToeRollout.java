@@ -0,0 +1,105 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.Rollout;
+import edu.neu.coe.info6205.mcts.core.State;
+
+/**
+ * A Rollout of TicTacToe: the two 9-bit masks of a Position, updated in place.
+ * Once created, it allocates nothing.
+ */
+class TicTacToeRollout implements Rollout<TicTacToe> {
+
+    public void reset(State<TicTacToe> state) {
+        Position position = ((TicTacToe.TicTacToeState) state).position();
+        masks[0] = position.mask(0);
+        masks[1] = position.mask(1);
+        first = position.last;
+        last = first;
+        won = position.winner().isPresent();
+        depth = 0;
+    }
+
+    public boolean isTerminal() {
+        return won || (masks[0] | masks[1]) == Position.FULL;
+    }
+
+    public int player() {
+        return last == TicTacToe.X ? TicTacToe.O : TicTacToe.X;
+    }
+
+    public int moves() {
+        return Integer.bitCount(empty());
+    }
+
+    /**
+     * Make the index-th move, where the moves are the empty cells in row-major order (as in TicTacToeState.moves).
+     *
+     * @param index a number less than moves().
+     */
+    public void apply(int index) {
+        int cell = key(index);
+        int player = player();
+        masks[player] |= 1 << cell;
+        history[depth++] = cell;
+        last = player;
+        won = Position.line(masks[player]);
+    }
+
+    /**
+     * @return the number of cells.
+     */
+    public int keys() {
+        return 9;
+    }
+
+    /**
+     * @param index a number less than moves().
+     * @return the cell of the index-th move.
+     */
+    public int key(int index) {
+        int empty = empty();
+        for (int i = 0; i < index; i++) empty &= empty - 1;
+        return Integer.numberOfTrailingZeros(empty);
+    }
+
+    public int playedKey(int ply) {
+        return history[ply];
+    }
+
+    public void undo() {
+        if (depth == 0) throw new IllegalStateException("no move to undo");
+        masks[last] &= ~(1 << history[--depth]);
+        last = depth == 0 ? first : 1 - last;
+        won = false;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int winner() {
+        return won ? last : -1;
+    }
+
+    /**
+     * @param player the player (0: O, 1: X).
+     * @return the 9-bit mask of the cells occupied by player.
+     */
+    int mask(int player) {
+        return masks[player];
+    }
+
+    /**
+     * @return the 9-bit mask of the empty cells.
+     */
+    int empty() {
+        return Position.FULL & ~(masks[0] | masks[1]);
+    }
+
+    private final int[] masks = new int[2];
+    private final int[] history = new int[9];
+    private int first;
+    private int last;
+    private int depth;
+    private boolean won;
+}
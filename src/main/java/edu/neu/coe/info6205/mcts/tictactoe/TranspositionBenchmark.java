@@ -0,0 +1,43 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.SearchBudget;
+import edu.neu.coe.info6205.mcts.core.SearchResult;
+import edu.neu.coe.info6205.mcts.core.State;
+import edu.neu.coe.info6205.mcts.core.TranspositionMCTS;
+import edu.neu.coe.info6205.mcts.core.TranspositionTable;
+import edu.neu.coe.info6205.mcts.core.UCTSearch;
+
+import java.util.Random;
+
+/**
+ * Benchmark of TranspositionMCTS against UCTSearch on the opening position of TicTacToe.
+ * For each iteration budget, the number of nodes in the tree of UCTSearch is compared with the number of entries in
+ * the TranspositionTable (tic-tac-toe has only 5,478 legal positions, whereas its game tree has 549,946 nodes),
+ * together with the iterations per second and the move chosen by each search.
+ */
+public class TranspositionBenchmark {
+
+    public static void main(String[] args) {
+        int capacity = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 16;
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        new UCTSearch<>(new TicTacToeNode(start, null), new Random(0L)).run(20_000); // warmup
+        new TranspositionMCTS<TicTacToe>(new TranspositionTable(capacity), new Random(0L)).search(start, SearchBudget.iterations(20_000));
+
+        for (int iterations = 1_000; iterations <= 1_000_000; iterations *= 10) {
+            Node<TicTacToe> root = new TicTacToeNode(start, null);
+            SearchResult<TicTacToe> tree = new UCTSearch<>(root, new Random(0L)).search(SearchBudget.iterations(iterations));
+            TranspositionTable table = new TranspositionTable(capacity);
+            SearchResult<TicTacToe> graph = new TranspositionMCTS<TicTacToe>(table, new Random(0L)).search(start, SearchBudget.iterations(iterations));
+            System.out.printf("iterations=%,9d: tree %,9d nodes %,12.0f iterations/sec best %d | table %,6d entries (%,d replaced) %,12.0f iterations/sec best %d%n",
+                    iterations, count(root), tree.iterationsPerSecond(), tree.bestIndex(),
+                    table.size(), table.replacements(), graph.iterationsPerSecond(), graph.bestIndex());
+        }
+    }
+
+    private static int count(Node<TicTacToe> node) {
+        int result = 1;
+        for (Node<TicTacToe> child : node.children()) result += count(child);
+        return result;
+    }
+}
@@ -0,0 +1,145 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ArrayTreeTest {
+
+    @Test
+    public void expand() {
+        ArrayTree target = new ArrayTree(2);
+        assertEquals(1, target.size());
+        assertFalse(target.isExpanded(0));
+        assertEquals(-1, target.parent(0));
+        int first = target.expand(0, 3);
+        assertEquals(1, first);
+        assertEquals(4, target.size());
+        assertTrue(target.capacity() >= 4);
+        assertTrue(target.isExpanded(0));
+        assertEquals(3, target.children(0));
+        assertEquals(3, target.child(0, 2));
+        assertEquals(2, target.move(3));
+        assertEquals(0, target.parent(3));
+        assertFalse(target.isExpanded(3));
+    }
+
+    @Test
+    public void expandTerminal() {
+        ArrayTree target = new ArrayTree();
+        target.expand(0, 0);
+        assertTrue(target.isExpanded(0));
+        assertEquals(0, target.children(0));
+        assertEquals(1, target.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void expandTwice() {
+        ArrayTree target = new ArrayTree();
+        target.expand(0, 2);
+        target.expand(0, 2);
+    }
+
+    @Test
+    public void update() {
+        ArrayTree target = new ArrayTree();
+        target.update(0, 2);
+        target.update(0, 1);
+        assertEquals(3, target.wins(0));
+        assertEquals(2, target.playouts(0));
+        target.clear();
+        assertEquals(0, target.playouts(0));
+        assertEquals(1, target.size());
+    }
+
+    @Test
+    public void reroot() {
+        ArrayTree target = new ArrayTree();
+        target.expand(0, 2); // 1, 2
+        target.expand(1, 2); // 3, 4
+        target.expand(2, 3); // 5, 6, 7
+        target.expand(7, 1); // 8
+        target.expand(8, 0);
+        target.update(7, 2);
+        target.update(8, 1);
+        target.reroot(2);
+        assertEquals(5, target.size());
+        assertEquals(-1, target.parent(0));
+        assertEquals(3, target.children(0));
+        assertEquals(3, target.child(0, 2));
+        assertEquals(2, target.wins(3));
+        assertEquals(1, target.children(3));
+        int grandchild = target.child(3, 0);
+        assertEquals(4, grandchild);
+        assertEquals(3, target.parent(grandchild));
+        assertEquals(1, target.wins(grandchild));
+        assertTrue(target.isExpanded(grandchild));
+        assertEquals(0, target.children(grandchild));
+        assertFalse(target.isExpanded(1));
+    }
+
+    @Test
+    public void bounded() {
+        ArrayTree target = new ArrayTree(4, 10, ArrayTree.Pruning.LEAST_VISITED);
+        target.expand(0, 4);
+        assertTrue(target.hasRoom(5));
+        assertFalse(target.hasRoom(6));
+        target.expand(1, 5);
+        assertEquals(10, target.size());
+        assertEquals(10, target.capacity());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void expandBeyondMaxNodes() {
+        ArrayTree target = new ArrayTree(4, 10, ArrayTree.Pruning.LEAST_VISITED);
+        target.expand(0, 10);
+    }
+
+    @Test
+    public void pruneLeastVisited() {
+        ArrayTree target = new ArrayTree(16, 16, ArrayTree.Pruning.LEAST_VISITED);
+        target.expand(0, 2); // 1, 2
+        target.expand(1, 3); // 3, 4, 5
+        target.expand(2, 3); // 6, 7, 8
+        target.expand(3, 2); // 9, 10
+        target.expand(6, 2); // 11, 12
+        for (int node : new int[]{0, 1, 3, 9}) for (int i = 0; i < 10; i++) target.update(node, 2);
+        for (int node : new int[]{0, 2, 6, 11}) target.update(node, 1);
+        assertEquals(13, target.size());
+        // the subtree under node 2 is the least visited, so it is collapsed, which is enough to halve the tree
+        assertEquals(5, target.prune());
+        assertEquals(8, target.size());
+        assertEquals(5, target.pruned());
+        assertEquals(1, target.prunings());
+        assertEquals(2, target.children(0));
+        // node 2 keeps its own statistics
+        assertFalse(target.isExpanded(2));
+        assertEquals(1, target.playouts(2));
+        assertEquals(3, target.children(1));
+        assertEquals(2, target.children(3));
+        assertEquals(6, target.child(3, 0));
+        assertEquals(3, target.parent(7));
+        assertEquals(10, target.playouts(6));
+        assertEquals(0, target.playouts(7));
+    }
+
+    @Test
+    public void pruneLeastRecent() {
+        ArrayTree target = new ArrayTree(16, 12, ArrayTree.Pruning.LEAST_RECENT);
+        target.expand(0, 2); // 1, 2
+        target.expand(1, 2); // 3, 4
+        target.expand(2, 2); // 5, 6
+        target.tick();
+        for (int node : new int[]{0, 1, 3}) target.update(node, 2);
+        for (int node : new int[]{0, 1, 3}) target.update(node, 2);
+        target.tick();
+        for (int node : new int[]{0, 2, 5}) target.update(node, 0);
+        // node 1 is the more visited, but node 2 the more recently updated
+        assertEquals(2, target.prune());
+        assertEquals(5, target.size());
+        assertFalse(target.isExpanded(1));
+        assertEquals(2, target.children(2));
+        assertEquals(2, target.parent(3));
+        assertEquals(1, target.playouts(3));
+    }
+}
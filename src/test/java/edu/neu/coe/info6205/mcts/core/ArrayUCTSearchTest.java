@@ -0,0 +1,128 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.nimgame.NimGame;
+import edu.neu.coe.info6205.mcts.nimgame.NimGameState;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ArrayUCTSearchTest {
+
+    @Test
+    public void searchWithIterations() {
+        ArrayUCTSearch<TicTacToe> target = new ArrayUCTSearch<>(new TicTacToe(0L).start(), new Random(0L));
+        SearchResult<TicTacToe> result = target.search(SearchBudget.iterations(200));
+        assertEquals(200, result.iterations());
+        assertEquals(200, target.tree().playouts(0));
+        assertEquals(9, result.moves().size());
+        int playouts = 0;
+        for (int i = 0; i < 9; i++) playouts += result.playouts(i);
+        assertEquals(200, playouts);
+    }
+
+    @Test
+    public void searchWithNodes() {
+        ArrayUCTSearch<TicTacToe> target = new ArrayUCTSearch<>(new TicTacToe(0L).start(), new Random(0L));
+        SearchResult<TicTacToe> result = target.search(SearchBudget.nodes(9 + 8));
+        assertEquals(2, result.iterations());
+        assertEquals(1 + 9 + 8, target.tree().size());
+    }
+
+    @Test
+    public void findsWinningMove() {
+        // Only one pile remains: taking all of it wins immediately (the last player to move wins).
+        NimGameState state = new NimGameState(new int[]{0, 0, 3}, 0);
+        SearchResult<NimGame> result = new ArrayUCTSearch<>(state, new Random(0L)).search(SearchBudget.iterations(500));
+        assertTrue(state.next(result.bestMove()).isTerminal());
+    }
+
+    @Test
+    public void agreesWithUCTSearch() {
+        // with the same random source, both searches make the same choices
+        State<NimGame> state = new NimGameState(new int[]{2, 3, 4}, 0);
+        SearchResult<NimGame> arrays = new ArrayUCTSearch<>(state, new Random(1L)).search(SearchBudget.iterations(300));
+        SearchResult<NimGame> nodes = new UCTSearch<>(new ConcurrentNode<>(state, null), new Random(1L)).search(SearchBudget.iterations(300));
+        for (int i = 0; i < arrays.moves().size(); i++) {
+            assertEquals(nodes.playouts(i), arrays.playouts(i));
+            assertEquals(nodes.wins(i), arrays.wins(i));
+        }
+    }
+
+    @Test
+    public void advance() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        ArrayUCTSearch<TicTacToe> target = new ArrayUCTSearch<>(start, new Random(0L));
+        SearchResult<TicTacToe> result = target.search(SearchBudget.iterations(500));
+        int best = result.bestIndex();
+        State<TicTacToe> next = result.bestState();
+        target.advance(next);
+        assertEquals(next, target.state());
+        assertEquals(result.playouts(best), target.tree().playouts(0));
+        SearchResult<TicTacToe> after = target.search(SearchBudget.iterations(100));
+        assertEquals(8, after.moves().size());
+        assertEquals(result.playouts(best) + 100, target.tree().playouts(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void advanceToUnreachableState() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        new ArrayUCTSearch<>(start, new Random(0L)).advance(start);
+    }
+
+    @Test
+    public void bounded() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        for (ArrayTree.Pruning pruning : ArrayTree.Pruning.values()) {
+            ArrayTree tree = new ArrayTree(16, 200, pruning);
+            ArrayUCTSearch<TicTacToe> target = new ArrayUCTSearch<>(start, tree, new Random(0L));
+            SearchResult<TicTacToe> result = target.search(SearchBudget.iterations(5000));
+            assertTrue(tree.size() <= 200);
+            assertEquals(200, tree.capacity());
+            assertTrue(tree.prunings() > 0);
+            assertTrue(tree.pruned() > 0);
+            assertEquals(5000, tree.playouts(0));
+            int playouts = 0;
+            for (int i = 0; i < 9; i++) playouts += result.playouts(i);
+            assertEquals(5000, playouts);
+        }
+    }
+
+    @Test
+    public void amaf() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        ArrayTree tree = new ArrayTree();
+        ArrayUCTSearch<TicTacToe> target = new ArrayUCTSearch<>(start, tree, new Random(0L), new RAVE());
+        target.search(SearchBudget.iterations(1));
+        assertTrue(tree.hasAmaf());
+        // after one playout, each of the moves of the first player is credited at the root
+        int amaf = 0;
+        for (int i = 0; i < 9; i++) {
+            assertEquals(i, tree.moveKey(tree.child(0, i)));
+            amaf += tree.amafPlayouts(tree.child(0, i));
+        }
+        assertTrue(amaf >= 3 && amaf <= 5);
+        target.search(SearchBudget.iterations(2000));
+        // every visit of a node is also an AMAF visit
+        for (int node = 1; node < tree.size(); node++)
+            assertTrue(tree.amafPlayouts(node) >= tree.playouts(node));
+        SearchResult<TicTacToe> result = target.result(0, 0);
+        int best = result.bestIndex();
+        int amafPlayouts = tree.amafPlayouts(tree.child(0, best));
+        target.advance(result.bestState());
+        assertEquals(result.playouts(best), tree.playouts(0));
+        assertEquals(amafPlayouts, tree.amafPlayouts(0));
+    }
+
+    @Test
+    public void amafFindsWinningMove() {
+        // X on cells 0 and 4, O on cells 1 and 5 (the i-th move is the i-th empty cell): X wins on cell 8
+        State<TicTacToe> state = new TicTacToe(0L).start();
+        for (int i : new int[]{0, 0, 2, 2}) state = state.next(List.copyOf(state.moves(state.player())).get(i));
+        SearchResult<TicTacToe> result = new ArrayUCTSearch<>(state, new ArrayTree(), new Random(0L), new RAVE()).search(SearchBudget.iterations(500));
+        assertTrue(result.bestState().isTerminal());
+    }
+}
@@ -0,0 +1,94 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.nimgame.NimGame;
+import edu.neu.coe.info6205.mcts.nimgame.NimGameState;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentNodeTest {
+
+    @Test
+    public void expand() {
+        ConcurrentNode<TicTacToe> target = new ConcurrentNode<>(new TicTacToe(0L).start(), null);
+        assertFalse(target.isExpanded());
+        assertTrue(target.expand());
+        assertTrue(target.isExpanded());
+        assertEquals(9, target.children().size());
+        assertFalse(target.expand());
+        assertEquals(9, target.children().size());
+        for (Node<TicTacToe> child : target.children()) assertSame(target, child.getParent());
+    }
+
+    @Test
+    public void expandConcurrently() throws InterruptedException {
+        ConcurrentNode<TicTacToe> target = new ConcurrentNode<>(new TicTacToe(0L).start(), null);
+        AtomicInteger expansions = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) threads.add(new Thread(() -> {
+            if (target.expand()) expansions.incrementAndGet();
+        }));
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        assertEquals(1, expansions.get());
+        assertEquals(9, target.children().size());
+    }
+
+    @Test
+    public void expandFailure() {
+        AtomicInteger failures = new AtomicInteger(1);
+        NimGameState state = new NimGameState(new int[]{1, 2}, 0) {
+            @Override
+            public List<Move<NimGame>> moves(int player) {
+                if (failures.getAndDecrement() > 0) throw new IllegalStateException("cannot generate moves");
+                return super.moves(player);
+            }
+        };
+        ConcurrentNode<NimGame> target = new ConcurrentNode<>(state, null);
+        assertThrows(IllegalStateException.class, target::expand);
+        assertFalse(target.isExpanded());
+        assertTrue(target.expand());
+        assertEquals(3, target.children().size());
+    }
+
+    @Test
+    public void statistics() throws InterruptedException {
+        ConcurrentNode<TicTacToe> target = new ConcurrentNode<>(new TicTacToe(0L).start(), null);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) threads.add(new Thread(() -> {
+            for (int j = 0; j < 10_000; j++) {
+                target.addVirtualLoss(1);
+                target.incrementPlayouts();
+                target.addWins(2);
+                target.addVirtualLoss(-1);
+            }
+        }));
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        assertEquals(40_000, target.playouts());
+        assertEquals(80_000, target.wins());
+        assertEquals(0, target.virtualLoss());
+    }
+
+    @Test
+    public void addChildAndBackPropagate() {
+        State<TicTacToe> state = new TicTacToe(0L).start();
+        ConcurrentNode<TicTacToe> target = new ConcurrentNode<>(state, null);
+        target.addChild(state);
+        target.addChild(state);
+        int i = 1;
+        for (Node<TicTacToe> child : target.children()) {
+            child.incrementPlayouts();
+            child.addWins(i++);
+        }
+        target.backPropagate();
+        assertEquals(2, target.playouts());
+        assertEquals(3, target.wins());
+        assertFalse(target.expand());
+    }
+}
@@ -0,0 +1,27 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FastMathTest {
+
+    @Test
+    public void tablesAgreeWithMath() {
+        for (int n : new int[]{0, 1, 2, 3, 100, FastMath.TABLE_SIZE - 1, FastMath.TABLE_SIZE, 1_000_000}) {
+            assertEquals(Math.log(n), FastMath.log(n), 0.0);
+            assertEquals(Math.sqrt(n), FastMath.sqrt(n), 0.0);
+            assertEquals(1 / Math.sqrt(n), FastMath.invSqrt(n), 0.0);
+        }
+    }
+
+    @Test
+    public void ucbAgreesWithUctValue() {
+        for (int parent : new int[]{2, 50, 20_000})
+            for (int playouts = 1; playouts < parent; playouts += parent / 7 + 1) {
+                double exploration = UCTSearch.EXPLORATION_CONSTANT * Math.sqrt(FastMath.log(parent));
+                assertEquals(UCTSearch.uctValue(playouts, playouts, Math.log(parent)), UCTSearch.ucb(playouts, playouts, exploration), 1E-12);
+            }
+        assertEquals(Double.POSITIVE_INFINITY, UCTSearch.ucb(0, 0, 1.0), 0.0);
+    }
+}
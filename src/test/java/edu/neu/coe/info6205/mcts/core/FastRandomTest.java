@@ -0,0 +1,115 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FastRandomTest {
+
+    @Test
+    public void sameSeedSameSequence() {
+        FastRandom a = new FastRandom(42L);
+        FastRandom b = new FastRandom(42L);
+        for (int i = 0; i < 1000; i++) assertEquals(a.nextLong(), b.nextLong());
+        a.setSeed(7L);
+        b.setSeed(7L);
+        for (int i = 0; i < 1000; i++) assertEquals(a.nextInt(10), b.nextInt(10));
+    }
+
+    @Test
+    public void zeroSeed() {
+        // SplitMix64 seeding means that even a zero seed gives a well-mixed state
+        FastRandom random = new FastRandom(0L);
+        Set<Long> values = new HashSet<>();
+        for (int i = 0; i < 1000; i++) values.add(random.nextLong());
+        assertEquals(1000, values.size());
+    }
+
+    @Test
+    public void nextIntIsUniform() {
+        FastRandom random = new FastRandom(1L);
+        int bound = 7, n = 70_000;
+        int[] counts = new int[bound];
+        for (int i = 0; i < n; i++) counts[random.nextInt(bound)]++;
+        double chiSquare = 0;
+        for (int count : counts) chiSquare += Math.pow(count - (double) n / bound, 2) / ((double) n / bound);
+        // the 99.9th percentile of chi-square with 6 degrees of freedom is 22.46
+        assertTrue("chi-square " + chiSquare, chiSquare < 22.46);
+        for (int i = 0; i < 1000; i++) {
+            int x = random.nextInt(Integer.MAX_VALUE);
+            assertTrue(x >= 0);
+        }
+        assertEquals(0, random.nextInt(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextIntBound() {
+        new FastRandom(1L).nextInt(0);
+    }
+
+    @Test
+    public void nextDouble() {
+        FastRandom random = new FastRandom(2L);
+        double sum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            double x = random.nextDouble();
+            assertTrue(x >= 0 && x < 1);
+            sum += x;
+        }
+        assertEquals(0.5, sum / 10_000, 0.02);
+    }
+
+    @Test
+    public void split() {
+        FastRandom parent = new FastRandom(3L);
+        FastRandom child = parent.split();
+        // the child continues the sequence of the parent, which jumps ahead
+        assertEquals(new FastRandom(3L).nextLong(), child.nextLong());
+        assertNotEquals(child.nextLong(), parent.nextLong());
+        // splitting is reproducible
+        FastRandom other = new FastRandom(3L);
+        other.split();
+        FastRandom again = new FastRandom(3L);
+        again.split();
+        FastRandom a = other.split(), b = again.split();
+        for (int i = 0; i < 100; i++) assertEquals(a.nextLong(), b.nextLong());
+    }
+
+    @Test
+    public void current() throws InterruptedException {
+        assertSame(FastRandom.current(), FastRandom.current());
+        AtomicReference<FastRandom> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> other.set(FastRandom.current()));
+        thread.start();
+        thread.join();
+        assertNotSame(FastRandom.current(), other.get());
+    }
+
+    @Test
+    public void serialization() throws IOException, ClassNotFoundException {
+        FastRandom target = new FastRandom(4L);
+        for (int i = 0; i < 10; i++) target.nextLong();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(target);
+        }
+        FastRandom copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (FastRandom) in.readObject();
+        }
+        for (int i = 0; i < 100; i++) assertEquals(target.nextLong(), copy.nextLong());
+    }
+}
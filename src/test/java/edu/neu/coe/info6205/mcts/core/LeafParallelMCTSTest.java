@@ -0,0 +1,82 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.nimgame.NimGame;
+import edu.neu.coe.info6205.mcts.nimgame.NimGameNode;
+import edu.neu.coe.info6205.mcts.nimgame.NimGameState;
+import edu.neu.coe.info6205.mcts.nimgame.NimPlayoutPolicy;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToeNode;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class LeafParallelMCTSTest {
+
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void run() {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe(0L).start(), null);
+        LeafParallelMCTS<TicTacToe> target = new LeafParallelMCTS<>(root, new Random(0L), executor, 8);
+        assertNotNull(target.run(50));
+        assertEquals(50, target.iterations());
+        assertEquals(400, target.rollouts());
+        assertEquals(400, root.playouts());
+    }
+
+    @Test
+    public void rollouts() {
+        NimGameState state = new NimGameState(new int[]{1, 2, 3}, 0);
+        LeafParallelMCTS<NimGame> target = new LeafParallelMCTS<>(new NimGameNode(state, null), new Random(0L), executor, 16);
+        Outcomes outcomes = target.rollouts(state);
+        assertEquals(16, outcomes.playouts());
+        assertEquals(0, outcomes.draws());
+    }
+
+    @Test
+    public void rolloutsWithPolicy() {
+        // the nim-sum of 1, 2 and 3 is zero, so with NIM_SUM playouts the player to move (0) loses every rollout
+        NimGameState state = new NimGameState(new int[]{1, 2, 3}, 0);
+        LeafParallelMCTS<NimGame> target = new LeafParallelMCTS<>(new NimGameNode(state, null), new Random(0L), executor, 16);
+        target.setPlayoutPolicy(NimPlayoutPolicy.NIM_SUM);
+        assertEquals(16, target.rollouts(state).wins(1));
+    }
+
+    @Test
+    public void rolloutsFromTerminal() {
+        NimGameState state = new NimGameState(new int[]{0, 0, 0}, 0);
+        LeafParallelMCTS<NimGame> target = new LeafParallelMCTS<>(new NimGameNode(state, null), new Random(0L), executor, 5);
+        Outcomes outcomes = target.rollouts(state);
+        assertEquals(5, outcomes.wins(1));
+        assertEquals(10, outcomes.score(1));
+        assertEquals(0, outcomes.score(0));
+    }
+
+    @Test
+    public void findsWinningMove() {
+        NimGameState state = new NimGameState(new int[]{0, 0, 3}, 0);
+        LeafParallelMCTS<NimGame> target = new LeafParallelMCTS<>(new NimGameNode(state, null), new Random(0L), executor, 4);
+        assertTrue(target.run(100).state().isTerminal());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noRollouts() {
+        new LeafParallelMCTS<>(new TicTacToeNode(new TicTacToe(0L).start(), null), new Random(0L), executor, 0);
+    }
+}
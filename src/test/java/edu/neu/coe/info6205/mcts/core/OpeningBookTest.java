@@ -0,0 +1,108 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class OpeningBookTest {
+
+    @BeforeClass
+    public static void searchStart() {
+        start = new TicTacToe(0L).start();
+        table = new TranspositionTable(1 << 14);
+        searched = new TranspositionMCTS<TicTacToe>(table, new Random(0L), true).search(start, SearchBudget.iterations(5000));
+    }
+
+    @Test
+    public void build() {
+        OpeningBook book = OpeningBook.build(start, 2, 50, table);
+        assertTrue(book.size() > 1);
+        // the start position and its three distinct successors (corner, edge and centre) at least
+        assertTrue(book.find(start.canonicalHash()) >= 0);
+        assertEquals(5000, book.playouts(book.find(start.canonicalHash())));
+        for (int i = 1; i < book.size(); i++) assertTrue(book.key(i - 1) < book.key(i));
+        for (int i = 0; i < book.size(); i++) {
+            assertTrue(book.playouts(i) >= 50);
+            assertEquals(table.playouts(table.find(book.key(i))), book.playouts(i));
+            assertEquals(table.wins(table.find(book.key(i))), book.wins(i));
+        }
+        assertEquals(-1, book.find(12345L));
+    }
+
+    @Test
+    public void result() {
+        OpeningBook book = OpeningBook.build(start, 1, 1, table);
+        SearchResult<TicTacToe> result = book.result(start);
+        assertEquals(9, result.moves().size());
+        for (int i = 0; i < 9; i++) {
+            assertEquals(searched.playouts(i), result.playouts(i));
+            assertEquals(searched.wins(i), result.wins(i));
+        }
+        assertEquals(searched.bestMove(), book.move(start, 1).orElseThrow());
+        assertEquals(searched.bestMove(), book.<TicTacToe>oracle(1000).move(start).orElseThrow());
+        assertFalse(book.move(start, 1_000_000).isPresent());
+        // the successors of the successors of start are not in a book of depth 1
+        State<TicTacToe> next = start.next(searched.bestMove());
+        assertFalse(book.move(next, 1).isPresent());
+    }
+
+    @Test
+    public void writeAndOpen() throws IOException {
+        OpeningBook book = OpeningBook.build(start, 3, 10, table);
+        Path path = Files.createTempFile("opening", ".book");
+        try {
+            book.write(path);
+            assertEquals(OpeningBook.HEADER_BYTES + (long) book.size() * OpeningBook.ENTRY_BYTES, Files.size(path));
+            OpeningBook mapped = OpeningBook.open(path);
+            assertEquals(book.size(), mapped.size());
+            for (int i = 0; i < book.size(); i++) {
+                assertEquals(book.key(i), mapped.key(i));
+                assertEquals(book.wins(i), mapped.wins(i));
+                assertEquals(book.playouts(i), mapped.playouts(i));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void openNotABook() throws IOException {
+        Path path = Files.createTempFile("opening", ".book");
+        try {
+            Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+            OpeningBook.open(path);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void seed() {
+        OpeningBook book = OpeningBook.build(start, 2, 50, table);
+        TranspositionTable seeded = new TranspositionTable(1 << 10);
+        assertEquals(book.size(), book.seed(seeded));
+        assertEquals(book.size(), seeded.size());
+        int root = seeded.find(start.canonicalHash());
+        assertEquals(5000, seeded.playouts(root));
+        TranspositionTable halved = new TranspositionTable(1 << 10);
+        book.seed(halved, 0.5);
+        assertEquals(2500, halved.playouts(halved.find(start.canonicalHash())));
+        // a seeded search continues from the statistics of the book
+        SearchResult<TicTacToe> result = new TranspositionMCTS<TicTacToe>(seeded, new Random(1L), true).search(start, SearchBudget.iterations(100));
+        int playouts = 0;
+        for (int i = 0; i < result.moves().size(); i++) playouts += result.playouts(i);
+        assertTrue(playouts > 100);
+        assertEquals(5100, seeded.playouts(root));
+    }
+
+    private static State<TicTacToe> start;
+    private static TranspositionTable table;
+    private static SearchResult<TicTacToe> searched;
+}
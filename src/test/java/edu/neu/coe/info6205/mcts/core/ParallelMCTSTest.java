@@ -0,0 +1,83 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.nimgame.NimGame;
+import edu.neu.coe.info6205.mcts.nimgame.NimGameState;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ParallelMCTSTest {
+
+    @Test
+    public void search() {
+        ConcurrentNode<TicTacToe> root = new ConcurrentNode<>(new TicTacToe(0L).start(), null);
+        try (ParallelMCTS<TicTacToe> target = new ParallelMCTS<>(4, ParallelMCTS.VIRTUAL_LOSS, 0L)) {
+            SearchResult<TicTacToe> result = target.search(root, 2000);
+            assertEquals(2000, result.iterations());
+            assertEquals(2000, root.playouts());
+            int playouts = 0;
+            for (int i = 0; i < 9; i++) playouts += result.playouts(i);
+            assertEquals(2000, playouts);
+            assertVirtualLossCleared(root);
+        }
+    }
+
+    @Test
+    public void searchSubtree() {
+        // a child of an expanded node is searched without being detached: its parent is outside the search
+        ConcurrentNode<TicTacToe> parent = new ConcurrentNode<>(new TicTacToe(0L).start(), null);
+        parent.expand();
+        ConcurrentNode<TicTacToe> root = (ConcurrentNode<TicTacToe>) parent.children().iterator().next();
+        try (ParallelMCTS<TicTacToe> target = new ParallelMCTS<>(4, ParallelMCTS.VIRTUAL_LOSS, 0L)) {
+            target.search(root, 500);
+            assertEquals(500, root.playouts());
+            assertEquals(0, parent.playouts());
+            assertEquals(0, parent.wins());
+            assertEquals(0, parent.virtualLoss());
+            assertVirtualLossCleared(root);
+        }
+    }
+
+    @Test
+    public void findsWinningMove() {
+        NimGameState state = new NimGameState(new int[]{0, 0, 3}, 0);
+        try (ParallelMCTS<NimGame> target = new ParallelMCTS<>(2, ParallelMCTS.VIRTUAL_LOSS, 0L)) {
+            assertTrue(target.search(state, 500).bestState().isTerminal());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void expansionFails() {
+        // every thread must meet the failure, rather than wait for children which will never be published
+        NimGameState state = new NimGameState(new int[]{1, 2}, 0) {
+            @Override
+            public List<Move<NimGame>> moves(int player) {
+                throw new IllegalStateException("cannot generate moves");
+            }
+        };
+        try (ParallelMCTS<NimGame> target = new ParallelMCTS<>(4, ParallelMCTS.VIRTUAL_LOSS, 0L)) {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> target.search(state, 100));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void noVirtualLoss() {
+        try (ParallelMCTS<TicTacToe> target = new ParallelMCTS<>(2, 0, 0L)) {
+            assertEquals(100, target.search(new TicTacToe(0L).start(), 100).iterations());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeVirtualLoss() {
+        new ParallelMCTS<TicTacToe>(1, -1, 0L);
+    }
+
+    private static void assertVirtualLossCleared(ConcurrentNode<TicTacToe> node) {
+        assertEquals(0, node.virtualLoss());
+        for (Node<TicTacToe> child : node.children()) assertVirtualLossCleared((ConcurrentNode<TicTacToe>) child);
+    }
+}
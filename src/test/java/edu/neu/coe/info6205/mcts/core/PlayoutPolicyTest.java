@@ -0,0 +1,64 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToeNode;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PlayoutPolicyTest {
+
+    @Test
+    public void uniformIsRolloutPlayout() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        Rollout<TicTacToe> rollout = start.rollout();
+        PlayoutPolicy<TicTacToe> target = PlayoutPolicy.uniform();
+        for (int seed = 0; seed < 100; seed++) {
+            rollout.reset(start);
+            int expected = rollout.playout(new Random(seed));
+            int depth = rollout.depth();
+            rollout.reset(start);
+            assertEquals(expected, target.playout(rollout, new Random(seed)));
+            assertEquals(depth, rollout.depth());
+        }
+    }
+
+    @Test
+    public void epsilonGreedy() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        Rollout<TicTacToe> rollout = start.rollout();
+        rollout.reset(start);
+        // a greedy policy which always chooses the last move
+        PlayoutPolicy<TicTacToe> last = (r, random) -> r.moves() - 1;
+        Random random = new Random(0L);
+        PlayoutPolicy<TicTacToe> never = PlayoutPolicy.epsilonGreedy(last, 0);
+        for (int i = 0; i < 100; i++) assertEquals(8, never.choose(rollout, random));
+        PlayoutPolicy<TicTacToe> sometimes = PlayoutPolicy.epsilonGreedy(last, 0.5);
+        int greedy = 0;
+        for (int i = 0; i < 9000; i++) if (sometimes.choose(rollout, random) == 8) greedy++;
+        // half of the moves are greedy, and one in nine of the others is the last move by chance
+        assertEquals(0.5 + 0.5 / 9, greedy / 9000.0, 0.02);
+        // a playout by an epsilon-greedy policy still ends the game
+        int winner = sometimes.playout(rollout, random);
+        assertTrue(rollout.isTerminal());
+        assertEquals(rollout.winner(), winner);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void epsilonOutOfRange() {
+        PlayoutPolicy.epsilonGreedy(PlayoutPolicy.<TicTacToe>uniform(), 1.5);
+    }
+
+    @Test
+    public void searchWithPolicy() {
+        // a search whose playouts always make the last move still searches (and expands) as usual
+        UCTSearch<TicTacToe> search = new UCTSearch<>(new TicTacToeNode(new TicTacToe(0L).start(), null), new Random(0L));
+        search.setPlayoutPolicy((r, random) -> r.moves() - 1);
+        search.run(100);
+        assertEquals(100, search.root().playouts());
+        assertEquals(9, search.root().children().size());
+    }
+}
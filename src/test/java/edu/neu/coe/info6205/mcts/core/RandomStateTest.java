@@ -2,8 +2,6 @@ package edu.neu.coe.info6205.mcts.core;
 
 import org.junit.Test;
 
-import java.util.Random;
-
 import static org.junit.Assert.assertEquals;
 
 public class RandomStateTest {
@@ -12,7 +10,7 @@ public class RandomStateTest {
     public void next() {
         RandomState target = new RandomState(1000, 0L);
         RandomState actual = target.next();
-        RandomState expected = new RandomState(1000, -4962768465676381896L);
+        RandomState expected = new RandomState(1000, -7355399402456485196L);
         assertEquals(expected, actual);
     }
 
@@ -20,7 +18,7 @@ public class RandomStateTest {
     public void nextValue() {
         RandomState target = new RandomState(1000, 0L);
         long actual = target.next().longValue();
-        long expected = 4804307197456638271L;
+        long expected = 5518286860253071851L;
         assertEquals(expected, actual);
     }
 
@@ -28,7 +26,7 @@ public class RandomStateTest {
     public void nextNextValue() {
         RandomState target = new RandomState(1000, 0L);
         long actual = target.next().next().longValue();
-        long expected = -1034601897293430941L;
+        long expected = 2168770785440441337L;
         assertEquals(expected, actual);
     }
 
@@ -36,7 +34,7 @@ public class RandomStateTest {
     public void intValue() {
         RandomState target = new RandomState(1000, 0L);
         int actual = target.intValue();
-        int expected = new Random(0L).nextInt(1000);
+        int expected = new FastRandom(0L).nextInt(1000);
         assertEquals(expected, actual);
     }
 
@@ -44,7 +42,7 @@ public class RandomStateTest {
     public void longValue() {
         RandomState target = new RandomState(1000, 0L);
         long actual = target.longValue();
-        long expected = new Random(0L).nextLong();
+        long expected = new FastRandom(0L).nextLong();
         assertEquals(expected, actual);
     }
 
@@ -52,7 +50,7 @@ public class RandomStateTest {
     public void booleanValue() {
         RandomState target = new RandomState(1000, 0L);
         boolean actual = target.booleanValue();
-        boolean expected = new Random(0L).nextBoolean();
+        boolean expected = new FastRandom(0L).nextBoolean();
         assertEquals(expected, actual);
     }
 }
\ No newline at end of file
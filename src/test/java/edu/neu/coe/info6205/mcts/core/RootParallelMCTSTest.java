@@ -0,0 +1,67 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToeNode;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RootParallelMCTSTest {
+
+    @Test
+    public void search() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        try (RootParallelMCTS<TicTacToe> target = new RootParallelMCTS<>(s -> new TicTacToeNode(s, null), 4, 0L)) {
+            SearchResult<TicTacToe> result = target.search(start, 1000);
+            assertEquals(9, result.moves().size());
+            assertEquals(1000, result.iterations());
+            int playouts = 0;
+            for (int i = 0; i < 9; i++) playouts += result.playouts(i);
+            assertEquals(1000, playouts);
+            assertNotNull(result.bestState());
+        }
+    }
+
+    @Test
+    public void deterministic() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        try (RootParallelMCTS<TicTacToe> first = new RootParallelMCTS<>(s -> new TicTacToeNode(s, null), 3, 42L);
+             RootParallelMCTS<TicTacToe> second = new RootParallelMCTS<>(s -> new TicTacToeNode(s, null), 3, 42L)) {
+            SearchResult<TicTacToe> expected = first.search(start, 500);
+            SearchResult<TicTacToe> actual = second.search(start, 500);
+            for (int i = 0; i < 9; i++) {
+                assertEquals(expected.playouts(i), actual.playouts(i));
+                assertEquals(expected.wins(i), actual.wins(i));
+            }
+            assertEquals(expected.bestIndex(), actual.bestIndex());
+        }
+    }
+
+    @Test
+    public void searchWithTime() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        try (RootParallelMCTS<TicTacToe> target = new RootParallelMCTS<>(s -> new TicTacToeNode(s, null), 2, 0L)) {
+            SearchResult<TicTacToe> result = target.search(start, SearchBudget.millis(20));
+            assertTrue(result.iterations() > 0);
+            int playouts = 0;
+            for (int i = 0; i < 9; i++) playouts += result.playouts(i);
+            assertEquals(result.iterations(), playouts);
+        }
+    }
+
+    @Test
+    public void moreThreadsThanIterations() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        try (RootParallelMCTS<TicTacToe> target = new RootParallelMCTS<>(s -> new TicTacToeNode(s, null), 8, 0L)) {
+            SearchResult<TicTacToe> result = target.search(start, 3);
+            int playouts = 0;
+            for (int i = 0; i < 9; i++) playouts += result.playouts(i);
+            assertEquals(3, playouts);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noThreads() {
+        new RootParallelMCTS<TicTacToe>(s -> new TicTacToeNode(s, null), 0, 0L);
+    }
+}
@@ -0,0 +1,84 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SearchBudgetTest {
+
+    @Test
+    public void iterations() {
+        SearchBudget.Tracker target = SearchBudget.iterations(10).start();
+        int count = 0;
+        while (target.proceed()) count++;
+        assertEquals(10, count);
+        assertEquals(10, target.iterations());
+    }
+
+    @Test
+    public void nodes() {
+        SearchBudget.Tracker target = SearchBudget.nodes(10).start();
+        int count = 0;
+        while (target.proceed()) {
+            target.addNodes(3);
+            count++;
+        }
+        assertEquals(4, count);
+        assertEquals(12, target.nodes());
+    }
+
+    @Test
+    public void millis() throws InterruptedException {
+        SearchBudget.Tracker target = SearchBudget.millis(20).start();
+        long count = 0;
+        while (target.proceed()) {
+            Thread.sleep(1);
+            count++;
+        }
+        assertTrue(target.elapsed() >= 20_000_000L);
+        assertTrue(count < 20 + SearchBudget.CLOCK_INTERVAL);
+    }
+
+    @Test
+    public void stop() throws InterruptedException {
+        SearchBudget.Tracker target = SearchBudget.millis(60_000).start();
+        Thread stopper = new Thread(() -> {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                // ignore
+            }
+            target.stop();
+        });
+        stopper.start();
+        while (target.proceed()) Thread.yield();
+        stopper.join();
+        assertTrue(target.elapsed() < 60_000_000_000L);
+    }
+
+    @Test
+    public void interrupted() {
+        SearchBudget.Tracker target = SearchBudget.millis(60_000).start();
+        Thread.currentThread().interrupt();
+        try {
+            assertFalse(target.proceed());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void share() {
+        SearchBudget target = new SearchBudget(10, SearchBudget.UNLIMITED, 5_000_000L);
+        assertEquals(4, target.share(0, 3).iterations());
+        assertEquals(3, target.share(1, 3).iterations());
+        assertEquals(3, target.share(2, 3).iterations());
+        assertEquals(SearchBudget.UNLIMITED, target.share(2, 3).nodes());
+        assertEquals(5_000_000L, target.share(2, 3).nanos());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unlimited() {
+        new SearchBudget(SearchBudget.UNLIMITED, SearchBudget.UNLIMITED, SearchBudget.UNLIMITED);
+    }
+}
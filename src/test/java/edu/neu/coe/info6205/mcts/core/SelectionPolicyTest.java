@@ -0,0 +1,206 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.nimgame.NimGame;
+import edu.neu.coe.info6205.mcts.nimgame.NimGameRollout;
+import edu.neu.coe.info6205.mcts.nimgame.NimGameState;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToeNode;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SelectionPolicyTest {
+
+    /**
+     * Children with fixed statistics.
+     */
+    private static SelectionPolicy.Children children(int parentPlayouts, int[] wins, int[] playouts, double... priors) {
+        return new SelectionPolicy.Children() {
+            public int size() {
+                return wins.length;
+            }
+
+            public int parentPlayouts() {
+                return parentPlayouts;
+            }
+
+            public int wins(int i) {
+                return wins[i];
+            }
+
+            public int playouts(int i) {
+                return playouts[i];
+            }
+
+            public double prior(int i) {
+                return priors.length == 0 ? 1.0 / size() : priors[i];
+            }
+        };
+    }
+
+    @Test
+    public void valueOf() {
+        assertTrue(SelectionPolicy.valueOf("UCB1") instanceof UCB1);
+        assertTrue(SelectionPolicy.valueOf("ucb1-tuned") instanceof UCB1Tuned);
+        assertTrue(SelectionPolicy.valueOf("puct") instanceof PUCT);
+        assertTrue(SelectionPolicy.valueOf("Thompson") instanceof ThompsonSampling);
+        assertTrue(SelectionPolicy.valueOf("rave") instanceof RAVE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void valueOfUnknown() {
+        SelectionPolicy.valueOf("minimax");
+    }
+
+    @Test
+    public void ucb1() {
+        SelectionPolicy target = new UCB1();
+        assertEquals(1, target.select(children(10, new int[]{4, 0, 2}, new int[]{5, 0, 5}), null));
+        // the second child has the better mean, the third the larger exploration term
+        double logParent = Math.log(100);
+        int[] wins = {60, 90, 0};
+        int[] playouts = {50, 50, 1};
+        int expected = 0;
+        for (int i = 1; i < 3; i++)
+            if (UCTSearch.uctValue(wins[i], playouts[i], logParent) > UCTSearch.uctValue(wins[expected], playouts[expected], logParent))
+                expected = i;
+        assertEquals(expected, target.select(children(100, wins, playouts), null));
+        assertEquals(1, new UCB1(0).select(children(100, wins, playouts), null));
+    }
+
+    @Test
+    public void ucb1Tuned() {
+        SelectionPolicy target = new UCB1Tuned();
+        assertEquals(2, target.select(children(10, new int[]{4, 6, 0}, new int[]{5, 5, 0}), null));
+        // with the same means, the child with fewer playouts has the greater bound
+        assertEquals(1, target.select(children(1000, new int[]{500, 50}, new int[]{500, 50}), null));
+        // with very different means and many playouts, the better mean wins
+        assertEquals(0, target.select(children(1000, new int[]{900, 100}, new int[]{500, 500}), null));
+    }
+
+    @Test
+    public void puct() {
+        SelectionPolicy target = new PUCT();
+        // an unvisited child with a large prior is preferred
+        assertEquals(2, target.select(children(10, new int[]{10, 10, 0}, new int[]{5, 5, 0}, 0.1, 0.1, 0.8), null));
+        // with equal statistics, the larger prior wins
+        assertEquals(1, target.select(children(20, new int[]{10, 10}, new int[]{10, 10}, 0.3, 0.7), null));
+        // with no exploration, the better mean wins whatever the priors
+        assertEquals(0, new PUCT(0, 1).select(children(20, new int[]{16, 4}, new int[]{10, 10}, 0.1, 0.9), null));
+    }
+
+    @Test
+    public void thompson() {
+        SelectionPolicy target = new ThompsonSampling();
+        Random random = new Random(0L);
+        int[] counts = new int[2];
+        for (int i = 0; i < 1000; i++)
+            counts[target.select(children(200, new int[]{120, 80}, new int[]{100, 100}), random)]++;
+        // the posteriors (Beta(61, 41) and Beta(41, 61)) barely overlap
+        assertTrue(counts[0] > 990);
+        counts = new int[2];
+        for (int i = 0; i < 1000; i++)
+            counts[target.select(children(2, new int[]{1, 1}, new int[]{1, 1}), random)]++;
+        assertTrue(counts[0] > 400 && counts[1] > 400);
+    }
+
+    @Test
+    public void beta() {
+        Random random = new Random(0L);
+        double sum = 0;
+        int n = 20000;
+        for (int i = 0; i < n; i++) {
+            double x = ThompsonSampling.beta(3, 7, random);
+            assertTrue(x > 0 && x < 1);
+            sum += x;
+        }
+        assertEquals(0.3, sum / n, 0.01);
+    }
+
+    @Test
+    public void uctSearchWithPolicy() {
+        // Only one pile remains: taking all of it wins immediately (the last player to move wins).
+        NimGameState state = new NimGameState(new int[]{0, 0, 3}, 0);
+        for (String name : new String[]{"ucb1", "ucb1-tuned", "puct", "thompson"}) {
+            Node<NimGame> best = new UCTSearch<>(new ConcurrentNode<>(state, null), new Random(0L), SelectionPolicy.valueOf(name)).run(300);
+            assertTrue(name, best.state().isTerminal());
+            SearchResult<NimGame> result = new ArrayUCTSearch<>(state, new ArrayTree(), new Random(0L), SelectionPolicy.valueOf(name)).search(SearchBudget.iterations(300));
+            assertTrue(name, state.next(result.bestMove()).isTerminal());
+        }
+    }
+
+    @Test
+    public void rave() {
+        int[] wins = {6, 4, 0}, playouts = {5, 5, 0}, amafWins = {10, 30, 18}, amafPlayouts = {20, 20, 10};
+        SelectionPolicy.Children children = new SelectionPolicy.Children() {
+            public int size() {
+                return 3;
+            }
+
+            public int parentPlayouts() {
+                return 10;
+            }
+
+            public int wins(int i) {
+                return wins[i];
+            }
+
+            public int playouts(int i) {
+                return playouts[i];
+            }
+
+            public int amafWins(int i) {
+                return amafWins[i];
+            }
+
+            public int amafPlayouts(int i) {
+                return amafPlayouts[i];
+            }
+        };
+        SelectionPolicy target = new RAVE(1000, 0);
+        assertTrue(target.usesAmaf());
+        // the unvisited child is valued by its AMAF mean (0.9), which beats the blended means of the others
+        assertEquals(2, target.select(children, null));
+        amafWins[2] = 8;
+        // child 1 has the worse mean but the better AMAF mean, which dominates while beta is close to 1
+        assertEquals(1, target.select(children, null));
+        // with k = 0, there is no AMAF weight for visited children, so child 0 has the better mean
+        assertEquals(0, new RAVE(0, 0).select(children, null));
+        // without AMAF statistics, RAVE is UCB1
+        assertEquals(new UCB1().select(children(10, wins, playouts), null), new RAVE().select(children(10, wins, playouts), null));
+    }
+
+    @Test
+    public void priors() {
+        // a prior which favours taking a whole pile
+        Priors<NimGame> priors = (rollout, ps) -> {
+            NimGameRollout nim = (NimGameRollout) rollout;
+            int index = 0;
+            for (int pile = 0; pile < nim.piles(); pile++)
+                for (int take = 1; take <= nim.pile(pile); take++) ps[index++] = take == nim.pile(pile) ? 3 : 1;
+        };
+        NimGameState state = new NimGameState(new int[]{1, 2}, 0);
+        ArrayTree tree = new ArrayTree();
+        new ArrayUCTSearch<>(state, tree, new Random(0L), new PUCT(), priors).search(SearchBudget.iterations(1));
+        assertTrue(tree.hasPriors());
+        assertEquals(3, tree.children(0));
+        // the moves are: take 1 from pile 0 (the whole pile), take 1 from pile 1, take 2 from pile 1 (the whole pile)
+        assertEquals(3 / 7.0, tree.prior(tree.child(0, 0)), 1E-6);
+        assertEquals(1 / 7.0, tree.prior(tree.child(0, 1)), 1E-6);
+        assertEquals(3 / 7.0, tree.prior(tree.child(0, 2)), 1E-6);
+    }
+
+    @Test
+    public void nodeChildren() {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe(0L).start(), null);
+        root.explore();
+        root.children().iterator().next().addWins(3);
+        NodeChildren<TicTacToe> target = new NodeChildren<TicTacToe>(2).of(root);
+        assertEquals(9, target.size());
+        assertEquals(root.playouts(), target.parentPlayouts());
+        assertEquals(6, target.wins(0) - 2 * (target.get(0).wins() - 3));
+        assertSame(root.children().iterator().next(), target.get(0));
+    }
+}
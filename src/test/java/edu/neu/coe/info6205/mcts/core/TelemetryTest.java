@@ -0,0 +1,76 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.tictactoe.MCTS;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToeNode;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TelemetryTest {
+
+    @Test
+    public void snapshot() {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe(0L).start(), null);
+        MCTS mcts = new MCTS(root, false, null, false);
+        Telemetry telemetry = new Telemetry();
+        mcts.setTelemetry(telemetry);
+        mcts.runMCTS(500);
+        Telemetry.Snapshot snapshot = telemetry.last();
+        assertNotNull(snapshot);
+        assertEquals(500, snapshot.iterations());
+        assertTrue(snapshot.rollouts() > 0 && snapshot.rollouts() <= 500);
+        assertTrue(snapshot.nanos() > 0);
+        assertTrue(snapshot.iterationsPerSecond() > 0);
+        // the tree started from the root alone
+        assertEquals(1 + snapshot.nodes(), snapshot.treeNodes());
+        assertEquals(9, snapshot.rootChildren());
+        int visits = 0;
+        for (int i = 0; i < snapshot.rootChildren(); i++) visits += snapshot.rootVisits(i);
+        assertEquals(500, visits);
+        assertEquals(0, snapshot.depthCount(0));
+        long depths = 0, count = 0;
+        for (int depth = 0; depth <= snapshot.maxDepth(); depth++) {
+            count += snapshot.depthCount(depth);
+            depths += (long) depth * snapshot.depthCount(depth);
+        }
+        assertEquals(500, count);
+        assertTrue(snapshot.depthCount(snapshot.maxDepth()) > 0);
+        assertEquals((double) depths / 500, snapshot.meanDepth(), 1e-9);
+        assertEquals(9, snapshot.maxBranching());
+        assertTrue(snapshot.meanBranching() > 1);
+        for (Telemetry.Phase phase : Telemetry.Phase.values()) assertTrue(phase.toString(), snapshot.phaseNanos(phase) > 0);
+        String json = snapshot.toJson();
+        assertTrue(json, json.startsWith("{\"iterations\":500,"));
+        assertTrue(json, json.contains("\"phaseNanos\":{\"select\":"));
+    }
+
+    @Test
+    public void snapshotPerDecision() {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe(0L).start(), null);
+        MCTS mcts = new MCTS(root, false, null, false);
+        List<Telemetry.Snapshot> snapshots = new ArrayList<>();
+        mcts.setTelemetry(new Telemetry(snapshots::add));
+        Node<TicTacToe> best = mcts.runMCTS(100);
+        mcts.advance(best.state());
+        mcts.runMCTS(200);
+        assertEquals(2, snapshots.size());
+        assertEquals(100, snapshots.get(0).iterations());
+        assertEquals(200, snapshots.get(1).iterations());
+        assertEquals(8, snapshots.get(1).rootChildren());
+    }
+
+    @Test
+    public void disabled() {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe(0L).start(), null);
+        MCTS mcts = new MCTS(root, false, null, false);
+        Telemetry telemetry = new Telemetry();
+        mcts.setTelemetry(telemetry);
+        mcts.setTelemetry(null);
+        mcts.runMCTS(100);
+        assertNull(telemetry.last());
+    }
+}
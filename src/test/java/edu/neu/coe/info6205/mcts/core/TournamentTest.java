@@ -0,0 +1,87 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TournamentTest {
+
+    @Test
+    public void play() {
+        Tournament<TicTacToe> target = new Tournament<>(new TicTacToe(0L), List.of(Agent.valueOf("random"), Agent.valueOf("ucb1:200")), 20, 0L);
+        List<Tournament.Result> results = target.play(4);
+        assertEquals(20, results.size());
+        int first = 0;
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).game);
+            if (results.get(i).first == 0) first++;
+        }
+        assertEquals(10, first);
+        List<Tournament.Standing> standings = target.standings(results);
+        assertEquals("ucb1:200", standings.get(1).name);
+        assertEquals(20, standings.get(1).games);
+        assertTrue(standings.get(1).score > 0.5);
+        assertTrue(standings.get(1).elo > standings.get(0).elo);
+        assertEquals(0, standings.get(0).elo + standings.get(1).elo, 1e-6);
+    }
+
+    @Test
+    public void playIsIndependentOfThreads() {
+        Tournament<TicTacToe> target = new Tournament<>(new TicTacToe(0L), List.of(Agent.valueOf("random"), Agent.valueOf("ucb1:50"), Agent.valueOf("rave:50")), 4, 1L);
+        List<Tournament.Result> sequential = target.play(1);
+        List<Tournament.Result> parallel = target.play(3);
+        assertEquals(12, parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i).seed, parallel.get(i).seed);
+            assertEquals(sequential.get(i).score, parallel.get(i).score, 0);
+            assertEquals(sequential.get(i).moves, parallel.get(i).moves);
+        }
+    }
+
+    @Test
+    public void standings() {
+        Tournament<TicTacToe> target = new Tournament<>(new TicTacToe(0L), List.of(Agent.valueOf("random"), Agent.valueOf("ucb1:1")), 4, 0L);
+        // agent 0 wins three games, draws two and loses one: a score of 4 out of 6
+        List<Tournament.Result> results = List.of(
+                new Tournament.Result(0, 0, 1, 1, 5, 0, 0), new Tournament.Result(1, 1, 0, 0, 5, 0, 0),
+                new Tournament.Result(2, 0, 1, 0.5, 9, 0, 0), new Tournament.Result(3, 1, 0, 0.5, 9, 0, 0),
+                new Tournament.Result(4, 0, 1, 0, 6, 0, 0), new Tournament.Result(5, 1, 0, 0, 7, 0, 0));
+        List<Tournament.Standing> standings = target.standings(results);
+        Tournament.Standing standing = standings.get(0);
+        assertEquals(6, standing.games);
+        assertEquals(3, standing.wins);
+        assertEquals(2, standing.draws);
+        assertEquals(1, standing.losses);
+        assertEquals(4.0 / 6, standing.score, 1e-9);
+        assertEquals(2.0 / 6, standings.get(1).score, 1e-9);
+        assertTrue(standing.scoreError > 0);
+        // a score of 2/3 is worth 400 log10(2) (about 120) Elo more than the opponent; the virtual draws shrink it a little
+        double difference = standing.elo - standings.get(1).elo;
+        assertTrue(difference > 90 && difference < 400 * Math.log10(2));
+        assertTrue(standing.eloError > 0);
+    }
+
+    @Test
+    public void writeCsv() throws IOException {
+        Tournament<TicTacToe> target = new Tournament<>(new TicTacToe(0L), List.of(Agent.valueOf("random"), Agent.valueOf("ucb1:20")), 2, 0L);
+        List<Tournament.Result> results = target.play(2);
+        StringWriter writer = new StringWriter();
+        target.writeCsv(results, writer);
+        assertFalse("every line ends with a bare newline", writer.toString().contains("\r"));
+        String[] lines = writer.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("game,first,second,score,moves,millis,seed", lines[0]);
+        assertTrue(lines[1].startsWith("0,random,ucb1:20,"));
+        assertTrue(lines[2].startsWith("1,ucb1:20,random,"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badAgent() {
+        Agent.valueOf("ucb1");
+    }
+}
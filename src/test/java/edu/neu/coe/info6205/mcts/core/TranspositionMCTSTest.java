@@ -0,0 +1,78 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.nimgame.NimGameState;
+import edu.neu.coe.info6205.mcts.nimgame.NimGame;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TranspositionMCTSTest {
+
+    @Test
+    public void search() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        TranspositionMCTS<TicTacToe> target = new TranspositionMCTS<>(new TranspositionTable(1 << 16), new Random(0L));
+        SearchResult<TicTacToe> result = target.search(start, SearchBudget.iterations(2000));
+        assertEquals(2000, result.iterations());
+        assertEquals(9, result.moves().size());
+        int playouts = 0;
+        for (int i = 0; i < 9; i++) playouts += result.playouts(i);
+        assertEquals(2000, playouts);
+        // there are only 5478 legal positions in tic-tac-toe
+        assertTrue(target.table().size() <= 5478);
+        assertEquals(0, target.table().replacements());
+    }
+
+    @Test
+    public void symmetric() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        TranspositionMCTS<TicTacToe> target = new TranspositionMCTS<>(new TranspositionTable(1 << 16), new Random(0L), true);
+        SearchResult<TicTacToe> result = target.search(start, SearchBudget.iterations(20000));
+        // there are only 765 legal positions in tic-tac-toe, up to symmetry
+        assertTrue(target.table().size() <= 765);
+        // all four corners share one entry
+        assertEquals(result.playouts(0), result.playouts(8));
+        assertEquals(4, result.bestIndex());
+    }
+
+    @Test
+    public void searchWithNodes() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        TranspositionMCTS<TicTacToe> target = new TranspositionMCTS<>(new TranspositionTable(1 << 12), new Random(0L));
+        target.search(start, SearchBudget.nodes(100));
+        // the root itself is not counted
+        assertEquals(101, target.table().size());
+    }
+
+    @Test
+    public void transpositions() {
+        // in Nim, many move orders lead to the same position, so the table is much smaller than the tree
+        State<NimGame> start = new NimGameState(new int[]{3, 4, 5}, 0);
+        TranspositionMCTS<NimGame> target = new TranspositionMCTS<>(new TranspositionTable(1 << 12), new Random(0L));
+        SearchResult<NimGame> result = target.search(start, SearchBudget.iterations(5000));
+        // 4 * 5 * 6 piles, times 2 players
+        assertTrue(target.table().size() <= 240);
+        // from 3,4,5 (nim-sum 2) the only winning move leaves 1,4,5
+        NimGameState best = (NimGameState) result.bestState();
+        assertArrayEquals(new int[]{1, 4, 5}, best.getPiles());
+    }
+
+    @Test
+    public void smallTable() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        TranspositionMCTS<TicTacToe> target = new TranspositionMCTS<>(new TranspositionTable(64), new Random(0L));
+        SearchResult<TicTacToe> result = target.search(start, SearchBudget.iterations(2000));
+        assertEquals(64, target.table().size());
+        assertTrue(target.table().replacements() > 0);
+        assertNotNull(result.bestMove());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void terminal() {
+        State<NimGame> end = new NimGameState(new int[]{0, 0, 0}, 0);
+        new TranspositionMCTS<NimGame>(new TranspositionTable(16), new Random(0L)).search(end, SearchBudget.iterations(1));
+    }
+}
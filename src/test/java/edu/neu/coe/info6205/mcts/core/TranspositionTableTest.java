@@ -0,0 +1,59 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TranspositionTableTest {
+
+    @Test
+    public void findOrCreate() {
+        TranspositionTable target = new TranspositionTable(16);
+        assertEquals(16, target.capacity());
+        assertEquals(-1, target.find(42L));
+        int slot = target.findOrCreate(42L);
+        assertEquals(slot, target.find(42L));
+        assertEquals(slot, target.findOrCreate(42L));
+        assertEquals(1, target.size());
+        target.update(slot, 2);
+        target.update(slot, 1);
+        assertEquals(3, target.wins(slot));
+        assertEquals(2, target.playouts(slot));
+        assertTrue(target.matches(slot, 42L));
+    }
+
+    @Test
+    public void zeroHash() {
+        TranspositionTable target = new TranspositionTable(4);
+        assertEquals(-1, target.find(0L));
+        int slot = target.findOrCreate(0L);
+        assertEquals(slot, target.find(0L));
+    }
+
+    @Test
+    public void replaceLeastVisited() {
+        // with a capacity of WAYS, there is only one bucket
+        TranspositionTable target = new TranspositionTable(TranspositionTable.WAYS);
+        for (int i = 1; i <= TranspositionTable.WAYS; i++) {
+            int slot = target.findOrCreate(i);
+            for (int j = 0; j < i; j++) target.update(slot, 1);
+        }
+        int victim = target.find(1L);
+        int slot = target.findOrCreate(100L);
+        assertEquals(victim, slot);
+        assertFalse(target.matches(slot, 1L));
+        assertEquals(-1, target.find(1L));
+        assertEquals(0, target.playouts(slot));
+        assertEquals(1, target.replacements());
+        assertEquals(TranspositionTable.WAYS, target.size());
+    }
+
+    @Test
+    public void clear() {
+        TranspositionTable target = new TranspositionTable(8);
+        target.update(target.findOrCreate(7L), 2);
+        target.clear();
+        assertEquals(0, target.size());
+        assertEquals(-1, target.find(7L));
+    }
+}
@@ -0,0 +1,100 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.nimgame.NimGameNode;
+import edu.neu.coe.info6205.mcts.nimgame.NimGameState;
+import edu.neu.coe.info6205.mcts.tictactoe.MCTS;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToeNode;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TreeSerializerTest {
+
+    @Test
+    public void roundTrip() throws IOException {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        Node<TicTacToe> root = new ConcurrentNode<>(start, null);
+        new UCTSearch<>(root, new Random(0L)).run(2000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long nodes = TreeSerializer.write(root, bytes);
+        assertEquals(count(root), nodes);
+        Node<TicTacToe> copy = TreeSerializer.read(new ByteArrayInputStream(bytes.toByteArray()), new ConcurrentNode<>(start, null));
+        assertSameTree(root, copy);
+        // the copy can be searched further (its nodes are expanded)
+        new UCTSearch<>(copy, new Random(1L)).run(100);
+        assertTrue(count(copy) > count(root));
+        assertEquals(root.playouts() + 100, copy.playouts());
+    }
+
+    @Test
+    public void checkpointAndResume() throws IOException {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        MCTS mcts = new MCTS(new TicTacToeNode(start, null), false, null, false);
+        mcts.runMCTS(500);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TreeSerializer.write(mcts.root(), bytes);
+        Node<TicTacToe> restored = TreeSerializer.read(new ByteArrayInputStream(bytes.toByteArray()), new TicTacToeNode(start, null));
+        assertSameTree(mcts.root(), restored);
+        MCTS resumed = new MCTS(restored, false, null, false);
+        resumed.runMCTS(500);
+        assertEquals(1000, restored.playouts());
+    }
+
+    @Test
+    public void unorderedChildren() throws IOException {
+        // the Nim search adds children in a random order
+        NimGameState start = new NimGameState(new int[]{3, 6, 9}, 0);
+        edu.neu.coe.info6205.mcts.nimgame.MCTS mcts = new edu.neu.coe.info6205.mcts.nimgame.MCTS(new NimGameNode(start, null));
+        mcts.runMCTS(1000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TreeSerializer.write(mcts.root(), bytes);
+        Node<?> copy = TreeSerializer.read(new ByteArrayInputStream(bytes.toByteArray()), new NimGameNode(start, null));
+        assertSameTree(mcts.root(), copy);
+    }
+
+    @Test(expected = IOException.class)
+    public void wrongRoot() throws IOException {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        Node<TicTacToe> root = new ConcurrentNode<>(start, null);
+        new UCTSearch<>(root, new Random(0L)).run(10);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TreeSerializer.write(root, bytes);
+        State<TicTacToe> other = start.next(start.moves(start.player()).iterator().next());
+        TreeSerializer.read(new ByteArrayInputStream(bytes.toByteArray()), new ConcurrentNode<>(other, null));
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncated() throws IOException {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        Node<TicTacToe> root = new ConcurrentNode<>(start, null);
+        new UCTSearch<>(root, new Random(0L)).run(100);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TreeSerializer.write(root, bytes);
+        byte[] data = bytes.toByteArray();
+        TreeSerializer.read(new ByteArrayInputStream(Arrays.copyOf(data, data.length / 2)), new ConcurrentNode<>(start, null));
+    }
+
+    private static long count(Node<?> node) {
+        long result = 1;
+        for (Node<?> child : node.children()) result += count(child);
+        return result;
+    }
+
+    private static void assertSameTree(Node<?> expected, Node<?> actual) {
+        assertEquals(expected.state(), actual.state());
+        assertEquals(expected.playouts(), actual.playouts());
+        assertEquals(expected.wins(), actual.wins());
+        assertEquals(expected.children().size(), actual.children().size());
+        Iterator<? extends Node<?>> iterator = actual.children().iterator();
+        for (Node<?> child : expected.children()) assertSameTree(child, iterator.next());
+    }
+}
@@ -0,0 +1,146 @@
+package edu.neu.coe.info6205.mcts.core;
+
+import edu.neu.coe.info6205.mcts.nimgame.NimGame;
+import edu.neu.coe.info6205.mcts.nimgame.NimGameNode;
+import edu.neu.coe.info6205.mcts.nimgame.NimGameState;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToe;
+import edu.neu.coe.info6205.mcts.tictactoe.TicTacToeNode;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class UCTSearchTest {
+
+    @Test
+    public void run() {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe(0L).start(), null);
+        UCTSearch<TicTacToe> target = new UCTSearch<>(root, new Random(0L));
+        Node<TicTacToe> best = target.run(100);
+        assertNotNull(best);
+        assertEquals(100, target.iterations());
+        assertEquals(100, root.playouts());
+        assertEquals(9, root.children().size());
+    }
+
+    @Test
+    public void searchWithIterations() {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe(0L).start(), null);
+        SearchResult<TicTacToe> result = new UCTSearch<>(root, new Random(0L)).search(SearchBudget.iterations(200));
+        assertEquals(200, result.iterations());
+        assertEquals(200, root.playouts());
+        assertEquals(9, result.moves().size());
+    }
+
+    @Test
+    public void searchWithNodes() {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe(0L).start(), null);
+        SearchResult<TicTacToe> result = new UCTSearch<>(root, new Random(0L)).search(SearchBudget.nodes(9 + 8));
+        assertEquals(2, result.iterations());
+    }
+
+    @Test
+    public void searchWithTime() {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe(0L).start(), null);
+        SearchResult<TicTacToe> result = new UCTSearch<>(root, new Random(0L)).search(SearchBudget.millis(20));
+        assertTrue(result.nanos() >= 20_000_000L);
+        assertTrue(result.iterations() > 0);
+        assertNotNull(result.bestMove());
+    }
+
+    @Test
+    public void stop() throws InterruptedException {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe(0L).start(), null);
+        UCTSearch<TicTacToe> target = new UCTSearch<>(root, new Random(0L));
+        Thread stopper = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                // ignore
+            }
+            target.stop();
+        });
+        stopper.start();
+        SearchResult<TicTacToe> result = target.search(SearchBudget.millis(60_000));
+        stopper.join();
+        assertTrue(result.nanos() < 60_000_000_000L);
+        assertNotNull(result.bestMove());
+    }
+
+    @Test
+    public void advance() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        Node<TicTacToe> root = new TicTacToeNode(start, null);
+        UCTSearch<TicTacToe> target = new UCTSearch<>(root, new Random(0L));
+        Node<TicTacToe> best = target.run(500);
+        int playouts = best.playouts();
+        Node<TicTacToe> advanced = target.advance(best.state());
+        assertSame(best, advanced);
+        assertSame(advanced, target.root());
+        assertNull(advanced.getParent());
+        assertEquals(playouts, advanced.playouts());
+        target.run(100);
+        assertEquals(playouts + 100, advanced.playouts());
+    }
+
+    @Test
+    public void advanceByMove() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        UCTSearch<TicTacToe> target = new UCTSearch<>(new TicTacToeNode(start, null), new Random(0L));
+        Move<TicTacToe> move = start.chooseMove(start.player());
+        Node<TicTacToe> advanced = target.advance(move);
+        assertEquals(start.next(move), advanced.state());
+        assertNull(advanced.getParent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void advanceToUnreachableState() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        UCTSearch<TicTacToe> target = new UCTSearch<>(new TicTacToeNode(start, null), new Random(0L));
+        target.advance(start);
+    }
+
+    @Test
+    public void expandAddsChildrenInMoveOrder() {
+        NimGameState state = new NimGameState(new int[]{1, 2}, 0);
+        Node<NimGame> root = new NimGameNode(state, null);
+        UCTSearch<NimGame> target = new UCTSearch<>(root, new Random(0L));
+        target.expand(root);
+        assertEquals(3, root.children().size());
+        int i = 0;
+        for (Node<NimGame> child : root.children())
+            assertArrayEquals(((NimGameState) state.next(state.moves(0).get(i++))).getPiles(), ((NimGameState) child.state()).getPiles());
+    }
+
+    @Test
+    public void findsWinningMove() {
+        // Only one pile remains: taking all of it wins immediately (the last player to move wins).
+        NimGameState state = new NimGameState(new int[]{0, 0, 3}, 0);
+        Node<NimGame> root = new NimGameNode(state, null);
+        Node<NimGame> best = new UCTSearch<>(root, new Random(0L)).run(200);
+        assertTrue(best.state().isTerminal());
+    }
+
+    @Test
+    public void score() {
+        NimGameState state = new NimGameState(new int[]{1, 1}, 0);
+        Node<NimGame> root = new NimGameNode(state, null);
+        Node<NimGame> child = new NimGameNode(state.next(state.moves(0).get(0)), root);
+        assertEquals(2, UCTSearch.score(child, 0));
+        assertEquals(0, UCTSearch.score(child, 1));
+        assertEquals(1, UCTSearch.score(child, -1));
+        assertEquals(2, UCTSearch.score(root, 1));
+    }
+
+    @Test
+    public void uctValue() {
+        assertEquals(Double.POSITIVE_INFINITY, UCTSearch.uctValue(0, 0, Math.log(10)), 0);
+        assertEquals(0.5 + Math.sqrt(2) * Math.sqrt(Math.log(10) / 4), UCTSearch.uctValue(4, 4, Math.log(10)), 1E-9);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void bestChildWithoutChildren() {
+        UCTSearch.bestChild(new TicTacToeNode(new TicTacToe(0L).start(), null));
+    }
+}
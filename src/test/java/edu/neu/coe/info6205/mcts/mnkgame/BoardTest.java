@@ -0,0 +1,100 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class BoardTest {
+
+    @Test
+    public void testEmpty() {
+        Board target = new Board(15, 15, 5);
+        assertEquals(225, target.empties());
+        assertFalse(target.isTerminal());
+        assertEquals(-1, target.last());
+        assertEquals(0L, target.zobrist());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalid() {
+        new Board(3, 3, 4);
+    }
+
+    @Test
+    public void testMove() {
+        Board target = new Board(5, 4, 3);
+        Board moved = target.move(1, 6);
+        assertEquals(1, moved.get(1, 2));
+        assertEquals(-1, target.get(6));
+        assertEquals(19, moved.empties());
+        assertEquals(6, moved.lastCell());
+        Set<Integer> empties = new HashSet<>();
+        for (int i = 0; i < moved.empties(); i++) empties.add(moved.empty(i));
+        assertEquals(19, empties.size());
+        assertFalse(empties.contains(6));
+        assertEquals(target.zobristAfter(1, 6), moved.zobrist());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testMoveOccupied() {
+        new Board(3, 3, 3).move(1, 4).move(0, 4);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testMoveSamePlayer() {
+        new Board(3, 3, 3).move(1, 4).move(1, 5);
+    }
+
+    @Test
+    public void testRow() {
+        Board target = Board.parse(". X X X X .\n. O O O O .\n. . . . . .", 5, 0);
+        assertFalse(target.won());
+        assertTrue(target.move(1, 0).won());
+        assertTrue(target.move(1, 5).won());
+        assertFalse(target.move(1, 12).won());
+    }
+
+    @Test
+    public void testColumnAndDiagonals() {
+        Board empty = new Board(5, 5, 3);
+        // X on the main diagonal, O on the first column
+        Board target = empty.move(1, 0).move(0, 5).move(1, 6).move(0, 10);
+        assertFalse(target.won());
+        assertTrue(target.move(1, 12).won());
+        Board column = target.move(1, 24).move(0, 15);
+        assertTrue(column.won());
+        assertEquals(Integer.valueOf(0), column.winner().get());
+        // anti-diagonal: 4, 8, 12
+        Board anti = empty.move(1, 4).move(0, 0).move(1, 8).move(0, 1);
+        assertTrue(anti.move(1, 12).won());
+    }
+
+    @Test
+    public void testNoWrap() {
+        // a row must not continue onto the next row
+        Board target = Board.parse(". . . X X\nX X . . .\n. . . . .", 4, 0);
+        assertFalse(target.won());
+        assertFalse(target.move(1, 2).won());
+    }
+
+    @Test
+    public void testParse() {
+        Board target = Board.parse("X X X\nO O .\n. . .", 3, 1);
+        assertTrue(target.won());
+        assertEquals(Integer.valueOf(1), target.winner().get());
+        assertEquals(4, target.empties());
+        assertEquals(new Board(3, 3, 3).move(1, 0).move(0, 3).move(1, 1).move(0, 4).move(1, 2), target);
+    }
+
+    @Test
+    public void testFull() {
+        Board target = Board.parse("X O X\nX O O\nO X .", 3, 0);
+        Board full = target.move(1, 8);
+        assertTrue(full.full());
+        assertTrue(full.isTerminal());
+        assertFalse(full.winner().isPresent());
+    }
+}
@@ -0,0 +1,63 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.Rollout;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MNKGameRolloutTest {
+
+    @Test
+    public void applyMatchesNext() {
+        Random random = new Random(0L);
+        MNKGame game = new MNKGame(9, 9, 4, 0L);
+        for (int i = 0; i < 20; i++) {
+            MNKGameState state = (MNKGameState) game.start();
+            Rollout<MNKGame> target = state.rollout();
+            target.reset(state);
+            while (!state.isTerminal()) {
+                assertFalse(target.isTerminal());
+                assertEquals(state.player(), target.player());
+                List<Move<MNKGame>> moves = state.moves(state.player());
+                assertEquals(moves.size(), target.moves());
+                int index = random.nextInt(moves.size());
+                int cell = ((MNKGameMove) moves.get(index)).cell();
+                assertEquals(cell, target.key(index));
+                state = state.next(moves.get(index));
+                target.apply(index);
+                assertEquals(cell, target.playedKey(target.depth() - 1));
+            }
+            assertTrue(target.isTerminal());
+            assertEquals((int) state.winner().orElse(-1), target.winner());
+        }
+    }
+
+    @Test
+    public void undoRestoresMoveOrder() {
+        MNKGame game = new MNKGame(15, 15, 5, 0L);
+        MNKGameState start = (MNKGameState) game.start();
+        Rollout<MNKGame> target = start.rollout();
+        target.reset(start);
+        int winner = target.playout(new Random(2L));
+        int depth = target.depth();
+        while (target.depth() > 0) target.undo();
+        assertEquals(225, target.moves());
+        assertEquals(MNKGame.X, target.player());
+        assertEquals(winner, target.playout(new Random(2L)));
+        assertEquals(depth, target.depth());
+    }
+
+    @Test
+    public void reuseAcrossSizes() {
+        Rollout<MNKGame> target = new MNKGame(3, 3, 3, 0L).start().rollout();
+        MNKGameState big = (MNKGameState) new MNKGame(19, 19, 5, 0L).start();
+        target.reset(big);
+        assertEquals(361, target.moves());
+        target.playout(new Random(0L));
+        assertTrue(target.isTerminal());
+    }
+}
@@ -0,0 +1,56 @@
+package edu.neu.coe.info6205.mcts.mnkgame;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.State;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MNKGameTest {
+
+    @Test
+    public void runGame() {
+        State<MNKGame> state = new MNKGame(15, 15, 5, 0L).runGame();
+        assertTrue(state.isTerminal());
+    }
+
+    @Test
+    public void moves() {
+        MNKGame game = new MNKGame(19, 19, 5, 0L);
+        MNKGameState start = (MNKGameState) game.start();
+        List<Move<MNKGame>> moves = start.moves(start.player());
+        assertEquals(361, moves.size());
+        assertEquals(MNKGame.X, start.player());
+        MNKGameMove move = (MNKGameMove) moves.get(20);
+        assertSame(game.move(MNKGame.X, move.cell()), move);
+        MNKGameState next = start.next(move);
+        assertEquals(MNKGame.O, next.player());
+        assertEquals(360, next.moves(next.player()).size());
+        assertEquals(MNKGame.X, next.board().get(move.row(), move.column()));
+        assertEquals(next.hash(), start.nextHash(move));
+    }
+
+    @Test
+    public void stateEquals() {
+        MNKGame game = new MNKGame(7, 7, 4, 0L);
+        State<MNKGame> s1 = game.start().next(game.move(1, 3)).next(game.move(0, 10)).next(game.move(1, 20));
+        State<MNKGame> s2 = game.start().next(game.move(1, 20)).next(game.move(0, 10)).next(game.move(1, 3));
+        assertEquals(s1, s2);
+        assertEquals(s1.hashCode(), s2.hashCode());
+        assertEquals(s1.hash(), s2.hash());
+    }
+
+    @Test
+    public void ticTacToe() {
+        // the 3,3,3-game is tic-tac-toe: X wins on the diagonal
+        MNKGame game = new MNKGame(3, 3, 3, 0L);
+        State<MNKGame> state = game.start();
+        for (int cell : new int[]{0, 1, 4, 2}) state = state.next(game.move(state.player(), cell));
+        assertFalse(state.isTerminal());
+        state = state.next(game.move(state.player(), 8));
+        assertTrue(state.isTerminal());
+        assertEquals(Integer.valueOf(MNKGame.X), state.winner().get());
+    }
+}
@@ -3,6 +3,8 @@ package edu.neu.coe.info6205.mcts.nimgame;
 import static org.junit.Assert.*;
 
 import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.SearchBudget;
+import edu.neu.coe.info6205.mcts.core.Telemetry;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -44,9 +46,19 @@ public class MctsTest {
 
 
         assertEquals("Root node playouts should be incremented", 1, rootNode.playouts());
-        if (result == rootNode.state().player()) {
-            assertEquals("Root node wins should be incremented", 1, rootNode.wins());
-        }
+        // a win is credited to the player who moved into a node: the player to move at the root moved into expandedNode
+        int mover = rootNode.state().player();
+        assertEquals("Expanded node wins should count the wins of the player who chose it", result == mover ? 1 : 0, expandedNode.wins());
+        assertEquals("Root node wins should count the wins of the opponent", result == mover ? 0 : 1, rootNode.wins());
+    }
+
+    @Test
+    public void testRunMCTSFindsWinningMove() {
+        // from piles of 1 and 2, the only winning move leaves 1 and 1; with NIM_SUM playouts, it wins every playout
+        MCTS target = new MCTS(new NimGameNode(new NimGameState(new int[]{1, 2}, 0), null));
+        target.setPlayoutPolicy(NimPlayoutPolicy.NIM_SUM);
+        NimGameState next = (NimGameState) target.runMCTS(100).state();
+        assertFalse("MCTS should leave a nim-sum of zero", NimOracle.winning(next));
     }
 
     @Test
@@ -57,6 +69,65 @@ public class MctsTest {
         assertTrue("Best node should have at least one win", bestNode.wins() > 0);
     }
 
+    @Test
+    public void testRunMCTSWithTimeBudget() {
+        long start = System.nanoTime();
+        Node<NimGame> bestNode = mcts.runMCTS(SearchBudget.millis(20));
+        assertNotNull("RunMCTS should return a best node", bestNode);
+        assertTrue("MCTS should run for at least the time budget", System.nanoTime() - start >= 20_000_000L);
+    }
+
+    @Test
+    public void testAdvance() {
+        Node<NimGame> bestNode = mcts.runMCTS(200);
+        int playouts = bestNode.playouts();
+        Node<NimGame> newRoot = mcts.advance(bestNode.state());
+        assertSame("Advance should reuse the searched subtree", bestNode, newRoot);
+        assertNull("New root should be detached", newRoot.getParent());
+        assertEquals(playouts, newRoot.playouts());
+    }
+
+    @Test
+    public void testAdvanceByOpponentMove() {
+        Node<NimGame> newRoot = mcts.advance(new NimGameMove(0, 1));
+        assertArrayEquals(new int[]{2, 6, 9}, ((NimGameState) newRoot.state()).getPiles());
+        assertSame(newRoot, mcts.root());
+    }
+
+    @Test
+    public void testProgressiveWidening() {
+        NimGameNode root = new NimGameNode(new NimGameState(new int[]{1000, 2000, 3000}, 0), null);
+        MCTS widened = new MCTS(root, null, 1);
+        widened.runMCTS(400);
+        assertEquals(1 + 20, widened.allowedChildren(400));
+        assertTrue("Root should have at most the allowed children", root.children().size() <= widened.allowedChildren(400));
+        assertTrue("Root should have been widened", root.children().size() > 1);
+        // the children are for distinct moves
+        assertEquals(root.children().size(), root.children().stream().map(Node::state).distinct().count());
+    }
+
+    @Test
+    public void testUnlimitedWidening() {
+        NimGameNode root = new NimGameNode(new NimGameState(new int[]{1, 2, 3}, 0), null);
+        new MCTS(root, null, Double.POSITIVE_INFINITY).runMCTS(100);
+        assertEquals("All six moves should have been tried", 6, root.children().size());
+    }
+
+    @Test
+    public void testTelemetry() {
+        Telemetry telemetry = new Telemetry();
+        mcts.setTelemetry(telemetry);
+        mcts.runMCTS(300);
+        assertEquals(300, telemetry.last().iterations());
+        assertEquals(rootNode.playouts(), telemetry.last().iterations());
+        // a decision made by the oracle is recorded without any iteration
+        MCTS oracle = new MCTS(new NimGameNode(new NimGameState(new int[]{3, 6, 9}, 0), null), new NimOracle());
+        oracle.setTelemetry(telemetry);
+        oracle.runMCTS(300);
+        assertEquals(0, telemetry.last().iterations());
+        assertEquals(1, telemetry.last().rootChildren());
+    }
+
     @Test
     public void testUCTValueCalculation() {
         // Ensure the UCT value is calculated correctly
@@ -0,0 +1,69 @@
+package edu.neu.coe.info6205.mcts.nimgame;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NimGameRolloutTest {
+
+    @Test
+    public void testApplyMatchesNext() {
+        Random random = new Random(0L);
+        for (int game = 0; game < 50; game++) {
+            State<NimGame> state = new NimGameState(new int[]{3, 4, 5}, 0);
+            NimGameRollout target = new NimGameRollout();
+            target.reset(state);
+            while (!state.isTerminal()) {
+                assertEquals(state.player(), target.player());
+                List<Move<NimGame>> moves = (List<Move<NimGame>>) state.moves(state.player());
+                assertEquals(moves.size(), target.moves());
+                int index = random.nextInt(moves.size());
+                state = state.next(moves.get(index));
+                target.apply(index);
+                for (int i = 0; i < 3; i++) assertEquals(((NimGameState) state).getPiles()[i], target.pile(i));
+            }
+            assertTrue(target.isTerminal());
+            assertEquals((int) state.winner().get(), target.winner());
+        }
+    }
+
+    @Test
+    public void testTakeAndUndo() {
+        NimGameRollout target = new NimGameRollout();
+        target.reset(new NimGameState(new int[]{3, 4, 5}, 0));
+        target.take(2, 5);
+        target.take(0, 1);
+        assertEquals(0, target.pile(2));
+        assertEquals(2, target.pile(0));
+        assertEquals(0, target.player());
+        target.undo();
+        target.undo();
+        assertEquals(5, target.pile(2));
+        assertEquals(12, target.moves());
+        assertEquals(0, target.depth());
+        assertThrows(IllegalArgumentException.class, () -> target.take(1, 5));
+        assertThrows(IllegalStateException.class, target::undo);
+    }
+
+    @Test
+    public void testUndoLargeGame() {
+        // neither the number of stones nor the index of the pile fits in 16 bits
+        int[] piles = new int[70_000];
+        piles[0] = 100_000;
+        piles[69_999] = 1;
+        NimGameRollout target = new NimGameRollout();
+        target.reset(new NimGameState(piles, 0));
+        target.take(0, 99_999);
+        target.take(69_999, 1);
+        target.undo();
+        target.undo();
+        assertEquals(100_000, target.pile(0));
+        assertEquals(1, target.pile(69_999));
+        assertEquals(100_001, target.moves());
+    }
+}
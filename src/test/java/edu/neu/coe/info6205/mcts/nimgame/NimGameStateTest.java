@@ -35,6 +35,22 @@ public class NimGameStateTest {
         assertEquals(expectedMoves, moves.size(), "Should generate correct number of moves.");
     }
 
+    @Test
+    public void testLazyMoves() {
+        List<Move<NimGame>> moves = state.moves(state.player());
+        assertEquals(12, state.moveCount());
+        // pile by pile, taking 1, 2, ... stones
+        NimGameMove move = state.move(4);
+        assertEquals(1, move.getPileIndex());
+        assertEquals(2, move.getNumberOfPieces());
+        NimGameMove last = (NimGameMove) moves.get(11);
+        assertEquals(2, last.getPileIndex());
+        assertEquals(5, last.getNumberOfPieces());
+        assertThrows(IndexOutOfBoundsException.class, () -> state.move(12));
+        NimGameState large = new NimGameState(new int[]{5000, 5000, 5000, 5000}, 0);
+        assertEquals(20000, large.moves(0).size());
+    }
+
     @Test
     public void testNextState() {
         Move<NimGame> move = new NimGameMove(0, 2);
@@ -50,6 +66,23 @@ public class NimGameStateTest {
         assertEquals(1, state.winner().get(), "Player 1 should be the winner if last move made by player 0 in a terminal state.");
     }
 
+    @Test
+    public void testEquals() {
+        assertEquals(new NimGameState(new int[]{3, 4, 5}, 0), state);
+        assertEquals(new NimGameState(new int[]{3, 4, 5}, 0).hashCode(), state.hashCode());
+        assertNotEquals(new NimGameState(new int[]{3, 4, 5}, 1), state);
+        assertNotEquals(new NimGameState(new int[]{3, 4, 4}, 0), state);
+    }
+
+    @Test
+    public void testHash() {
+        Move<NimGame> move = new NimGameMove(1, 3);
+        State<NimGame> next = state.next(move);
+        assertEquals(new NimGameState(new int[]{3, 1, 5}, 1).hash(), next.hash());
+        assertEquals(next.hash(), state.nextHash(move));
+        assertNotEquals(new NimGameState(new int[]{3, 4, 5}, 1).hash(), state.hash());
+    }
+
     @Test
     public void testRandom() {
         assertNotNull(state.random(), "Random should not be null.");
@@ -0,0 +1,49 @@
+package edu.neu.coe.info6205.mcts.nimgame;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NimOracleTest {
+
+    @Test
+    public void testWinningMoveLeavesZeroNimSum() {
+        Random random = new Random(0L);
+        for (int i = 0; i < 1000; i++) {
+            int[] piles = {random.nextInt(50), random.nextInt(50), random.nextInt(50), 1 + random.nextInt(50)};
+            NimGameState state = new NimGameState(piles, 0);
+            Optional<Move<NimGame>> move = new NimOracle().move(state);
+            assertTrue(move.isPresent());
+            NimGameState next = state.next(move.get());
+            if (NimOracle.winning(state)) assertEquals(0, NimOracle.nimSum(next.piles()));
+            else assertTrue(NimOracle.winning(next));
+        }
+    }
+
+    @Test
+    public void testLostPosition() {
+        // 1 ^ 2 ^ 3 == 0: take one stone from the largest pile
+        NimGameMove move = NimOracle.move(new int[]{1, 2, 3});
+        assertEquals(2, move.getPileIndex());
+        assertEquals(1, move.getNumberOfPieces());
+    }
+
+    @Test
+    public void testTerminal() {
+        assertFalse(new NimOracle().move(new NimGameState(new int[]{0, 0, 0}, 0)).isPresent());
+    }
+
+    @Test
+    public void testMctsWithOracle() {
+        NimGameNode root = new NimGameNode(new NimGameState(new int[]{3, 6, 9}, 0), null);
+        MCTS mcts = new MCTS(root, new NimOracle());
+        NimGameState next = (NimGameState) mcts.runMCTS(1000).state();
+        assertEquals(0, NimOracle.nimSum(next.piles()));
+        assertEquals(0, root.playouts(), "no search should be needed");
+        assertSame(next, mcts.runMCTS(1000).state(), "the oracle's child should be reused");
+    }
+}
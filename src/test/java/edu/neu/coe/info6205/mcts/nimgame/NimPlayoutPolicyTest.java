@@ -0,0 +1,82 @@
+package edu.neu.coe.info6205.mcts.nimgame;
+
+import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.UCTSearch;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NimPlayoutPolicyTest {
+
+    @Test
+    public void testNimSumMove() {
+        // from a position whose nim-sum is not zero, NIM_SUM leaves it zero
+        Random random = new Random(0L);
+        NimGameRollout rollout = new NimGameRollout();
+        for (int i = 0; i < 200; i++) {
+            int[] piles = {random.nextInt(20), random.nextInt(20), random.nextInt(20), 1 + random.nextInt(20)};
+            if ((piles[0] ^ piles[1] ^ piles[2] ^ piles[3]) == 0) continue;
+            rollout.reset(new NimGameState(piles, 0));
+            rollout.apply(NimPlayoutPolicy.NIM_SUM.choose(rollout, random));
+            assertEquals(0, rollout.pile(0) ^ rollout.pile(1) ^ rollout.pile(2) ^ rollout.pile(3));
+        }
+    }
+
+    @Test
+    public void testNimSumPlayout() {
+        // with perfect play on both sides, the player to move wins if and only if the nim-sum is not zero
+        Random random = new Random(1L);
+        NimGameRollout rollout = new NimGameRollout();
+        for (int[] piles : new int[][]{{3, 4, 5}, {1, 2, 3}, {5, 5}, {7, 9, 12, 1}}) {
+            int sum = 0;
+            for (int pile : piles) sum ^= pile;
+            for (int i = 0; i < 20; i++) {
+                rollout.reset(new NimGameState(piles, 0));
+                assertEquals(sum != 0 ? 0 : 1, NimPlayoutPolicy.NIM_SUM.playout(rollout, random));
+            }
+        }
+    }
+
+    @Test
+    public void testLargestPile() {
+        NimGameRollout rollout = new NimGameRollout();
+        rollout.reset(new NimGameState(new int[]{3, 6, 2}, 0));
+        // taking all six stones of the second pile is the (3 + 6 - 1)-th move
+        assertEquals(8, NimPlayoutPolicy.LARGEST_PILE.choose(rollout, new Random(0L)));
+        // the three piles are taken in turn, so the first player takes the last stone
+        assertEquals(0, NimPlayoutPolicy.LARGEST_PILE.playout(rollout, new Random(0L)));
+        assertEquals(3, rollout.depth());
+    }
+
+    @Test
+    public void testLargestPileOfLargeGame() {
+        // neither the size of the largest pile nor its index fits in 16 bits
+        int[] piles = new int[70_000];
+        piles[69_999] = 100_000;
+        NimGameRollout rollout = new NimGameRollout();
+        rollout.reset(new NimGameState(piles, 0));
+        assertEquals(99_999, NimPlayoutPolicy.LARGEST_PILE.choose(rollout, new Random(0L)));
+        assertEquals(0, NimPlayoutPolicy.LARGEST_PILE.playout(rollout, new Random(0L)));
+        rollout.undo();
+        assertEquals(100_000, rollout.pile(69_999));
+    }
+
+    @Test
+    public void testMctsWithNimSum() {
+        NimGameState state = new NimGameState(new int[]{3, 4, 5}, 0);
+        MCTS mcts = new MCTS(new NimGameNode(state, null));
+        mcts.setPlayoutPolicy(NimPlayoutPolicy.NIM_SUM);
+        for (int i = 0; i < 20; i++) assertEquals(0, mcts.simulate(mcts.root()));
+    }
+
+    @Test
+    public void testSearchWithNimSum() {
+        // with perfect playouts, a search finds the (only) winning move, which leaves piles 2, 3 and 1
+        UCTSearch<NimGame> search = new UCTSearch<>(new NimGameNode(new NimGameState(new int[]{2, 3, 4}, 0), null), new Random(0L));
+        search.setPlayoutPolicy(NimPlayoutPolicy.NIM_SUM);
+        Node<NimGame> best = search.run(2000);
+        assertArrayEquals(new int[]{2, 3, 1}, ((NimGameState) best.state()).getPiles());
+    }
+}
@@ -1,9 +1,14 @@
 package edu.neu.coe.info6205.mcts.tictactoe;
 
+import edu.neu.coe.info6205.mcts.core.Move;
 import edu.neu.coe.info6205.mcts.core.Node;
+import edu.neu.coe.info6205.mcts.core.SearchBudget;
+import edu.neu.coe.info6205.mcts.core.State;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+
 import static org.junit.Assert.*;
 
 public class MCTSTest {
@@ -29,6 +34,74 @@ public class MCTSTest {
         assertNotNull("MCTS runMCTS method failed, no best node found", bestNode);
     }
 
+    @Test
+    public void testRunMCTSWithTimeBudget() {
+        long start = System.nanoTime();
+        Node<TicTacToe> bestNode = mcts.runMCTS(SearchBudget.millis(20));
+        assertNotNull(bestNode);
+        assertTrue("MCTS should run for at least the time budget", System.nanoTime() - start >= 20_000_000L);
+        assertTrue("MCTS should have run some iterations", rootNode.playouts() > 0);
+    }
+
+    @Test
+    public void testRunMCTSWithNodeBudget() {
+        mcts.runMCTS(SearchBudget.nodes(5));
+        assertEquals("Each expansion adds one node", 5, rootNode.playouts());
+    }
+
+    @Test
+    public void testAdvance() {
+        Node<TicTacToe> bestNode = mcts.runMCTS(200);
+        int playouts = bestNode.playouts();
+        Node<TicTacToe> newRoot = mcts.advance(bestNode.state());
+        assertSame("Advance should reuse the searched subtree", bestNode, newRoot);
+        assertSame(newRoot, mcts.root());
+        assertNull("New root should be detached", newRoot.getParent());
+        assertEquals(playouts, newRoot.playouts());
+    }
+
+    @Test
+    public void testAdvanceToUnexploredMove() {
+        Move<TicTacToe> move = rootNode.state().chooseMove(rootNode.state().player());
+        Node<TicTacToe> newRoot = mcts.advance(move);
+        assertEquals(rootNode.state().next(move), newRoot.state());
+        assertEquals(0, newRoot.playouts());
+    }
+
+    @Test
+    public void testSymmetricExpansion() {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe().start(), null);
+        new MCTS(root, true).runMCTS(100);
+        assertEquals("Corner, edge and centre", 3, root.children().size());
+        Node<TicTacToe> plain = new TicTacToeNode(new TicTacToe().start(), null);
+        new MCTS(plain).runMCTS(100);
+        assertEquals(9, plain.children().size());
+    }
+
+    @Test
+    public void testAdvanceThroughSymmetricMove() {
+        Node<TicTacToe> root = new TicTacToeNode(new TicTacToe().start(), null);
+        MCTS target = new MCTS(root, true);
+        target.runMCTS(100);
+        // play a move which has no child of its own, since it leads to a mirror image of a child's position
+        State<TicTacToe> mirrored = null;
+        Node<TicTacToe> expected = null;
+        for (int i = 0; i < 9 && mirrored == null; i++) {
+            State<TicTacToe> state = play(root.state(), i);
+            for (Node<TicTacToe> child : root.children())
+                if (!child.state().equals(state) && child.state().canonicalHash() == state.canonicalHash()) {
+                    mirrored = state;
+                    expected = child;
+                }
+        }
+        assertNotNull(mirrored);
+        int playouts = expected.playouts();
+        Node<TicTacToe> newRoot = target.advance(mirrored);
+        assertSame("Advance should reuse the subtree of the symmetric child", expected, newRoot);
+        assertEquals(playouts, newRoot.playouts());
+        assertTrue(playouts > 0);
+    }
+
     @Test
     public void testSelectMethod() {
         Node<TicTacToe> selectedNode = mcts.select(rootNode);
@@ -57,4 +130,54 @@ public class MCTSTest {
         mcts.backPropagate(node, node.state().winner().orElse(-1));
         assertTrue("Backpropagation failed to update playouts", node.playouts() > 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBackPropagateCreditsMover() {
+        // X plays to child; a win by X is credited to child (which X chooses), not to the root (where X is to move)
+        Node<TicTacToe> child = new TicTacToeNode(play(game.start(), 0), rootNode);
+        mcts.backPropagate(child, TicTacToe.X);
+        assertEquals(1, child.wins());
+        assertEquals(0, rootNode.wins());
+        assertEquals(1, rootNode.playouts());
+        mcts.backPropagate(child, TicTacToe.O);
+        assertEquals(1, child.wins());
+        assertEquals(1, rootNode.wins());
+    }
+
+    @Test
+    public void testBlocksThreat() {
+        // O (on cells 1 and 4) threatens cell 7; X must block
+        State<TicTacToe> state = play(game.start(), 0, 3, 6, 0);
+        Node<TicTacToe> best = new MCTS(new TicTacToeNode(state, null), false, null, false).runMCTS(1000);
+        assertEquals(play(state, 4), best.state());
+    }
+
+    @Test
+    public void testSolverStopsWhenRootSolved() {
+        // X on 0 and 4, O on 1 and 5: X wins on 8
+        State<TicTacToe> state = play(game.start(), 0, 0, 2, 2);
+        TicTacToeNode root = new TicTacToeNode(state, null);
+        Node<TicTacToe> best = new MCTS(root, false, null, true).runMCTS(10_000);
+        assertEquals(TicTacToeNode.Proof.LOSS, root.proof());
+        assertEquals(TicTacToeNode.Proof.WIN, ((TicTacToeNode) best).proof());
+        assertTrue(best.state().winner().isPresent());
+        assertTrue("the search should stop as soon as the root is solved", root.playouts() < 10_000);
+    }
+
+    @Test
+    public void testSolverProvesDraw() {
+        // X on 0, 2, 5 and 7, O on 1, 3 and 4: O must block on 8, after which X's move on 6 draws
+        State<TicTacToe> state = play(game.start(), 0, 0, 0, 0, 1, 0, 1);
+        TicTacToeNode root = new TicTacToeNode(state, null);
+        Node<TicTacToe> best = new MCTS(root, false, null, true).runMCTS(10_000);
+        assertEquals(TicTacToeNode.Proof.DRAW, root.proof());
+        assertEquals(play(state, 1), best.state());
+        assertTrue(root.playouts() < 10_000);
+    }
+
+    // Plays the i-th of the moves (the empty cells in order) for each index i
+    private static State<TicTacToe> play(State<TicTacToe> state, int... indices) {
+        for (int i : indices) state = state.next(new ArrayList<>(state.moves(state.player())).get(i));
+        return state;
+    }
+}
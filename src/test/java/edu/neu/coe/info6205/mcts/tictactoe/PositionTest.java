@@ -55,10 +55,18 @@ public class PositionTest {
 
     @Test
     public void testReflect() {
+        Position target = Position.parsePosition("X O .\n. . .\n. . .", 1);
+        assertEquals(Position.parsePosition(". O X\n. . .\n. . .", 1), target.reflect(1));
+        assertEquals(Position.parsePosition(". . .\n. . .\nX O .", 1), target.reflect(0));
+        assertEquals(target, target.reflect(0).reflect(0));
     }
 
     @Test
     public void testRotate() {
+        Position target = Position.parsePosition("X O .\n. . .\n. . .", 1);
+        Position rotated = target.rotate();
+        assertEquals(Position.parsePosition(". . .\nO . .\nX . .", 1), rotated);
+        assertEquals(target, rotated.rotate().rotate().rotate());
     }
 
     @Test
@@ -149,4 +157,75 @@ public class PositionTest {
         Position target = Position.parsePosition("X . .\n. O .\n. . X", 1);
         assertEquals("1,-1,-1\n-1,0,-1\n-1,-1,1", target.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testZobrist() {
+        String grid = "X . .\n. O .\n. . X";
+        Position target = Position.parsePosition(grid, 1);
+        Position moved = target.move(0, 0, 1);
+        assertEquals(Position.parsePosition(grid.replaceFirst("\\.", "O"), 0).zobrist(), moved.zobrist());
+        assertEquals(moved.zobrist(), target.zobristAfter(0, 0, 1));
+        assertNotEquals(target.zobrist(), moved.zobrist());
+    }
+
+    @Test
+    public void testCanonical() {
+        Position target = Position.parsePosition("X O .\n. X .\n. . .", 0);
+        long canonical = target.canonicalZobrist();
+        Position canonicalPosition = target.canonical();
+        assertEquals(canonical, canonicalPosition.zobrist());
+        Position p = target;
+        for (int r = 0; r < 4; r++) {
+            assertEquals(canonical, p.canonicalZobrist());
+            assertEquals(canonical, p.reflect(1).canonicalZobrist());
+            assertEquals(canonicalPosition, p.reflect(1).canonical());
+            p = p.rotate();
+        }
+        assertNotEquals(canonical, Position.parsePosition("X . O\n. X .\n. . .", 0).canonicalZobrist());
+    }
+
+    @Test
+    public void testCanonicalZobristAfter() {
+        Position target = Position.parsePosition("X . .\n. . .\n. . .", 1);
+        for (int x = 0; x < 3; x++)
+            for (int y = 0; y < 3; y++)
+                if (x + y > 0)
+                    assertEquals(target.move(0, x, y).canonicalZobrist(), target.canonicalZobristAfter(0, x, y));
+        // O in the other three corners (and likewise the two edges adjacent to X) are symmetric
+        assertEquals(target.canonicalZobristAfter(0, 0, 2), target.canonicalZobristAfter(0, 2, 0));
+        assertEquals(target.canonicalZobristAfter(0, 0, 1), target.canonicalZobristAfter(0, 1, 0));
+        assertNotEquals(target.canonicalZobristAfter(0, 0, 2), target.canonicalZobristAfter(0, 2, 2));
+    }
+
+    @Test
+    public void testMasks() {
+        Position target = Position.parsePosition("X . 0\nX O .\n. . 0", 0);
+        assertEquals(0b1_001, target.mask(1));
+        assertEquals(0b100_010_100, target.mask(0));
+        assertEquals(0b011_100_010, target.empty());
+    }
+
+    @Test
+    public void testThreeInARowAllLines() {
+        String[] grids = {
+                "X X X\n. . .\n. . .", ". . .\nX X X\n. . .", ". . .\n. . .\nX X X",
+                "X . .\nX . .\nX . .", ". X .\n. X .\n. X .", ". . X\n. . X\n. . X",
+                "X . .\n. X .\n. . X", ". . X\n. X .\nX . ."};
+        for (String grid : grids) {
+            assertTrue(grid, Position.parsePosition(grid, 1).threeInARow());
+            assertTrue(grid, Position.parsePosition(grid.replace('X', 'O'), 0).threeInARow());
+        }
+        assertFalse(Position.parsePosition("X X O\nO O X\nX O X", 1).threeInARow());
+    }
+
+    @Test
+    public void testCompleting() {
+        // a cell completes a line of a mask (which has none) if and only if adding it to the mask makes a line
+        for (int mask = 0; mask <= Position.FULL; mask++)
+            if (!Position.line(mask)) for (int cell = 0; cell < 9; cell++)
+                if ((mask & 1 << cell) == 0)
+                    assertEquals(Position.line(mask | 1 << cell), (Position.completing(mask) & 1 << cell) != 0);
+        assertEquals(0b100_000_000, Position.completing(0b000_010_001));
+        assertEquals(0b001_000_100, Position.completing(0b000_001_011));
+    }
+}
@@ -0,0 +1,72 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.Rollout;
+import edu.neu.coe.info6205.mcts.core.State;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TicTacToePlayoutPolicyTest {
+
+    @Test
+    public void win() {
+        // X, to move, completes the diagonal at cell 8, the fifth of the empty cells 2, 3, 5, 6, 8
+        Rollout<TicTacToe> rollout = rollout("X O .\n. X .\n. O .", TicTacToe.O);
+        assertEquals(4, TicTacToePlayoutPolicy.WIN.choose(rollout, new Random(0L)));
+        assertEquals(4, TicTacToePlayoutPolicy.WIN_OR_BLOCK.choose(rollout, new Random(0L)));
+        assertEquals(TicTacToe.X, TicTacToePlayoutPolicy.WIN.playout(rollout, new Random(0L)));
+        assertEquals(1, rollout.depth());
+    }
+
+    @Test
+    public void block() {
+        // O, to move, cannot win but must block the diagonal of X at cell 8, the sixth of the empty cells
+        Rollout<TicTacToe> rollout = rollout("X . .\n. X .\nO . .", TicTacToe.X);
+        assertEquals(5, TicTacToePlayoutPolicy.WIN_OR_BLOCK.choose(rollout, new Random(0L)));
+        boolean other = false;
+        for (int seed = 0; seed < 20; seed++) other |= TicTacToePlayoutPolicy.WIN.choose(rollout, new Random(seed)) != 5;
+        assertTrue(other);
+    }
+
+    @Test
+    public void winBeforeBlock() {
+        // X can win at cell 2 (the first empty cell) and O threatens cell 5
+        Rollout<TicTacToe> rollout = rollout("X X .\nO O .\n. . .", TicTacToe.O);
+        assertEquals(0, TicTacToePlayoutPolicy.WIN_OR_BLOCK.choose(rollout, new Random(0L)));
+    }
+
+    @Test
+    public void playoutsFromStart() {
+        // since both sides block, heavy playouts are drawn (as games between good players are) far more often than
+        // uniformly random playouts (about one in eight)
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        Rollout<TicTacToe> rollout = start.rollout();
+        Random random = new Random(0L);
+        int uniform = 0, heavy = 0;
+        for (int i = 0; i < 2000; i++) {
+            rollout.reset(start);
+            if (rollout.playout(random) < 0) uniform++;
+            rollout.reset(start);
+            if (TicTacToePlayoutPolicy.WIN_OR_BLOCK.playout(rollout, random) < 0) heavy++;
+        }
+        assertTrue(uniform + " uniform against " + heavy + " heavy draws", heavy > 2 * uniform);
+    }
+
+    @Test
+    public void mctsWithPolicy() {
+        TicTacToe game = new TicTacToe(0L);
+        State<TicTacToe> state = game.new TicTacToeState(Position.parsePosition("X O .\n. X .\n. O .", TicTacToe.O));
+        MCTS mcts = new MCTS(new TicTacToeNode(state, null));
+        mcts.setPlayoutPolicy(TicTacToePlayoutPolicy.WIN);
+        for (int i = 0; i < 100; i++) assertEquals(TicTacToe.X, mcts.simulate(state));
+    }
+
+    private static Rollout<TicTacToe> rollout(String grid, int last) {
+        State<TicTacToe> state = new TicTacToe(0L).new TicTacToeState(Position.parsePosition(grid, last));
+        Rollout<TicTacToe> rollout = state.rollout();
+        rollout.reset(state);
+        return rollout;
+    }
+}
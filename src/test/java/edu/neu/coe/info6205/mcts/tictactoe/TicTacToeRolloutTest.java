@@ -0,0 +1,75 @@
+package edu.neu.coe.info6205.mcts.tictactoe;
+
+import edu.neu.coe.info6205.mcts.core.Move;
+import edu.neu.coe.info6205.mcts.core.Rollout;
+import edu.neu.coe.info6205.mcts.core.State;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TicTacToeRolloutTest {
+
+    @Test
+    public void applyMatchesNext() {
+        // making the i-th move on the rollout must agree with State.next on the i-th of State.moves
+        Random random = new Random(0L);
+        for (int game = 0; game < 100; game++) {
+            State<TicTacToe> state = new TicTacToe(0L).start();
+            Rollout<TicTacToe> target = state.rollout();
+            target.reset(state);
+            while (!state.isTerminal()) {
+                assertFalse(target.isTerminal());
+                assertEquals(state.player(), target.player());
+                List<Move<TicTacToe>> moves = new ArrayList<>(state.moves(state.player()));
+                assertEquals(moves.size(), target.moves());
+                int index = random.nextInt(moves.size());
+                int[] move = ((TicTacToe.TicTacToeMove) moves.get(index)).move();
+                assertEquals(move[0] * 3 + move[1], target.key(index));
+                state = state.next(moves.get(index));
+                target.apply(index);
+                assertEquals(move[0] * 3 + move[1], target.playedKey(target.depth() - 1));
+            }
+            assertTrue(target.isTerminal());
+            assertEquals((int) state.winner().orElse(-1), target.winner());
+        }
+    }
+
+    @Test
+    public void undo() {
+        State<TicTacToe> start = new TicTacToe(0L).start().next(new TicTacToe.TicTacToeMove(TicTacToe.X, 1, 1));
+        Rollout<TicTacToe> target = start.rollout();
+        target.reset(start);
+        int winner = target.playout(new Random(1L));
+        int depth = target.depth();
+        assertTrue(depth > 0);
+        while (target.depth() > 0) target.undo();
+        assertEquals(TicTacToe.O, target.player());
+        assertEquals(8, target.moves());
+        assertFalse(target.isTerminal());
+        assertEquals(-1, target.winner());
+        // the same random sequence gives the same playout
+        assertEquals(winner, target.playout(new Random(1L)));
+        assertEquals(depth, target.depth());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void undoTooFar() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        Rollout<TicTacToe> target = start.rollout();
+        target.reset(start);
+        target.undo();
+    }
+
+    @Test
+    public void resetToTerminal() {
+        State<TicTacToe> won = new TicTacToe(0L).new TicTacToeState(Position.parsePosition("X X X\nO O .\n. . .", TicTacToe.X));
+        Rollout<TicTacToe> target = won.rollout();
+        target.reset(won);
+        assertTrue(target.isTerminal());
+        assertEquals(TicTacToe.X, target.winner());
+    }
+}
@@ -1,11 +1,15 @@
 package edu.neu.coe.info6205.mcts.tictactoe;
 
+import edu.neu.coe.info6205.mcts.core.Move;
 import edu.neu.coe.info6205.mcts.core.State;
 import org.junit.Test;
 
+import java.util.Collection;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 public class TicTacToeTest {
@@ -22,4 +26,27 @@ public class TicTacToeTest {
         if (winner.isPresent()) assertEquals(Integer.valueOf(TicTacToe.X), winner.get());
         else fail("no winner");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void stateEquals() {
+        TicTacToe game = new TicTacToe(0L);
+        State<TicTacToe> start = game.start();
+        State<TicTacToe> s1 = start.next(new TicTacToe.TicTacToeMove(TicTacToe.X, 0, 0)).next(new TicTacToe.TicTacToeMove(TicTacToe.O, 1, 1));
+        State<TicTacToe> s2 = new TicTacToe(1L).start().next(new TicTacToe.TicTacToeMove(TicTacToe.X, 0, 0)).next(new TicTacToe.TicTacToeMove(TicTacToe.O, 1, 1));
+        assertEquals(s1, s2);
+        assertEquals(s1.hashCode(), s2.hashCode());
+        assertNotEquals(start, s1);
+    }
+
+    @Test
+    public void moves() {
+        State<TicTacToe> start = new TicTacToe(0L).start();
+        Collection<Move<TicTacToe>> moves = start.moves(start.player());
+        assertEquals(9, moves.size());
+        // the lists of moves are shared
+        assertSame(moves, new TicTacToe(1L).start().moves(start.player()));
+        State<TicTacToe> next = start.next(moves.iterator().next());
+        assertEquals(8, next.moves(next.player()).size());
+        for (Move<TicTacToe> move : next.moves(next.player())) assertEquals(next.player(), move.player());
+    }
+}